@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import com.facebook.litho.widget.Text;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A stateful component rendering a counter, used to benchmark state updates. The last scoped
+ * context it was rendered with is exposed so that benchmarks can trigger updates on it.
+ */
+class BenchmarkCounterComponent extends SpecGeneratedComponent {
+
+  private static final int STATE_UPDATE_TYPE_INCREMENT = 0;
+
+  private final AtomicReference<ComponentContext> mScopedContext;
+
+  BenchmarkCounterComponent(AtomicReference<ComponentContext> scopedContext) {
+    super("BenchmarkCounterComponent");
+    mScopedContext = scopedContext;
+  }
+
+  static StateContainer.StateUpdate createIncrementStateUpdate() {
+    return new StateContainer.StateUpdate(STATE_UPDATE_TYPE_INCREMENT);
+  }
+
+  @Override
+  public boolean isEquivalentTo(Component other) {
+    return this == other;
+  }
+
+  @Override
+  protected boolean hasState() {
+    return true;
+  }
+
+  @Override
+  protected void createInitialState(ComponentContext c) {
+    getStateContainerImpl(c).mCount = 0;
+  }
+
+  @Override
+  protected void transferState(
+      StateContainer prevStateContainer, StateContainer nextStateContainer) {
+    ((CounterStateContainer) nextStateContainer).mCount =
+        ((CounterStateContainer) prevStateContainer).mCount;
+  }
+
+  @Override
+  protected Component onCreateLayout(ComponentContext c) {
+    mScopedContext.set(c);
+    return Text.create(c).text("Count: " + getStateContainerImpl(c).mCount).textSizePx(14).build();
+  }
+
+  @Nullable
+  @Override
+  protected StateContainer createStateContainer() {
+    return new CounterStateContainer();
+  }
+
+  private CounterStateContainer getStateContainerImpl(ComponentContext c) {
+    return (CounterStateContainer) Component.getStateContainer(c, this);
+  }
+
+  static class CounterStateContainer extends StateContainer {
+    int mCount;
+
+    @Override
+    public void applyStateUpdate(StateUpdate stateUpdate) {
+      if (stateUpdate.type == STATE_UPDATE_TYPE_INCREMENT) {
+        mCount += 1;
+      }
+    }
+  }
+}
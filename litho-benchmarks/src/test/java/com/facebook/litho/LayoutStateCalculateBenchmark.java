@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import com.facebook.litho.benchmarks.BenchmarkRule;
+import com.facebook.litho.benchmarks.BenchmarkTrees;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks {@link LayoutState#calculate} for representative component trees. */
+@RunWith(LithoTestRunner.class)
+public class LayoutStateCalculateBenchmark {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(1080, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(0, UNSPECIFIED);
+
+  public final @Rule BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+  private ComponentContext mContext;
+  private Component mComponent;
+
+  @Before
+  public void setup() {
+    mContext =
+        ComponentTree.create(new ComponentContext(getApplicationContext())).build().getContext();
+  }
+
+  @Test
+  public void calculate_deepTree() {
+    measureCalculate(
+        "deep_100",
+        new ComponentFactory() {
+          @Override
+          public Component create() {
+            return BenchmarkTrees.deep(mContext, 100);
+          }
+        });
+  }
+
+  @Test
+  public void calculate_wideTree() {
+    measureCalculate(
+        "wide_500",
+        new ComponentFactory() {
+          @Override
+          public Component create() {
+            return BenchmarkTrees.wide(mContext, 500);
+          }
+        });
+  }
+
+  @Test
+  public void calculate_textHeavyTree() {
+    measureCalculate(
+        "text_heavy_100",
+        new ComponentFactory() {
+          @Override
+          public Component create() {
+            return BenchmarkTrees.textHeavy(mContext, 100);
+          }
+        });
+  }
+
+  @Test
+  public void calculate_balancedTree() {
+    measureCalculate(
+        "balanced_5x4",
+        new ComponentFactory() {
+          @Override
+          public Component create() {
+            return BenchmarkTrees.balanced(mContext, 5, 4);
+          }
+        });
+  }
+
+  @Test
+  public void calculate_nestedTree() {
+    measureCalculate(
+        "nested_20x10",
+        new ComponentFactory() {
+          @Override
+          public Component create() {
+            return BenchmarkTrees.nested(mContext, 20, 10);
+          }
+        });
+  }
+
+  private void measureCalculate(String name, final ComponentFactory factory) {
+    mBenchmarkRule.measure(
+        name,
+        new Runnable() {
+          @Override
+          public void run() {
+            mComponent = factory.create();
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            LayoutState.calculate(
+                mContext,
+                mComponent,
+                -1,
+                WIDTH_SPEC,
+                HEIGHT_SPEC,
+                LayoutState.CalculateLayoutSource.TEST);
+          }
+        });
+  }
+
+  private interface ComponentFactory {
+    Component create();
+  }
+}
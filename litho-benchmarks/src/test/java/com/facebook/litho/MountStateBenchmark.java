@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import android.graphics.Rect;
+import com.facebook.litho.benchmarks.BenchmarkRule;
+import com.facebook.litho.benchmarks.BenchmarkTrees;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks mounting a LayoutState, fully and incrementally while scrolling. */
+@RunWith(LithoTestRunner.class)
+public class MountStateBenchmark {
+
+  private static final int WIDTH = 1080;
+  private static final int VIEWPORT_HEIGHT = 1920;
+  private static final int SCROLL_STEP = 60;
+  private static final int WIDTH_SPEC = makeSizeSpec(WIDTH, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(0, UNSPECIFIED);
+
+  public final @Rule BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @Test
+  public void mount_textHeavyTree() {
+    measureMount("mount_text_heavy_100", BenchmarkTrees.textHeavy(mContext, 100));
+  }
+
+  @Test
+  public void mount_balancedTree() {
+    measureMount("mount_balanced_5x4", BenchmarkTrees.balanced(mContext, 5, 4));
+  }
+
+  @Test
+  public void incrementalMount_longScroll() {
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, BenchmarkTrees.textHeavy(mContext, 500))
+            .incrementalMount(true)
+            .build();
+    final LithoView lithoView = new LithoView(mContext);
+    lithoView.setComponentTree(componentTree);
+    lithoView.onAttachedToWindow();
+    lithoView.measure(WIDTH_SPEC, HEIGHT_SPEC);
+    lithoView.layout(0, 0, lithoView.getMeasuredWidth(), lithoView.getMeasuredHeight());
+
+    final int contentHeight = lithoView.getMeasuredHeight();
+    final Rect visibleRect = new Rect();
+
+    mBenchmarkRule.measure(
+        "incremental_mount_scroll_text_heavy_500",
+        new Runnable() {
+          @Override
+          public void run() {
+            for (int top = 0; top + VIEWPORT_HEIGHT <= contentHeight; top += SCROLL_STEP) {
+              visibleRect.set(0, top, WIDTH, top + VIEWPORT_HEIGHT);
+              lithoView.notifyVisibleBoundsChanged(visibleRect, true);
+            }
+          }
+        });
+  }
+
+  private void measureMount(String name, Component component) {
+    final LithoView lithoView =
+        BenchmarkTestHelper.createAndMeasureLithoView(mContext, component, WIDTH_SPEC, HEIGHT_SPEC);
+
+    mBenchmarkRule.measure(
+        name,
+        new Runnable() {
+          @Override
+          public void run() {
+            BenchmarkTestHelper.unmountLithoView(lithoView);
+            BenchmarkTestHelper.setMountStateDirty(lithoView);
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            BenchmarkTestHelper.mountLithoView(lithoView);
+          }
+        });
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import com.facebook.litho.benchmarks.BenchmarkRule;
+import com.facebook.litho.benchmarks.BenchmarkTrees;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Benchmarks a state update of a single leaf in a large tree, with and without reconciliation of
+ * the unchanged siblings.
+ */
+@LooperMode(LooperMode.Mode.LEGACY)
+@RunWith(LithoTestRunner.class)
+public class ReconciliationBenchmark {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(1080, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(0, UNSPECIFIED);
+
+  public final @Rule BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @Test
+  public void stateUpdate_withReconciliation() {
+    measureStateUpdate("state_update_reconciled", true);
+  }
+
+  @Test
+  public void stateUpdate_fullRebuild() {
+    measureStateUpdate("state_update_full_rebuild", false);
+  }
+
+  private void measureStateUpdate(String name, boolean isReconciliationEnabled) {
+    final AtomicReference<ComponentContext> counterContext = new AtomicReference<>();
+    final Component root =
+        Column.create(mContext)
+            .child(new BenchmarkCounterComponent(counterContext))
+            .child(BenchmarkTrees.textHeavy(mContext, 50))
+            .child(BenchmarkTrees.balanced(mContext, 4, 4))
+            .build();
+
+    final ComponentTree componentTree =
+        ComponentTree.create(mContext, root)
+            .isReconciliationEnabled(isReconciliationEnabled)
+            .build();
+    final LithoView lithoView = new LithoView(mContext);
+    lithoView.setComponentTree(componentTree);
+    lithoView.onAttachedToWindow();
+    lithoView.measure(WIDTH_SPEC, HEIGHT_SPEC);
+    lithoView.layout(0, 0, lithoView.getMeasuredWidth(), lithoView.getMeasuredHeight());
+
+    mBenchmarkRule.measure(
+        name,
+        new Runnable() {
+          @Override
+          public void run() {
+            counterContext
+                .get()
+                .updateStateSync(
+                    BenchmarkCounterComponent.createIncrementStateUpdate(), "benchmark");
+            ShadowLooper.runUiThreadTasks();
+          }
+        });
+  }
+}
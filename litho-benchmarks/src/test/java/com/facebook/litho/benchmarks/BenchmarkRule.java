@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * A JUnit rule which measures the throughput and allocations of an operation. Every measured
+ * iteration runs an optional, untimed set up step followed by a single timed run of the operation.
+ * The results of all the benchmarks of a test class are printed and written to {@code
+ * <litho.benchmark.outputDir>/<TestClass>.csv}, which is overwritten by every run.
+ *
+ * <p>Medians are reported rather than means so that GC pauses and JIT compilation in the middle of
+ * a run don't skew the numbers.
+ */
+public class BenchmarkRule implements TestRule {
+
+  static final String ITERATIONS_PROPERTY = "litho.benchmark.iterations";
+  static final String WARMUP_ITERATIONS_PROPERTY = "litho.benchmark.warmupIterations";
+  static final String OUTPUT_DIR_PROPERTY = "litho.benchmark.outputDir";
+
+  private static final int DEFAULT_ITERATIONS = 50;
+  private static final int DEFAULT_WARMUP_ITERATIONS = 20;
+
+  /** The CSV files written by this process, which the following tests append their results to. */
+  private static final Set<File> sWrittenFiles = new HashSet<>();
+
+  private final List<Result> mResults = new ArrayList<>();
+  private final int mIterations;
+  private final int mWarmupIterations;
+
+  public BenchmarkRule() {
+    this(
+        Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS),
+        Integer.getInteger(WARMUP_ITERATIONS_PROPERTY, DEFAULT_WARMUP_ITERATIONS));
+  }
+
+  public BenchmarkRule(int iterations, int warmupIterations) {
+    if (iterations <= 0) {
+      throw new IllegalArgumentException("A benchmark needs at least one measured iteration");
+    }
+    mIterations = iterations;
+    mWarmupIterations = Math.max(warmupIterations, 0);
+  }
+
+  @Override
+  public Statement apply(final Statement base, final Description description) {
+    return new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        try {
+          base.evaluate();
+        } finally {
+          report(description);
+        }
+      }
+    };
+  }
+
+  /** Measures {@code operation}, see {@link #measure(String, Runnable, Runnable)}. */
+  public Result measure(String name, Runnable operation) {
+    return measure(name, null, operation);
+  }
+
+  /**
+   * Measures {@code operation}.
+   *
+   * @param name the name under which the results are reported.
+   * @param setUp if not null, runs before every iteration of {@code operation} and is neither
+   *     timed nor counted towards allocations.
+   * @param operation the code to benchmark.
+   */
+  public Result measure(String name, @Nullable Runnable setUp, Runnable operation) {
+    for (int i = 0; i < mWarmupIterations; i++) {
+      if (setUp != null) {
+        setUp.run();
+      }
+      operation.run();
+    }
+
+    final long[] durationsNs = new long[mIterations];
+    final long[] allocatedBytes = new long[mIterations];
+    final long threadId = Thread.currentThread().getId();
+
+    for (int i = 0; i < mIterations; i++) {
+      if (setUp != null) {
+        setUp.run();
+      }
+      final long allocationsBefore = getAllocatedBytes(threadId);
+      final long start = System.nanoTime();
+      operation.run();
+      durationsNs[i] = System.nanoTime() - start;
+      final long allocationsAfter = getAllocatedBytes(threadId);
+      allocatedBytes[i] = allocationsBefore < 0 ? -1 : allocationsAfter - allocationsBefore;
+    }
+
+    final Result result = new Result(name, durationsNs, allocatedBytes);
+    mResults.add(result);
+    return result;
+  }
+
+  private void report(Description description) throws IOException {
+    if (mResults.isEmpty()) {
+      return;
+    }
+
+    final String className = description.getTestClass().getSimpleName();
+    for (Result result : mResults) {
+      System.out.println(className + "." + result);
+    }
+
+    final String outputDir = System.getProperty(OUTPUT_DIR_PROPERTY);
+    if (outputDir == null) {
+      return;
+    }
+
+    final File dir = new File(outputDir);
+    if (!dir.exists() && !dir.mkdirs()) {
+      throw new IOException("Could not create benchmark output directory " + outputDir);
+    }
+
+    final File file = new File(dir, className + ".csv");
+    final boolean isFirstWrite;
+    synchronized (sWrittenFiles) {
+      isFirstWrite = sWrittenFiles.add(file);
+    }
+
+    // The rule reports after every test: truncate the results of previous runs on the first one.
+    final Writer writer = new FileWriter(file, !isFirstWrite);
+    try {
+      if (isFirstWrite) {
+        writer.write(Result.CSV_HEADER);
+        writer.write('\n');
+      }
+      for (Result result : mResults) {
+        writer.write(result.toCsv());
+        writer.write('\n');
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private static long getAllocatedBytes(long threadId) {
+    final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean.getThreadAllocatedBytes(threadId);
+      }
+    }
+    return -1;
+  }
+
+  /** The outcome of a single benchmark. */
+  public static final class Result {
+
+    static final String CSV_HEADER =
+        "benchmark,iterations,median_ns,p90_ns,min_ns,ops_per_sec,rsd_percent,"
+            + "median_allocated_bytes";
+
+    private final String mName;
+    private final int mIterations;
+    private final long mMedianNs;
+    private final long mP90Ns;
+    private final long mMinNs;
+    private final double mRelativeStdDevPercent;
+    private final long mMedianAllocatedBytes;
+
+    Result(String name, long[] durationsNs, long[] allocatedBytes) {
+      mName = name;
+      mIterations = durationsNs.length;
+
+      final long[] sortedDurations = durationsNs.clone();
+      Arrays.sort(sortedDurations);
+      mMedianNs = percentile(sortedDurations, 50);
+      mP90Ns = percentile(sortedDurations, 90);
+      mMinNs = sortedDurations[0];
+      mRelativeStdDevPercent = relativeStdDevPercent(durationsNs);
+
+      final long[] sortedAllocations = allocatedBytes.clone();
+      Arrays.sort(sortedAllocations);
+      mMedianAllocatedBytes = percentile(sortedAllocations, 50);
+    }
+
+    public String getName() {
+      return mName;
+    }
+
+    public long getMedianNanos() {
+      return mMedianNs;
+    }
+
+    /** @return the throughput derived from the median duration of an iteration. */
+    public double getOpsPerSecond() {
+      return mMedianNs == 0 ? Double.POSITIVE_INFINITY : 1_000_000_000d / mMedianNs;
+    }
+
+    /**
+     * @return the median number of bytes allocated by one iteration, or -1 if the JVM doesn't
+     *     support measuring thread allocations.
+     */
+    public long getMedianAllocatedBytes() {
+      return mMedianAllocatedBytes;
+    }
+
+    /** @return the relative standard deviation of the durations, a measure of how stable it is. */
+    public double getRelativeStdDevPercent() {
+      return mRelativeStdDevPercent;
+    }
+
+    String toCsv() {
+      return mName
+          + ","
+          + mIterations
+          + ","
+          + mMedianNs
+          + ","
+          + mP90Ns
+          + ","
+          + mMinNs
+          + ","
+          + String.format("%.2f", getOpsPerSecond())
+          + ","
+          + String.format("%.2f", mRelativeStdDevPercent)
+          + ","
+          + mMedianAllocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+      return mName
+          + ": "
+          + String.format("%.2f", getOpsPerSecond())
+          + " ops/s (median "
+          + mMedianNs / 1000
+          + "us, p90 "
+          + mP90Ns / 1000
+          + "us, min "
+          + mMinNs / 1000
+          + "us, rsd "
+          + String.format("%.1f", mRelativeStdDevPercent)
+          + "%), "
+          + (mMedianAllocatedBytes < 0 ? "n/a" : mMedianAllocatedBytes + " bytes")
+          + " allocated/op";
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+      final int index = (int) Math.ceil(percentile / 100d * sortedValues.length) - 1;
+      return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+
+    private static double relativeStdDevPercent(long[] values) {
+      double mean = 0;
+      for (long value : values) {
+        mean += value;
+      }
+      mean /= values.length;
+      if (mean == 0) {
+        return 0;
+      }
+
+      double variance = 0;
+      for (long value : values) {
+        variance += (value - mean) * (value - mean);
+      }
+      variance /= values.length;
+      return Math.sqrt(variance) / mean * 100;
+    }
+  }
+}
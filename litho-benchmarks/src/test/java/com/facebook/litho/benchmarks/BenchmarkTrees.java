@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.benchmarks;
+
+import android.graphics.Color;
+import com.facebook.litho.Column;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Row;
+import com.facebook.litho.widget.HorizontalScroll;
+import com.facebook.litho.widget.SolidColor;
+import com.facebook.litho.widget.Text;
+import com.facebook.yoga.YogaEdge;
+
+/** Representative component trees shared by the benchmarks. */
+public final class BenchmarkTrees {
+
+  private BenchmarkTrees() {}
+
+  /** A single chain of {@code depth} nested containers ending in a leaf. */
+  public static Component deep(ComponentContext c, int depth) {
+    Component current = SolidColor.create(c).color(Color.RED).widthPx(10).heightPx(10).build();
+    for (int i = 0; i < depth; i++) {
+      final Component.ContainerBuilder<?> container =
+          i % 2 == 0 ? Column.create(c) : Row.create(c);
+      current = container.paddingPx(YogaEdge.ALL, 1).child(current).build();
+    }
+    return current;
+  }
+
+  /** A single container with {@code width} leaf children. */
+  public static Component wide(ComponentContext c, int width) {
+    final Column.Builder column = Column.create(c);
+    for (int i = 0; i < width; i++) {
+      column.child(SolidColor.create(c).color(Color.BLUE).heightPx(4).flexGrow(1));
+    }
+    return column.build();
+  }
+
+  /** A column of {@code rows} rows, each holding a title and a multi-line body Text. */
+  public static Component textHeavy(ComponentContext c, int rows) {
+    final Column.Builder column = Column.create(c);
+    for (int i = 0; i < rows; i++) {
+      column.child(
+          Row.create(c)
+              .child(Text.create(c).text("Title " + i).textSizePx(20).flexShrink(0))
+              .child(
+                  Text.create(c)
+                      .text(
+                          "Row "
+                              + i
+                              + " has a body long enough to wrap over a few lines of text when "
+                              + "it is measured at the width of a phone screen.")
+                      .textSizePx(14)
+                      .maxLines(3)
+                      .flexGrow(1)));
+    }
+    return column.build();
+  }
+
+  /**
+   * A balanced tree of alternating Rows and Columns, {@code depth} levels deep with {@code
+   * branching} children per container, mixing Text and SolidColor leaves.
+   */
+  public static Component balanced(ComponentContext c, int depth, int branching) {
+    return balanced(c, depth, branching, 0);
+  }
+
+  private static Component balanced(ComponentContext c, int depth, int branching, int index) {
+    if (depth == 0) {
+      return index % 2 == 0
+          ? Text.create(c).text("Leaf " + index).textSizePx(12).build()
+          : SolidColor.create(c).color(Color.GREEN).widthPx(8).heightPx(8).build();
+    }
+
+    final Component.ContainerBuilder<?> container =
+        depth % 2 == 0 ? Column.create(c) : Row.create(c);
+    for (int i = 0; i < branching; i++) {
+      container.child(balanced(c, depth - 1, branching, index * branching + i));
+    }
+    return container.paddingPx(YogaEdge.ALL, 2).build();
+  }
+
+  /**
+   * A column of {@code rows} HorizontalScrolls, each laying out a row of {@code itemsPerRow} cards
+   * in its own nested ComponentTree.
+   */
+  public static Component nested(ComponentContext c, int rows, int itemsPerRow) {
+    final Column.Builder column = Column.create(c);
+    for (int i = 0; i < rows; i++) {
+      final Row.Builder row = Row.create(c);
+      for (int j = 0; j < itemsPerRow; j++) {
+        row.child(
+            Column.create(c)
+                .widthPx(240)
+                .paddingPx(YogaEdge.ALL, 4)
+                .child(SolidColor.create(c).color(Color.GRAY).heightPx(160))
+                .child(Text.create(c).text("Item " + i + "." + j).textSizePx(14)));
+      }
+      column.child(HorizontalScroll.create(c).contentProps(row.build()));
+    }
+    return column.build();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.sections.common;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+
+import com.facebook.litho.benchmarks.BenchmarkRule;
+import com.facebook.litho.sections.SectionContext;
+import com.facebook.litho.sections.SectionTree;
+import com.facebook.litho.testing.sections.TestGroupSection;
+import com.facebook.litho.testing.sections.TestTarget;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.LooperMode;
+
+/**
+ * Benchmarks the changeset calculation of {@link DataDiffSectionSpec} when a small fraction of a
+ * large list changes, which is the common case for feeds being refreshed.
+ */
+@LooperMode(LooperMode.Mode.LEGACY)
+@RunWith(LithoTestRunner.class)
+public class DataDiffSectionBenchmark {
+
+  public final @Rule BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+  private SectionContext mSectionContext;
+  private SectionTree mSectionTree;
+
+  @Before
+  public void setup() {
+    mSectionContext = new SectionContext(getApplicationContext());
+  }
+
+  @Test
+  public void diff_1kItems() {
+    measureDiff("data_diff_1k", 1_000);
+  }
+
+  @Test
+  public void diff_10kItems() {
+    measureDiff("data_diff_10k", 10_000);
+  }
+
+  @Test
+  public void diff_10kItems_noChanges() {
+    final List<String> data = generateData(10_000);
+    measureDiff("data_diff_10k_unchanged", data, new ArrayList<>(data));
+  }
+
+  private void measureDiff(String name, int count) {
+    measureDiff(name, generateData(count), generateChangedData(count));
+  }
+
+  private void measureDiff(String name, final List<String> oldData, final List<String> newData) {
+    mBenchmarkRule.measure(
+        name,
+        new Runnable() {
+          @Override
+          public void run() {
+            mSectionTree = SectionTree.create(mSectionContext, new TestTarget()).build();
+            mSectionTree.setRoot(TestGroupSection.create(mSectionContext).data(oldData).build());
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            mSectionTree.setRoot(TestGroupSection.create(mSectionContext).data(newData).build());
+          }
+        });
+  }
+
+  private static List<String> generateData(int count) {
+    final List<String> data = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      data.add("item " + i);
+    }
+    return data;
+  }
+
+  /** Removes every 10th item, updates every 25th and inserts a new item every 50 positions. */
+  private static List<String> generateChangedData(int count) {
+    final List<String> data = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      if (i % 50 == 0) {
+        data.add("new item " + i);
+      }
+      if (i % 10 == 0) {
+        continue;
+      }
+      data.add(i % 25 == 0 ? "updated item " + i : "item " + i);
+    }
+    return data;
+  }
+}
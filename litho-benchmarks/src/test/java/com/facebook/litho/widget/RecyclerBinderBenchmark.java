@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Size;
+import com.facebook.litho.benchmarks.BenchmarkRule;
+import com.facebook.litho.benchmarks.BenchmarkTrees;
+import com.facebook.litho.testing.helper.ComponentTestHelper;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Benchmarks inserting items into a {@link RecyclerBinder} and recomputing its layout range while
+ * scrolling, including the background layouts they trigger.
+ */
+@LooperMode(LooperMode.Mode.LEGACY)
+@RunWith(LithoTestRunner.class)
+public class RecyclerBinderBenchmark {
+
+  private static final int ITEM_COUNT = 500;
+  private static final float RANGE_RATIO = 2.0f;
+  private static final int WIDTH_SPEC = makeSizeSpec(1080, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(1920, EXACTLY);
+  private static final int VISIBLE_ITEMS = 10;
+
+  private static final ChangeSetCompleteCallback NO_OP_CALLBACK =
+      new ChangeSetCompleteCallback() {
+        @Override
+        public void onDataBound() {}
+
+        @Override
+        public void onDataRendered(boolean isMounted, long uptimeMillis) {}
+      };
+
+  public final @Rule BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+  private ComponentContext mContext;
+  private ShadowLooper mLayoutThreadShadowLooper;
+  private RecyclerBinder mRecyclerBinder;
+  private List<RenderInfo> mRenderInfos;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mLayoutThreadShadowLooper = ComponentTestHelper.getDefaultLayoutThreadShadowLooper();
+  }
+
+  @Test
+  public void insertRange() {
+    mBenchmarkRule.measure(
+        "insert_range_" + ITEM_COUNT,
+        new Runnable() {
+          @Override
+          public void run() {
+            mRecyclerBinder = createMeasuredBinder();
+            mRenderInfos = createRenderInfos(ITEM_COUNT);
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            mRecyclerBinder.insertRangeAt(0, mRenderInfos);
+            mRecyclerBinder.notifyChangeSetComplete(true, NO_OP_CALLBACK);
+            mLayoutThreadShadowLooper.runToEndOfTasks();
+          }
+        });
+  }
+
+  @Test
+  public void computeRange_scroll() {
+    mRecyclerBinder = createMeasuredBinder();
+    mRecyclerBinder.insertRangeAt(0, createRenderInfos(ITEM_COUNT));
+    mRecyclerBinder.notifyChangeSetComplete(true, NO_OP_CALLBACK);
+    mLayoutThreadShadowLooper.runToEndOfTasks();
+
+    mBenchmarkRule.measure(
+        "compute_range_scroll_" + ITEM_COUNT,
+        new Runnable() {
+          @Override
+          public void run() {
+            for (int first = 0; first + VISIBLE_ITEMS < ITEM_COUNT; first++) {
+              mRecyclerBinder.onNewVisibleRange(first, first + VISIBLE_ITEMS);
+              mLayoutThreadShadowLooper.runToEndOfTasks();
+            }
+          }
+        });
+  }
+
+  private RecyclerBinder createMeasuredBinder() {
+    final RecyclerBinder recyclerBinder =
+        new RecyclerBinder.Builder().rangeRatio(RANGE_RATIO).build(mContext);
+    recyclerBinder.measure(new Size(), WIDTH_SPEC, HEIGHT_SPEC, null);
+    return recyclerBinder;
+  }
+
+  private List<RenderInfo> createRenderInfos(int count) {
+    final List<RenderInfo> renderInfos = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      renderInfos.add(
+          ComponentRenderInfo.create().component(BenchmarkTrees.textHeavy(mContext, 1)).build());
+    }
+    return renderInfos;
+  }
+}
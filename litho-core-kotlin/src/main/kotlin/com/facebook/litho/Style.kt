@@ -72,31 +72,103 @@ open class Style(
     return Style(if (this === Style) null else this, nextItem)
   }
 
+  /**
+   * The items of this Style in application order, flattened from the chain on first use. Styles
+   * are usually built once and applied or compared on every render, so this avoids walking the
+   * chain again each time.
+   */
+  @Volatile private var flattenedItems: Array<StyleItem>? = null
+
+  /** Memoized [hashCode], 0 until computed. */
+  private var hash: Int = 0
+
   open fun forEach(lambda: (StyleItem) -> Unit) {
-    previousStyle?.forEach(lambda)
-    if (item != null) {
-      lambda(item)
+    val items = getItems()
+    for (i in items.indices) {
+      lambda(items[i])
     }
   }
 
   internal fun applyToComponent(resourceResolver: ResourceResolver, component: Component) {
-    forEach { it.applyToComponent(resourceResolver, component) }
+    val items = getItems()
+    for (i in items.indices) {
+      items[i].applyToComponent(resourceResolver, component)
+    }
+  }
+
+  internal fun getItems(): Array<StyleItem> {
+    var items = flattenedItems
+    if (items == null) {
+      items = flatten()
+      flattenedItems = items
+    }
+    return items
+  }
+
+  /**
+   * Collects the items of the chain iteratively, from the last one to the first, so that long
+   * chains don't recurse deeply. Parts of the chain which were already flattened, e.g. a shared
+   * Style constant, are copied as a whole.
+   */
+  private fun flatten(): Array<StyleItem> {
+    val reversedItems = ArrayList<StyleItem>()
+    val pending = ArrayList<Style>()
+    pending.add(this)
+    while (pending.isNotEmpty()) {
+      val style = pending.removeAt(pending.size - 1)
+      val flattened = if (style === this) null else style.flattenedItems
+      if (flattened != null) {
+        var i = flattened.size - 1
+        while (i >= 0) {
+          reversedItems.add(flattened[i--])
+        }
+      } else if (style is CombinedStyle) {
+        style.first?.let { pending.add(it) }
+        style.second?.let { pending.add(it) }
+      } else {
+        style.item?.let { reversedItems.add(it) }
+        style.previousStyle?.let { pending.add(it) }
+      }
+    }
+    reversedItems.reverse()
+    return reversedItems.toTypedArray()
   }
 
+  /** Styles are equal if they apply equal items in the same order, however they were built. */
   override fun equals(other: Any?): Boolean {
     if (this === other) {
       return true
     }
-    if (other == null || javaClass != other.javaClass) {
+    if (other !is Style) {
+      return false
+    }
+    if (hashCode() != other.hashCode()) {
+      return false
+    }
+    val items = getItems()
+    val otherItems = other.getItems()
+    if (items.size != otherItems.size) {
       return false
     }
-    other as Style
-    return previousStyle == other.previousStyle && item == other.item
+    for (i in items.indices) {
+      // Items are often the same instances, e.g. when both Styles were built from the same
+      // constants, in which case they don't need to be compared.
+      if (items[i] !== otherItems[i] && items[i] != otherItems[i]) {
+        return false
+      }
+    }
+    return true
   }
 
   override fun hashCode(): Int {
-    var result = previousStyle?.hashCode() ?: 0
-    result = 31 * result + (item?.hashCode() ?: 0)
+    var result = hash
+    if (result == 0) {
+      result = getItems().contentHashCode()
+      if (result == 0) {
+        result = 1
+      }
+      hash = result
+    }
     return result
   }
 
@@ -119,10 +191,4 @@ open class Style(
  * Style take precedence if the two define different values for the same attribute, similar to
  * adding maps.
  */
-private data class CombinedStyle(val first: Style?, val second: Style?) : Style(first, null) {
-
-  override fun forEach(lambda: (StyleItem) -> Unit) {
-    first?.forEach(lambda)
-    second?.forEach(lambda)
-  }
-}
+private class CombinedStyle(val first: Style?, val second: Style?) : Style(first, null)
@@ -74,6 +74,30 @@ class StyleTest {
         .isNotEqualTo(Style.testStyleItem("A").testStyleItem("2"))
   }
 
+  @Test
+  fun style_equals_sameItemsBuiltDifferently() {
+    val shared = Style.testStyleItem("A").testStyleItem("B")
+    val combined = shared + Style.testStyleItem("C")
+    val chained = Style.testStyleItem("A").testStyleItem("B").testStyleItem("C")
+
+    assertThat(combined).isEqualTo(chained)
+    assertThat(combined.hashCode()).isEqualTo(chained.hashCode())
+    assertThat(combined).isNotEqualTo(shared)
+  }
+
+  @Test
+  fun style_longChain_flattensWithoutRecursion() {
+    var style: Style = Style
+    for (i in 0 until 100_000) {
+      style = style.testStyleItem(i.toString())
+    }
+    val combined = style + style
+
+    assertThat(style.toStringList()).hasSize(100_000)
+    assertThat(combined.toStringList()).hasSize(200_000)
+    assertThat(style.toStringList().last()).isEqualTo("99999")
+  }
+
   private fun Style.toStringList(): List<String> {
     val list = mutableListOf<String>()
     forEach { list.add((it as TestStyleItem).name) }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.choreographercompat.ChoreographerCompat;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Coalesces the async state updates of all the {@link ComponentTree}s of the process so that each
+ * tree calculates at most one layout per frame for them, however many updates it received. The
+ * pending trees are flushed together on the next frame (plus {@link
+ * ComponentsConfiguration#asyncStateUpdateBatchWindowMs}), so a burst of updates across the
+ * sibling trees of a list is laid out as one batch.
+ *
+ * <p>Used when {@link ComponentsConfiguration#batchAsyncStateUpdatesPerFrame} is enabled.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class AsyncStateUpdateBatcher {
+
+  private static final AsyncStateUpdateBatcher sInstance = new AsyncStateUpdateBatcher();
+
+  private final Object mLock = new Object();
+
+  @GuardedBy("mLock")
+  private LinkedHashMap<ComponentTree, String> mPendingUpdates = new LinkedHashMap<>();
+
+  @GuardedBy("mLock")
+  private boolean mIsFlushScheduled;
+
+  private final ChoreographerCompat.FrameCallback mFlushFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          flush();
+        }
+      };
+
+  static AsyncStateUpdateBatcher getInstance() {
+    return sInstance;
+  }
+
+  /**
+   * Schedules an async layout of {@code componentTree} for its queued state updates on the next
+   * flush. Does nothing but count the update if the tree already has one pending.
+   */
+  void schedule(ComponentTree componentTree, String attribution) {
+    final boolean shouldScheduleFlush;
+    synchronized (mLock) {
+      // Keep the attribution of the latest update, like the layout it replaces would have.
+      if (mPendingUpdates.put(componentTree, attribution) != null) {
+        LithoStats.incrementComponentCoalescedAsyncStateUpdateCount();
+        return;
+      }
+
+      shouldScheduleFlush = !mIsFlushScheduled;
+      mIsFlushScheduled = true;
+    }
+
+    if (shouldScheduleFlush) {
+      final long windowMs = ComponentsConfiguration.asyncStateUpdateBatchWindowMs;
+      if (windowMs > 0) {
+        ChoreographerCompatImpl.getInstance()
+            .postFrameCallbackDelayed(mFlushFrameCallback, windowMs);
+      } else {
+        ChoreographerCompatImpl.getInstance().postFrameCallback(mFlushFrameCallback);
+      }
+    }
+  }
+
+  /**
+   * Drops the pending update of {@code componentTree}, if any, so that a released tree isn't
+   * retained until the next flush.
+   */
+  void cancel(ComponentTree componentTree) {
+    synchronized (mLock) {
+      mPendingUpdates.remove(componentTree);
+    }
+  }
+
+  /** Starts the async layouts of all the trees with pending state updates. */
+  @VisibleForTesting
+  void flush() {
+    final LinkedHashMap<ComponentTree, String> pendingUpdates;
+    synchronized (mLock) {
+      pendingUpdates = mPendingUpdates;
+      mPendingUpdates = new LinkedHashMap<>();
+      mIsFlushScheduled = false;
+    }
+
+    for (Map.Entry<ComponentTree, String> entry : pendingUpdates.entrySet()) {
+      final ComponentTree componentTree = entry.getKey();
+      // A tree may be released after it was taken off the pending updates but before its turn.
+      if (!componentTree.isReleased()) {
+        componentTree.updateStateInternal(true, entry.getValue(), false);
+      }
+    }
+  }
+
+  /** @return the number of trees waiting for the next flush. */
+  int getPendingTreeCount() {
+    synchronized (mLock) {
+      return mPendingUpdates.size();
+    }
+  }
+}
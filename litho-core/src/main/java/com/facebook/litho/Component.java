@@ -65,6 +65,7 @@ import com.facebook.litho.drawable.ComparableColorDrawable;
 import com.facebook.litho.drawable.ComparableDrawable;
 import com.facebook.rendercore.MountItemsPool;
 import com.facebook.rendercore.PoolableContentProvider;
+import com.facebook.rendercore.RenderCoreConfig;
 import com.facebook.rendercore.transitions.TransitionUtils;
 import com.facebook.yoga.YogaAlign;
 import com.facebook.yoga.YogaDirection;
@@ -185,7 +186,14 @@ public abstract class Component
   @Nullable
   @Override
   public MountItemsPool.ItemPool<?> createRecyclingPool() {
-    return onCreateMountContentPool();
+    final MountContentPool pool = onCreateMountContentPool();
+    if (RenderCoreConfig.useAdaptiveMountItemsPools
+        && pool instanceof DefaultMountContentPool
+        && ((DefaultMountContentPool) pool).isReplaceableByAdaptivePool()) {
+      // The spec doesn't customize its pool: let MountItemsPool create an adaptive one.
+      return null;
+    }
+    return pool;
   }
 
   @Override
@@ -563,7 +571,7 @@ public abstract class Component
    * @return the MountContentPool that should be used to recycle mount content for this mount spec.
    */
   protected MountContentPool onCreateMountContentPool() {
-    return new DefaultMountContentPool(getClass().getSimpleName(), poolSize(), true);
+    return new DefaultMountContentPool(getClass().getSimpleName(), poolSize(), true, true);
   }
 
   /**
@@ -78,6 +78,13 @@ public class ComponentHost extends Host implements DisappearingHost {
   private SparseArrayCompat<MountItem> mDrawableMountItems;
   private SparseArrayCompat<MountItem> mScrapDrawableMountItems;
 
+  /**
+   * The mounted drawables which implement {@link Touchable}, in reverse drawing order. Lazily
+   * rebuilt on the first touch event after the drawables of this host change, so that touch
+   * dispatch doesn't go through every drawable of hosts with many non touchable ones.
+   */
+  private @Nullable ArrayList<MountItem> mTouchableDrawableMountItems;
+
   private ArrayList<MountItem> mDisappearingItems;
 
   private CharSequence mContentDescription;
@@ -218,6 +225,7 @@ public class ComponentHost extends Host implements DisappearingHost {
 
       unmountDrawable((Drawable) content);
       ComponentHostUtils.removeItem(index, mDrawableMountItems, mScrapDrawableMountItems);
+      mTouchableDrawableMountItems = null;
     } else if (content instanceof View) {
       unmountView((View) content);
       ensureViewMountItems();
@@ -251,6 +259,7 @@ public class ComponentHost extends Host implements DisappearingHost {
       ensureDrawableMountItems();
 
       ComponentHostUtils.removeItem(index, mDrawableMountItems, mScrapDrawableMountItems);
+      mTouchableDrawableMountItems = null;
     } else if (content instanceof View) {
       ensureViewMountItems();
       ComponentHostUtils.removeItem(index, mViewMountItems, mScrapViewMountItemsArray);
@@ -826,13 +835,11 @@ public class ComponentHost extends Host implements DisappearingHost {
 
     if (isEnabled()) {
       // Iterate drawable from last to first to respect drawing order.
-      for (int i = ((mDrawableMountItems == null) ? 0 : mDrawableMountItems.size()) - 1;
-          i >= 0;
-          i--) {
-        final MountItem item = mDrawableMountItems.valueAt(i);
+      final List<MountItem> touchableItems = getTouchableDrawableMountItems();
+      for (int i = 0, size = touchableItems.size(); i < size; i++) {
+        final MountItem item = touchableItems.get(i);
 
-        if (item.getContent() instanceof Touchable
-            && !isTouchableDisabled(getLayoutOutput(item).getFlags())) {
+        if (!isTouchableDisabled(getLayoutOutput(item).getFlags())) {
           final Touchable t = (Touchable) item.getContent();
           if (t.shouldHandleTouchEvent(event) && t.onTouchEvent(event, this)) {
             handled = true;
@@ -849,6 +856,23 @@ public class ComponentHost extends Host implements DisappearingHost {
     return handled;
   }
 
+  private List<MountItem> getTouchableDrawableMountItems() {
+    if (mTouchableDrawableMountItems == null) {
+      final ArrayList<MountItem> items = new ArrayList<>();
+      for (int i = ((mDrawableMountItems == null) ? 0 : mDrawableMountItems.size()) - 1;
+          i >= 0;
+          i--) {
+        final MountItem item = mDrawableMountItems.valueAt(i);
+        if (item.getContent() instanceof Touchable) {
+          items.add(item);
+        }
+      }
+      mTouchableDrawableMountItems = items;
+    }
+
+    return mTouchableDrawableMountItems;
+  }
+
   void performLayout(boolean changed, int l, int t, int r, int b) {}
 
   @Override
@@ -1293,6 +1317,7 @@ public class ComponentHost extends Host implements DisappearingHost {
 
     ensureDrawableMountItems();
     mDrawableMountItems.put(index, mountItem);
+    mTouchableDrawableMountItems = null;
     final Drawable drawable = (Drawable) mountItem.getContent();
 
     final LayoutOutput output = getLayoutOutput(mountItem);
@@ -1329,6 +1354,7 @@ public class ComponentHost extends Host implements DisappearingHost {
 
     // Move the MountItem in the new position.
     ComponentHostUtils.moveItem(oldIndex, newIndex, mDrawableMountItems, mScrapDrawableMountItems);
+    mTouchableDrawableMountItems = null;
 
     // Drawing order changed, invalidate the whole view.
     this.invalidate();
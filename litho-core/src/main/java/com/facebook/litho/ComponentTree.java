@@ -133,6 +133,9 @@ public class ComponentTree implements LithoLifecycleListener {
 
   private @Nullable DebugComponentTimeMachine.TreeRevisions mTimeline;
 
+  @GuardedBy("this")
+  private @Nullable DebugComponentChangeTracker mDebugChangeTracker;
+
   @GuardedBy("this")
   private int mStateUpdatesFromCreateLayoutCount;
 
@@ -375,10 +378,15 @@ public class ComponentTree implements LithoLifecycleListener {
 
   private final EventTriggersContainer mEventTriggersContainer = new EventTriggersContainer();
 
-  @GuardedBy("this")
   private final WorkingRangeStatusHandler mWorkingRangeStatusHandler =
       new WorkingRangeStatusHandler();
 
+  /**
+   * The working ranges of {@link #mCommittedLayoutState}, published so that range updates don't
+   * have to take the lock of this tree.
+   */
+  private volatile @Nullable WorkingRangeContainer mCommittedWorkingRangeContainer;
+
   private final boolean isReconciliationEnabled;
 
   private final boolean mMoveLayoutsBetweenThreads;
@@ -1089,6 +1097,10 @@ public class ComponentTree implements LithoLifecycleListener {
     if (mCommittedLayoutState == mMainThreadLayoutState) {
       return;
     }
+    if (ComponentsConfiguration.isDebugChangeTrackingEnabled) {
+      DebugComponentChangeTracker.onMainThreadLayoutStateChanged(
+          this, mMainThreadLayoutState, mCommittedLayoutState);
+    }
     mMainThreadLayoutState = mCommittedLayoutState;
     dispatchOnAttached();
 
@@ -1348,6 +1360,22 @@ public class ComponentTree implements LithoLifecycleListener {
     }
   }
 
+  /** @see DebugComponentChangeTracker */
+  @Nullable
+  synchronized DebugComponentChangeTracker getDebugChangeTracker() {
+    return mDebugChangeTracker;
+  }
+
+  /** @see DebugComponentChangeTracker */
+  @GuardedBy("this")
+  DebugComponentChangeTracker getOrCreateDebugChangeTracker() {
+    assertHoldsLock(this);
+    if (mDebugChangeTracker == null) {
+      mDebugChangeTracker = new DebugComponentChangeTracker();
+    }
+    return mDebugChangeTracker;
+  }
+
   /**
    * Pre-allocate the mount content of all MountSpec in this tree. Must be called after layout is
    * created.
@@ -1457,7 +1485,7 @@ public class ComponentTree implements LithoLifecycleListener {
     }
 
     LithoStats.incrementComponentStateUpdateAsyncCount();
-    updateStateInternal(true, attribution, isCreateLayoutInProgress);
+    scheduleAsyncStateUpdateLayout(attribution, isCreateLayoutInProgress);
   }
 
   final void updateHookStateSync(
@@ -1484,7 +1512,18 @@ public class ComponentTree implements LithoLifecycleListener {
     }
 
     LithoStats.incrementComponentStateUpdateAsyncCount();
-    updateStateInternal(true, attribution, isCreateLayoutInProgress);
+    scheduleAsyncStateUpdateLayout(attribution, isCreateLayoutInProgress);
+  }
+
+  private void scheduleAsyncStateUpdateLayout(
+      String attribution, boolean isCreateLayoutInProgress) {
+    // Updates triggered from a layout calculation go through right away so that state update
+    // loops are still detected.
+    if (ComponentsConfiguration.batchAsyncStateUpdatesPerFrame && !isCreateLayoutInProgress) {
+      AsyncStateUpdateBatcher.getInstance().schedule(this, attribution);
+    } else {
+      updateStateInternal(true, attribution, isCreateLayoutInProgress);
+    }
   }
 
   private void ensureSyncStateUpdateRunnable(String attribution, boolean isCreateLayoutInProgress) {
@@ -1622,14 +1661,15 @@ public class ComponentTree implements LithoLifecycleListener {
    * Check if the any child components stored in {@link LayoutState} have entered/exited the working
    * range, and dispatch the event to trigger the corresponding registered methods.
    */
-  public synchronized void checkWorkingRangeAndDispatch(
+  public void checkWorkingRangeAndDispatch(
       int position,
       int firstVisibleIndex,
       int lastVisibleIndex,
       int firstFullyVisibleIndex,
       int lastFullyVisibleIndex) {
-    if (mCommittedLayoutState != null) {
-      mCommittedLayoutState.checkWorkingRangeAndDispatch(
+    final WorkingRangeContainer workingRangeContainer = mCommittedWorkingRangeContainer;
+    if (workingRangeContainer != null) {
+      workingRangeContainer.checkWorkingRangeAndDispatch(
           position,
           firstVisibleIndex,
           lastVisibleIndex,
@@ -1643,8 +1683,10 @@ public class ComponentTree implements LithoLifecycleListener {
    * Dispatch OnExitedRange event to component which is still in the range, then clear the handler.
    */
   private synchronized void clearWorkingRangeStatusHandler() {
-    if (mCommittedLayoutState != null) {
-      mCommittedLayoutState.dispatchOnExitRangeIfNeeded(mWorkingRangeStatusHandler);
+    final WorkingRangeContainer workingRangeContainer = mCommittedWorkingRangeContainer;
+    mCommittedWorkingRangeContainer = null;
+    if (workingRangeContainer != null) {
+      workingRangeContainer.dispatchOnExitedRangeIfNeeded(mWorkingRangeStatusHandler);
     }
 
     mWorkingRangeStatusHandler.clear();
@@ -2326,6 +2368,7 @@ public class ComponentTree implements LithoLifecycleListener {
           && isCompatibleSpec(localLayoutState, mWidthSpec, mHeightSpec)) {
         mCommittedLayoutVersion = localLayoutVersion;
         mCommittedLayoutState = localLayoutState;
+        mCommittedWorkingRangeContainer = localLayoutState.mWorkingRangeContainer;
         localLayoutState.markCommitted();
         committedNewLayout = true;
       }
@@ -2422,7 +2465,9 @@ public class ComponentTree implements LithoLifecycleListener {
 
     synchronized (mEventTriggersContainer) {
       clearUnusedTriggerHandlers();
-      for (ScopedComponentInfo scopedComponentInfo : scopedComponentInfos) {
+      // Avoids allocating an iterator on every commit.
+      for (int i = 0, size = scopedComponentInfos.size(); i < size; i++) {
+        final ScopedComponentInfo scopedComponentInfo = scopedComponentInfos.get(i);
         final ComponentContext scopedContext = scopedComponentInfo.getContext();
         final Component component = scopedComponentInfo.getComponent();
         mEventHandlersController.bindEventHandlers(
@@ -2536,6 +2581,8 @@ public class ComponentTree implements LithoLifecycleListener {
       mMeasureListeners = null;
     }
 
+    AsyncStateUpdateBatcher.getInstance().cancel(this);
+
     if (mAttachDetachHandler != null) {
       // Execute detached callbacks if necessary.
       mAttachDetachHandler.onDetached();
@@ -2824,6 +2871,7 @@ public class ComponentTree implements LithoLifecycleListener {
 
     @Nullable private volatile Object interruptToken;
     @Nullable private volatile Object continuationToken;
+    @Nullable private volatile LayoutStallDetector.ComponentStack componentStack;
 
     @GuardedBy("LayoutStateFuture.this")
     private volatile boolean released = false;
@@ -2862,7 +2910,17 @@ public class ComponentTree implements LithoLifecycleListener {
                           return null;
                         }
                       }
-                      final LayoutState result = calculateLayoutStateInternal();
+                      final @Nullable LayoutStallDetector.ComponentStack stack =
+                          LayoutStallDetector.onLayoutStarted();
+                      componentStack = stack;
+                      final LayoutState result;
+                      try {
+                        result = calculateLayoutStateInternal();
+                      } finally {
+                        if (stack != null) {
+                          LayoutStallDetector.onLayoutFinished(stack);
+                        }
+                      }
                       synchronized (LayoutStateFuture.this) {
                         if (released) {
                           return null;
@@ -2990,6 +3048,7 @@ public class ComponentTree implements LithoLifecycleListener {
 
       LayoutState result;
       PerfEvent logFutureTaskGetWaiting = null;
+      LayoutStallDetector.Stall stall = null;
       final ComponentsLogger logger = getContextLogger();
       final boolean shouldTrace = notRunningOnMyThread && ComponentsSystrace.isTracing();
       try {
@@ -3014,8 +3073,32 @@ public class ComponentTree implements LithoLifecycleListener {
                     logger,
                     logger.newPerformanceEvent(mContext, EVENT_LAYOUT_STATE_FUTURE_GET_WAIT))
                 : null;
+        final boolean recordWaitLatency =
+            shouldWaitForResult && isMainThread() && LithoStats.isLatencyHistogramsEnabled();
+        if (shouldWaitForResult
+            && isMainThread()
+            && ComponentsConfiguration.enableLayoutStallDetection) {
+          stall =
+              LayoutStallDetector.onWaitStarted(
+                  componentStack, root.getSimpleName(), LayoutStateFuture.this.source);
+        }
+        final long waitStartTimeNs =
+            recordWaitLatency || stall != null ? System.nanoTime() : 0;
         result = futureTask.get();
 
+        if (stall != null) {
+          LayoutStallDetector.onWaitFinished(stall, System.nanoTime() - waitStartTimeNs);
+          stall = null;
+        }
+
+        if (recordWaitLatency) {
+          LithoStats.recordLatency(
+              LithoStats.LATENCY_LAYOUT_FUTURE_WAIT,
+              mContext.getLogTag(),
+              root.getSimpleName(),
+              System.nanoTime() - waitStartTimeNs);
+        }
+
         if (shouldTrace) {
           ComponentsSystrace.endSection();
         }
@@ -3070,6 +3153,9 @@ public class ComponentTree implements LithoLifecycleListener {
           throw new RuntimeException(e.getMessage(), e);
         }
       } finally {
+        if (stall != null) {
+          LayoutStallDetector.onWaitAborted(stall);
+        }
         if (shouldTrace) {
           ComponentsSystrace.endSection();
         }
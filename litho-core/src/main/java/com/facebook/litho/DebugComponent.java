@@ -22,6 +22,7 @@ import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.view.View;
 import android.widget.TextView;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.rendercore.MountDelegateTarget;
 import com.facebook.rendercore.MountItem;
 import java.util.ArrayList;
@@ -29,6 +30,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -54,12 +56,12 @@ public final class DebugComponent {
   private LithoLayoutResult mResult;
   private LithoNode mNode;
   private int mComponentIndex;
+  private @Nullable List<DebugComponent> mChildComponents;
 
   private DebugComponent() {}
 
   static synchronized @Nullable DebugComponent getInstance(
       LithoLayoutResult result, int componentIndex) {
-    final DebugComponent debugComponent = new DebugComponent();
     final LithoNode node = result.getNode();
     final ComponentContext context = result.getContext();
 
@@ -67,6 +69,18 @@ public final class DebugComponent {
       return null;
     }
 
+    // Layout results are immutable, so debug components created for them can be shared by every
+    // walk of the hierarchy.
+    final Set<DebugComponent> registeredDebugComponents = node.getDebugComponents();
+    if (registeredDebugComponents != null) {
+      for (DebugComponent registered : registeredDebugComponents) {
+        if (registered.mResult == result && registered.mComponentIndex == componentIndex) {
+          return registered;
+        }
+      }
+    }
+
+    final DebugComponent debugComponent = new DebugComponent();
     final String componentKey = node.getGlobalKeyAt(componentIndex);
 
     debugComponent.mGlobalKey = generateGlobalKey(context, componentKey);
@@ -103,8 +117,35 @@ public final class DebugComponent {
     return DebugComponent.getInstance(rootResult, outerWrapperComponentIndex);
   }
 
+  /**
+   * @return the debug component whose {@link #getGlobalKey()} is {@code globalKey} in the layout
+   *     currently shown by {@code componentTree}, or null if there is none. Only supported when
+   *     {@link ComponentsConfiguration#isDebugChangeTrackingEnabled} is set.
+   */
+  @Nullable
+  public static DebugComponent getInstance(ComponentTree componentTree, String globalKey) {
+    final LayoutState layoutState = componentTree.getMainThreadLayoutState();
+    final Map<String, LithoLayoutResult> results =
+        layoutState == null ? null : layoutState.getComponentKeyToLayoutResult();
+    final String prefix = String.valueOf(System.identityHashCode(componentTree));
+    if (results == null || !globalKey.startsWith(prefix)) {
+      return null;
+    }
+
+    final String componentKey = globalKey.substring(prefix.length());
+    final LithoLayoutResult result = results.get(componentKey);
+    if (result == null) {
+      return null;
+    }
+    final int index = DebugComponentChangeTracker.getComponentIndex(result.getNode(), componentKey);
+    return index >= 0 ? getInstance(result, index) : null;
+  }
+
   private static String generateGlobalKey(ComponentContext context, String componentKey) {
-    final ComponentTree tree = context.getComponentTree();
+    return generateGlobalKey(context.getComponentTree(), componentKey);
+  }
+
+  static String generateGlobalKey(@Nullable ComponentTree tree, String componentKey) {
     return System.identityHashCode(tree) + componentKey;
   }
 
@@ -143,6 +184,13 @@ public final class DebugComponent {
    * @return A list of child components.
    */
   public List<DebugComponent> getChildComponents() {
+    if (mChildComponents == null) {
+      mChildComponents = createChildComponents();
+    }
+    return mChildComponents;
+  }
+
+  private List<DebugComponent> createChildComponents() {
     if (!isLayoutNode()) {
       final int nextComponentIndex = mComponentIndex - 1;
       DebugComponent component = getInstance(mResult, nextComponentIndex);
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.graphics.Rect;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Records what changed between the layouts shown by a {@link ComponentTree}, so debugging tools
+ * like the Flipper inspector can refresh only the {@link DebugComponent}s that changed instead of
+ * walking the whole hierarchy again. Requires {@link
+ * ComponentsConfiguration#isDebugChangeTrackingEnabled}.
+ *
+ * <p>The most recent {@link Delta}s are kept in a ring buffer. Tools remember the revision they are
+ * up to date with and ask for the deltas since then with {@link #getDeltasSince(long)}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class DebugComponentChangeTracker {
+
+  static final int CAPACITY = 32;
+
+  private final Delta[] mDeltas = new Delta[CAPACITY];
+  private long mRevision;
+
+  DebugComponentChangeTracker() {}
+
+  /**
+   * @return the tracker of {@code componentTree}, or null if no layout was committed since {@link
+   *     ComponentsConfiguration#isDebugChangeTrackingEnabled} was enabled.
+   */
+  public static @Nullable DebugComponentChangeTracker getInstance(ComponentTree componentTree) {
+    return componentTree.getDebugChangeTracker();
+  }
+
+  /** @return the revision of the latest layout, 0 if none was recorded. */
+  public synchronized long getRevision() {
+    return mRevision;
+  }
+
+  /**
+   * @return the deltas of the layouts shown after {@code revision}, oldest first, or null if
+   *     some of them were already dropped from the buffer, in which case the whole hierarchy has to
+   *     be refreshed.
+   */
+  public synchronized @Nullable List<Delta> getDeltasSince(long revision) {
+    if (revision >= mRevision) {
+      return Collections.emptyList();
+    }
+    if (revision < 0 || mRevision - revision > CAPACITY) {
+      return null;
+    }
+
+    final List<Delta> deltas = new ArrayList<>((int) (mRevision - revision));
+    for (long i = revision + 1; i <= mRevision; i++) {
+      deltas.add(mDeltas[(int) (i % CAPACITY)]);
+    }
+    return deltas;
+  }
+
+  synchronized void add(List<String> added, List<String> removed, List<String> changed) {
+    mRevision++;
+    mDeltas[(int) (mRevision % CAPACITY)] = new Delta(mRevision, added, removed, changed);
+  }
+
+  /**
+   * Records the difference between {@code previous} and {@code next}, which {@code
+   * componentTree} is about to show instead. Must be called while holding the lock of the tree.
+   */
+  static void onMainThreadLayoutStateChanged(
+      ComponentTree componentTree, @Nullable LayoutState previous, LayoutState next) {
+    final Map<String, LithoLayoutResult> nextResults = next.getComponentKeyToLayoutResult();
+    if (nextResults == null) {
+      return;
+    }
+    final Map<String, LithoLayoutResult> previousResults =
+        previous != null ? previous.getComponentKeyToLayoutResult() : null;
+    final DebugComponentChangeTracker tracker = componentTree.getOrCreateDebugChangeTracker();
+
+    final List<String> added = new ArrayList<>();
+    final List<String> removed = new ArrayList<>();
+    final List<String> changed = new ArrayList<>();
+    final Map<String, Rect> previousBounds =
+        previous != null ? previous.getComponentKeyToBounds() : null;
+    final Map<String, Rect> nextBounds = next.getComponentKeyToBounds();
+
+    for (Map.Entry<String, LithoLayoutResult> entry : nextResults.entrySet()) {
+      final String key = entry.getKey();
+      final LithoLayoutResult previousResult =
+          previousResults != null ? previousResults.get(key) : null;
+      if (previousResult == null) {
+        added.add(DebugComponent.generateGlobalKey(componentTree, key));
+      } else if (hasChanged(key, previousResult, entry.getValue(), previousBounds, nextBounds)) {
+        changed.add(DebugComponent.generateGlobalKey(componentTree, key));
+      }
+    }
+
+    if (previousResults != null) {
+      for (String key : previousResults.keySet()) {
+        if (!nextResults.containsKey(key)) {
+          removed.add(DebugComponent.generateGlobalKey(componentTree, key));
+        }
+      }
+    }
+
+    tracker.add(added, removed, changed);
+  }
+
+  private static boolean hasChanged(
+      String key,
+      LithoLayoutResult previous,
+      LithoLayoutResult next,
+      @Nullable Map<String, Rect> previousBounds,
+      Map<String, Rect> nextBounds) {
+    final Component previousComponent = getComponent(previous, key);
+    final Component nextComponent = getComponent(next, key);
+    if (previousComponent != nextComponent
+        && (previousComponent == null || !previousComponent.isEquivalentTo(nextComponent))) {
+      return true;
+    }
+
+    final Rect previousRect = previousBounds != null ? previousBounds.get(key) : null;
+    final Rect nextRect = nextBounds.get(key);
+    return previousRect == null ? nextRect != null : !previousRect.equals(nextRect);
+  }
+
+  static @Nullable Component getComponent(LithoLayoutResult result, String key) {
+    final LithoNode node = result.getNode();
+    final int index = getComponentIndex(node, key);
+    return index >= 0 ? node.getComponentAt(index) : null;
+  }
+
+  /** @return the index of the component with the global key {@code key} in {@code node}. */
+  static int getComponentIndex(LithoNode node, String key) {
+    for (int i = 0, count = node.getComponentCount(); i < count; i++) {
+      if (key.equals(node.getGlobalKeyAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** The components which were added, removed or changed by a new layout. */
+  public static final class Delta {
+
+    /** Increases by one with every new layout. */
+    public final long revision;
+
+    /** Keys, as returned by {@link DebugComponent#getGlobalKey()}, of the new components. */
+    public final List<String> added;
+
+    /** Keys of the components which are not part of the layout anymore. */
+    public final List<String> removed;
+
+    /** Keys of the components whose props or bounds changed. */
+    public final List<String> changed;
+
+    Delta(long revision, List<String> added, List<String> removed, List<String> changed) {
+      this.revision = revision;
+      this.added = Collections.unmodifiableList(added);
+      this.removed = Collections.unmodifiableList(removed);
+      this.changed = Collections.unmodifiableList(changed);
+    }
+
+    /** @return whether components were added or removed, which changes the hierarchy. */
+    public boolean hasStructuralChanges() {
+      return !added.isEmpty() || !removed.isEmpty();
+    }
+  }
+}
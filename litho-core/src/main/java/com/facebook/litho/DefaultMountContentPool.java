@@ -28,10 +28,26 @@ public class DefaultMountContentPool extends RecyclePool implements MountContent
 
   private final AtomicInteger mAllocationCount = new AtomicInteger(0);
   private final int mPoolSize;
+  private final boolean mIsReplaceableByAdaptivePool;
 
   public DefaultMountContentPool(String name, int maxSize, boolean sync) {
+    this(name, maxSize, sync, false);
+  }
+
+  DefaultMountContentPool(
+      String name, int maxSize, boolean sync, boolean isReplaceableByAdaptivePool) {
     super(name, maxSize, sync);
     mPoolSize = maxSize;
+    mIsReplaceableByAdaptivePool = isReplaceableByAdaptivePool;
+  }
+
+  /**
+   * @return true if this is the pool created for a Component which doesn't implement
+   *     {@literal @}OnCreateMountContentPool, which can be swapped for an adaptive pool when {@link
+   *     com.facebook.rendercore.RenderCoreConfig#useAdaptiveMountItemsPools} is enabled.
+   */
+  boolean isReplaceableByAdaptivePool() {
+    return mIsReplaceableByAdaptivePool;
   }
 
   @Override
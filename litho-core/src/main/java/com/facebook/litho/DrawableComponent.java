@@ -21,6 +21,7 @@ import android.graphics.drawable.Drawable;
 import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.litho.drawable.DrawableUtils;
+import com.facebook.litho.drawable.PreparableDrawable;
 
 @Nullsafe(Nullsafe.Mode.LOCAL)
 class DrawableComponent<T extends Drawable> extends Component {
@@ -40,6 +41,10 @@ class DrawableComponent<T extends Drawable> extends Component {
       final @Nullable InterStagePropsContainer interStagePropsContainer) {
     setDrawableWidth(layout.getWidth());
     setDrawableHeight(layout.getHeight());
+
+    if (mDrawable instanceof PreparableDrawable) {
+      ((PreparableDrawable) mDrawable).prepare(layout.getWidth(), layout.getHeight());
+    }
   }
 
   @Override
@@ -25,6 +25,9 @@ public class EventHandler<E> implements Function<Void>, Equivalence<EventHandler
   public final int id;
   public final @Nullable Object[] params;
 
+  /** Hash of {@link #params} but the first one, 0 until computed. */
+  private int mParamsHash;
+
   /* TODO: (T81557408) Fix @Nullable issue */
   protected EventHandler(@Nullable HasEventDispatcher hasEventDispatcher, int id) {
     this(hasEventDispatcher, id, null);
@@ -77,6 +80,10 @@ public class EventHandler<E> implements Function<Void>, Equivalence<EventHandler
       return false;
     }
 
+    if (mParamsHash != 0 && other.mParamsHash != 0 && mParamsHash != other.mParamsHash) {
+      return false;
+    }
+
     // Deliberately skip the first param as it is a ComponentContext which will change between
     // EventHandlers.
     for (int i = 1; i < params.length; i++) {
@@ -91,6 +98,27 @@ public class EventHandler<E> implements Function<Void>, Equivalence<EventHandler
     return true;
   }
 
+  /**
+   * @return a hash of the params of this handler, skipping the first one which is a {@link
+   *     ComponentContext}. It is computed once since the other params don't change, and used by
+   *     {@link #isEquivalentTo(EventHandler)} to tell handlers apart without comparing all params.
+   */
+  int getParamsHash() {
+    int hash = mParamsHash;
+    if (hash == 0 && params != null) {
+      hash = 1;
+      for (int i = 1; i < params.length; i++) {
+        final Object param = params[i];
+        hash = 31 * hash + (param == null ? 0 : param.hashCode());
+      }
+      if (hash == 0) {
+        hash = 1;
+      }
+      mParamsHash = hash;
+    }
+    return hash;
+  }
+
   @Override
   public String toString() {
     return mHasEventDispatcher != null && mHasEventDispatcher != this
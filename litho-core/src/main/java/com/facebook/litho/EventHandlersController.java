@@ -24,12 +24,23 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
-/** Manages the mapping of event handlers to dispatchers. */
+/**
+ * Manages the mapping of event handlers to dispatchers.
+ *
+ * <p>Handlers are rebound in place on every commit. When the set of dispatchers didn't change,
+ * binding them and clearing the unused ones doesn't allocate.
+ */
 @ThreadSafe
 public class EventHandlersController {
 
   private final Map<String, EventHandlersWrapper> mEventHandlers = new HashMap<>();
 
+  /** Incremented by every {@link #clearUnusedEventHandlers()}, i.e. once per committed tree. */
+  private int mGeneration;
+
+  /** The number of entries bound since the last {@link #clearUnusedEventHandlers()}. */
+  private int mUsedCount;
+
   /**
    * Update all the known event handlers for a dispatcher with the given key with the new dispatcher
    * instance.
@@ -47,22 +58,26 @@ public class EventHandlersController {
     }
 
     // Mark that the list of event handlers for this component is still needed.
-    eventHandlers.mUsedInCurrentTree = true;
+    if (eventHandlers.mUsedInGeneration != mGeneration) {
+      eventHandlers.mUsedInGeneration = mGeneration;
+      mUsedCount++;
+    }
     eventHandlers.bindAllToDispatcher(dispatcher, c);
   }
 
   /** Remove entries for dispatchers that are no longer present in the tree. */
   public synchronized void clearUnusedEventHandlers() {
-    final Iterator<String> iterator = mEventHandlers.keySet().iterator();
-    while (iterator.hasNext()) {
-      final EventHandlersWrapper eventHandlersWrapper = mEventHandlers.get(iterator.next());
-
-      if (eventHandlersWrapper == null || !eventHandlersWrapper.mUsedInCurrentTree) {
-        iterator.remove();
-      } else {
-        eventHandlersWrapper.mUsedInCurrentTree = false;
+    if (mUsedCount < mEventHandlers.size()) {
+      final Iterator<EventHandlersWrapper> iterator = mEventHandlers.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().mUsedInGeneration != mGeneration) {
+          iterator.remove();
+        }
       }
     }
+
+    mGeneration++;
+    mUsedCount = 0;
   }
 
   /** Map the given event handler to a dispatcher with the given global key. */
@@ -75,12 +90,15 @@ public class EventHandlersController {
     EventHandler<?> prevEventHandler = null;
 
     if (eventHandlersForKey == null) {
-      eventHandlersForKey = new EventHandlersWrapper();
+      eventHandlersForKey = new EventHandlersWrapper(mGeneration - 1);
       mEventHandlers.put(globalKey, eventHandlersForKey);
     } else {
       prevEventHandler = eventHandlersForKey.getEventHandlers().get(eventHandler.id);
     }
 
+    // Caches the hash of the params so that, once recorded, this handler is quickly told apart
+    // from the handlers created by later layouts with different params.
+    eventHandler.getParamsHash();
     if (!eventHandler.isEquivalentTo(prevEventHandler)) {
       eventHandlersForKey.addEventHandler(eventHandler);
     }
@@ -104,9 +122,14 @@ public class EventHandlersController {
   @VisibleForTesting
   public static class EventHandlersWrapper {
 
-    private final SparseArrayCompat<EventHandler<?>> mEventHandlers = new SparseArrayCompat<>();
+    // Most components only have a couple of event handlers.
+    private final SparseArrayCompat<EventHandler<?>> mEventHandlers = new SparseArrayCompat<>(2);
 
-    boolean mUsedInCurrentTree;
+    int mUsedInGeneration;
+
+    EventHandlersWrapper(int usedInGeneration) {
+      mUsedInGeneration = usedInGeneration;
+    }
 
     void addEventHandler(EventHandler<?> eventHandler) {
       mEventHandlers.put(eventHandler.id, eventHandler);
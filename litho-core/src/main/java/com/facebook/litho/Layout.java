@@ -200,6 +200,11 @@ class Layout {
     if (isTracing) {
       ComponentsSystrace.beginSection("createLayout:" + component.getSimpleName());
     }
+    final @Nullable LayoutStallDetector.ComponentStack componentStack =
+        layoutStateContext.getComponentStack();
+    if (componentStack != null) {
+      componentStack.push(component);
+    }
 
     final LithoNode node;
     final ComponentContext c;
@@ -288,6 +293,9 @@ class Layout {
       ComponentUtils.handleWithHierarchy(parent, component, e);
       return null;
     } finally {
+      if (componentStack != null) {
+        componentStack.pop();
+      }
       if (isTracing) {
         ComponentsSystrace.endSection();
       }
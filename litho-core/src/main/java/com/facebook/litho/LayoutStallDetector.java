@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.LayoutState.CalculateLayoutSource;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes the time the UI thread spends blocked on a layout computed by another thread to the
+ * component that thread was creating or measuring, and aggregates it into histograms per root
+ * component, blamed component and layout source. Enabled with {@link
+ * ComponentsConfiguration#enableLayoutStallDetection}.
+ *
+ * <p>By default, a stall is blamed on the component being worked on when the UI thread started
+ * waiting, which only costs a few array writes per component on the layout thread. When {@link
+ * ComponentsConfiguration#layoutStallSamplingIntervalMs} is positive, the layout thread is sampled
+ * while the UI thread waits and the stall is blamed on the component seen most often instead.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class LayoutStallDetector {
+
+  private static final String NO_COMPONENT = "<none>";
+  private static final int MAX_REPORTED_DEPTH = 4;
+
+  /**
+   * Root and blamed components of the stalls recorded once {@link #MAX_HISTOGRAMS} histograms
+   * exist, which are aggregated per layout source only.
+   */
+  @VisibleForTesting static final String OVERFLOW = "<other>";
+
+  // Histograms are never removed, see getAndResetStallSnapshots(), so their number is capped.
+  @VisibleForTesting static final int MAX_HISTOGRAMS = 256;
+
+  private static final ThreadLocal<ComponentStack> sCurrentStack = new ThreadLocal<>();
+  private static final ConcurrentHashMap<String, StallHistogram> sHistograms =
+      new ConcurrentHashMap<>();
+
+  private static @Nullable ScheduledExecutorService sSampler;
+
+  private LayoutStallDetector() {}
+
+  /**
+   * @return a snapshot of the stalls recorded since the last call, which are then cleared so that
+   *     the next call only reports the stalls recorded in between. Stalls recorded while the
+   *     snapshot is taken are reported by either this call or the next one.
+   */
+  public static List<StallSnapshot> getAndResetStallSnapshots() {
+    final List<StallSnapshot> snapshots = new ArrayList<>();
+    for (StallHistogram stallHistogram : sHistograms.values()) {
+      // Histograms are reset in place rather than removed, so that a stall being recorded into
+      // one concurrently is never lost.
+      final LatencyHistogram.Snapshot snapshot = stallHistogram.mHistogram.snapshotAndReset();
+      if (snapshot.getCount() > 0) {
+        snapshots.add(
+            new StallSnapshot(
+                stallHistogram.mRootName,
+                stallHistogram.mBlamedComponents,
+                stallHistogram.mSource,
+                snapshot));
+      }
+    }
+    return snapshots;
+  }
+
+  /**
+   * Called on a layout thread before it computes a layout: the components pushed on this thread
+   * until {@link #onLayoutFinished(ComponentStack)} are tracked on the returned stack.
+   *
+   * @return the stack to pass to {@link #onWaitStarted} and {@link
+   *     #onLayoutFinished(ComponentStack)}, or null if detection is disabled.
+   */
+  static @Nullable ComponentStack onLayoutStarted() {
+    if (!ComponentsConfiguration.enableLayoutStallDetection) {
+      return null;
+    }
+    final ComponentStack stack = new ComponentStack(sCurrentStack.get());
+    sCurrentStack.set(stack);
+    return stack;
+  }
+
+  /**
+   * Called on a layout thread once the layout tracked by {@code stack} is computed. A layout can be
+   * computed synchronously while computing another one on the same thread, in which case the
+   * outer layout is tracked again.
+   */
+  static void onLayoutFinished(ComponentStack stack) {
+    final @Nullable ComponentStack previous = stack.mPrevious;
+    if (previous != null) {
+      sCurrentStack.set(previous);
+    } else {
+      sCurrentStack.remove();
+    }
+  }
+
+  /** @return the stack of the layout computed by the calling thread, if it is being tracked. */
+  static @Nullable ComponentStack getCurrentStack() {
+    return ComponentsConfiguration.enableLayoutStallDetection ? sCurrentStack.get() : null;
+  }
+
+  /**
+   * Called by the UI thread before it blocks on the layout tracked by {@code stack}, which is null
+   * if the layout thread hasn't started tracking it yet.
+   *
+   * @return a token to pass to {@link #onWaitFinished(Stall, long)}.
+   */
+  static Stall onWaitStarted(
+      @Nullable ComponentStack stack, String rootName, @CalculateLayoutSource int source) {
+    final Stall stall =
+        new Stall(stack != null ? stack : new ComponentStack(), rootName, source);
+    final int samplingIntervalMs = ComponentsConfiguration.layoutStallSamplingIntervalMs;
+    if (samplingIntervalMs > 0) {
+      stall.mSampling =
+          getSampler().scheduleAtFixedRate(stall, 0, samplingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    return stall;
+  }
+
+  /** Called by the UI thread once it has been unblocked after {@code durationNs}. */
+  static void onWaitFinished(Stall stall, long durationNs) {
+    final String blamedComponents = stall.finish();
+    StallHistogram histogram =
+        sHistograms.get(stall.mRootName + '|' + stall.mSource + '|' + blamedComponents);
+    if (histogram == null) {
+      histogram =
+          sHistograms.size() < MAX_HISTOGRAMS
+              ? getOrCreateHistogram(stall.mRootName, blamedComponents, stall.mSource)
+              : getOrCreateHistogram(OVERFLOW, OVERFLOW, stall.mSource);
+    }
+    histogram.mHistogram.recordNanos(durationNs);
+  }
+
+  private static StallHistogram getOrCreateHistogram(
+      String rootName, String blamedComponents, @CalculateLayoutSource int source) {
+    final String key = rootName + '|' + source + '|' + blamedComponents;
+    final StallHistogram histogram = sHistograms.get(key);
+    if (histogram != null) {
+      return histogram;
+    }
+
+    final StallHistogram created = new StallHistogram(rootName, blamedComponents, source);
+    final StallHistogram existing = sHistograms.putIfAbsent(key, created);
+    return existing != null ? existing : created;
+  }
+
+  /** Called by the UI thread if the layout it waited for failed, to stop sampling. */
+  static void onWaitAborted(Stall stall) {
+    stall.finish();
+  }
+
+  private static synchronized ScheduledExecutorService getSampler() {
+    if (sSampler == null) {
+      final ScheduledThreadPoolExecutor sampler =
+          new ScheduledThreadPoolExecutor(
+              1,
+              new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                  final Thread thread = new Thread(runnable, "LithoLayoutStallSampler");
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+      sampler.setRemoveOnCancelPolicy(true);
+      sSampler = sampler;
+    }
+    return sSampler;
+  }
+
+  @VisibleForTesting
+  static void reset() {
+    sHistograms.clear();
+    sCurrentStack.remove();
+  }
+
+  /**
+   * The components a layout thread is currently creating or measuring, outermost first. Written by
+   * the layout thread only; reads from other threads are racy, which is fine for attribution.
+   */
+  static final class ComponentStack {
+
+    /** The stack of the layout this one is computed in on the same thread, if any. */
+    private final @Nullable ComponentStack mPrevious;
+
+    private Component[] mComponents = new Component[16];
+    private volatile int mDepth;
+
+    ComponentStack() {
+      this(null);
+    }
+
+    private ComponentStack(@Nullable ComponentStack previous) {
+      mPrevious = previous;
+    }
+
+    void push(Component component) {
+      final int depth = mDepth;
+      if (depth == mComponents.length) {
+        mComponents = Arrays.copyOf(mComponents, depth * 2);
+      }
+      mComponents[depth] = component;
+      mDepth = depth + 1;
+    }
+
+    void pop() {
+      final int depth = mDepth;
+      if (depth > 0) {
+        mComponents[depth - 1] = null;
+        mDepth = depth - 1;
+      }
+    }
+
+    /** @return the innermost components, e.g. "Feed>Story>Text", or {@link #NO_COMPONENT}. */
+    String describe() {
+      final Component[] components = mComponents;
+      final int depth = Math.min(mDepth, components.length);
+      final StringBuilder builder = new StringBuilder();
+      for (int i = Math.max(0, depth - MAX_REPORTED_DEPTH); i < depth; i++) {
+        final @Nullable Component component = components[i];
+        if (component == null) {
+          // Popped while we were reading it.
+          break;
+        }
+        if (builder.length() > 0) {
+          builder.append('>');
+        }
+        builder.append(component.getSimpleName());
+      }
+      return builder.length() > 0 ? builder.toString() : NO_COMPONENT;
+    }
+  }
+
+  /** A single wait of the UI thread, which samples the layout thread when it runs. */
+  static final class Stall implements Runnable {
+
+    private final ComponentStack mStack;
+    private final String mRootName;
+    private final @CalculateLayoutSource int mSource;
+    private final String mInitialComponents;
+    private final Map<String, Integer> mSamples = new HashMap<>();
+    private @Nullable ScheduledFuture<?> mSampling;
+
+    Stall(ComponentStack stack, String rootName, @CalculateLayoutSource int source) {
+      mStack = stack;
+      mRootName = rootName;
+      mSource = source;
+      mInitialComponents = stack.describe();
+    }
+
+    @Override
+    public synchronized void run() {
+      final String components = mStack.describe();
+      final Integer count = mSamples.get(components);
+      mSamples.put(components, count == null ? 1 : count + 1);
+    }
+
+    /** @return the components to blame for this stall. */
+    synchronized String finish() {
+      if (mSampling != null) {
+        mSampling.cancel(false);
+      }
+
+      String blamed = mInitialComponents;
+      int maxCount = 0;
+      for (Map.Entry<String, Integer> sample : mSamples.entrySet()) {
+        if (sample.getValue() > maxCount) {
+          blamed = sample.getKey();
+          maxCount = sample.getValue();
+        }
+      }
+      return blamed;
+    }
+  }
+
+  private static final class StallHistogram {
+
+    private final String mRootName;
+    private final String mBlamedComponents;
+    private final @CalculateLayoutSource int mSource;
+    private final LatencyHistogram mHistogram = new LatencyHistogram();
+
+    StallHistogram(String rootName, String blamedComponents, @CalculateLayoutSource int source) {
+      mRootName = rootName;
+      mBlamedComponents = blamedComponents;
+      mSource = source;
+    }
+  }
+
+  /** The stalls of the UI thread blamed on the same components of the same root. */
+  public static final class StallSnapshot {
+
+    private final String mRootName;
+    private final String mBlamedComponents;
+    private final @CalculateLayoutSource int mSource;
+    private final LatencyHistogram.Snapshot mHistogram;
+
+    StallSnapshot(
+        String rootName,
+        String blamedComponents,
+        @CalculateLayoutSource int source,
+        LatencyHistogram.Snapshot histogram) {
+      mRootName = rootName;
+      mBlamedComponents = blamedComponents;
+      mSource = source;
+      mHistogram = histogram;
+    }
+
+    /** @return the simple name of the root component of the layout the UI thread waited for. */
+    public String getRootName() {
+      return mRootName;
+    }
+
+    /**
+     * @return the innermost components the layout thread was working on, outermost first and
+     *     separated by '>', e.g. "Feed>Story>Text".
+     */
+    public String getBlamedComponents() {
+      return mBlamedComponents;
+    }
+
+    /** @return what triggered the layout, one of {@link LayoutState.CalculateLayoutSource}. */
+    public @CalculateLayoutSource int getSource() {
+      return mSource;
+    }
+
+    /** @return the durations the UI thread was blocked for. */
+    public LatencyHistogram.Snapshot getHistogram() {
+      return mHistogram;
+    }
+
+    @Override
+    public String toString() {
+      return "UI blocked on layout of "
+          + mBlamedComponents
+          + " in "
+          + mRootName
+          + " ("
+          + LayoutState.layoutSourceToString(mSource)
+          + "): "
+          + mHistogram;
+    }
+  }
+}
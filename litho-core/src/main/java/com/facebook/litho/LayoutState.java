@@ -122,6 +122,7 @@ public class LayoutState
   private static final int NO_PREVIOUS_LAYOUT_STATE_ID = -1;
 
   private final Map<String, Rect> mComponentKeyToBounds = new HashMap<>();
+  private final @Nullable Map<String, LithoLayoutResult> mComponentKeyToLayoutResult;
   private final Map<Handle, Rect> mComponentHandleToBounds = new HashMap<>();
   private @Nullable List<ScopedComponentInfo> mScopedComponentInfos;
 
@@ -236,6 +237,10 @@ public class LayoutState
     mPreviousLayoutStateId = current != null ? current.mId : NO_PREVIOUS_LAYOUT_STATE_ID;
     mStateHandler = stateHandler;
     mTestOutputs = ComponentsConfiguration.isEndToEndTestRun ? new ArrayList<TestOutput>(8) : null;
+    mComponentKeyToLayoutResult =
+        ComponentsConfiguration.isDebugChangeTrackingEnabled
+            ? new HashMap<String, LithoLayoutResult>()
+            : null;
     mLastMeasuredLayouts = new HashMap<>();
     mScopedComponentInfos = new ArrayList<>();
     mVisibilityOutputs = new ArrayList<>(8);
@@ -882,6 +887,9 @@ public class LayoutState
           layoutState.mScopedComponentInfos.add(delegateScopedContext.getScopedComponentInfo());
         }
       }
+      if (delegateKey != null && layoutState.mComponentKeyToLayoutResult != null) {
+        layoutState.mComponentKeyToLayoutResult.put(delegateKey, result);
+      }
       if (delegateKey != null || delegate.hasHandle()) {
         Rect copyRect = new Rect(rect);
         if (delegateKey != null) {
@@ -915,6 +923,15 @@ public class LayoutState
     return mComponentHandleToBounds;
   }
 
+  /**
+   * @return the layout result of every component of this layout by global key, or null if {@link
+   *     ComponentsConfiguration#isDebugChangeTrackingEnabled} was false when it was created.
+   */
+  @Nullable
+  Map<String, LithoLayoutResult> getComponentKeyToLayoutResult() {
+    return mComponentKeyToLayoutResult;
+  }
+
   @Nullable
   List<ScopedComponentInfo> consumeScopedComponentInfos() {
     final List<ScopedComponentInfo> scopedComponentInfos = mScopedComponentInfos;
@@ -1098,6 +1115,10 @@ public class LayoutState
 
     final ComponentsLogger logger = c.getLogger();
 
+    final boolean recordLatency = LithoStats.isLatencyHistogramsEnabled();
+    final long startTimeNs = recordLatency ? System.nanoTime() : 0;
+    final long startAllocations = recordLatency ? LithoStats.getThreadAllocationCount() : 0;
+
     final boolean isTracing = ComponentsSystrace.isTracing();
     if (isTracing) {
       if (extraAttribution != null) {
@@ -1263,6 +1284,14 @@ public class LayoutState
     if (ThreadUtils.isMainThread()) {
       LithoStats.incrementComponentCalculateLayoutOnUICount();
     }
+    if (recordLatency) {
+      LithoStats.recordLatency(
+          LithoStats.LATENCY_CALCULATE_LAYOUT,
+          c.getLogTag(),
+          component.getSimpleName(),
+          System.nanoTime() - startTimeNs,
+          LithoStats.getThreadAllocationCount() - startAllocations);
+    }
 
     return layoutState;
   }
@@ -2055,34 +2084,6 @@ public class LayoutState
     return res;
   }
 
-  void checkWorkingRangeAndDispatch(
-      int position,
-      int firstVisibleIndex,
-      int lastVisibleIndex,
-      int firstFullyVisibleIndex,
-      int lastFullyVisibleIndex,
-      WorkingRangeStatusHandler stateHandler) {
-    if (mWorkingRangeContainer == null) {
-      return;
-    }
-
-    mWorkingRangeContainer.checkWorkingRangeAndDispatch(
-        position,
-        firstVisibleIndex,
-        lastVisibleIndex,
-        firstFullyVisibleIndex,
-        lastFullyVisibleIndex,
-        stateHandler);
-  }
-
-  void dispatchOnExitRangeIfNeeded(WorkingRangeStatusHandler stateHandler) {
-    if (mWorkingRangeContainer == null) {
-      return;
-    }
-
-    mWorkingRangeContainer.dispatchOnExitedRangeIfNeeded(stateHandler);
-  }
-
   private static @Nullable TransitionId getTransitionIdForNode(@Nullable LithoNode result) {
     if (result == null) {
       return null;
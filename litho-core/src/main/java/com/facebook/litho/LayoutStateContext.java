@@ -49,6 +49,8 @@ public class LayoutStateContext {
 
   private @Nullable PerfEvent mPerfEvent;
 
+  private final @Nullable LayoutStallDetector.ComponentStack mComponentStack;
+
   @Deprecated
   public static LayoutStateContext getTestInstance(ComponentContext c) {
     final LayoutState layoutState = new LayoutState(c);
@@ -84,6 +86,13 @@ public class LayoutStateContext {
     mComponentTree = componentTree;
     mCurrentDiffTree = currentDiffTree;
     mStateHandler = stateHandler;
+    mComponentStack = LayoutStallDetector.getCurrentStack();
+  }
+
+  /** @return the stack to push the components being worked on, if stall detection is enabled. */
+  @Nullable
+  LayoutStallDetector.ComponentStack getComponentStack() {
+    return mComponentStack;
   }
 
   @Nullable
@@ -126,6 +135,11 @@ public class LayoutStateContext {
     return mLayoutStateRef;
   }
 
+  /** @return the name of the root component of the layout being calculated, if known. */
+  public @Nullable String getRootComponentName() {
+    return mLayoutStateRef != null ? mLayoutStateRef.getRootName() : null;
+  }
+
   @Nullable
   @VisibleForTesting
   public ComponentTree getComponentTree() {
@@ -520,11 +520,19 @@ public class LithoLayoutResult implements ComponentLayout, LayoutResult {
       if (isTracing) {
         ComponentsSystrace.beginSection("onMeasure:" + component.getSimpleName());
       }
+      final @Nullable LayoutStallDetector.ComponentStack componentStack =
+          mLayoutContext.getComponentStack();
+      if (componentStack != null) {
+        componentStack.push(component);
+      }
       try {
         final @Nullable Mountable<?> mountable = node.getMountable();
+        final @Nullable PersistentMeasureCache persistentMeasureCache =
+            PersistentMeasureCache.getInstance();
         if (mountable != null) {
           mLayoutData = mountable.measure(mNode.getAndroidContext(), widthSpec, heightSpec, size);
-        } else {
+        } else if (persistentMeasureCache == null
+            || !persistentMeasureCache.get(component, widthSpec, heightSpec, size)) {
           component.onMeasure(
               componentScopedContext,
               this,
@@ -532,6 +540,9 @@ public class LithoLayoutResult implements ComponentLayout, LayoutResult {
               heightSpec,
               size,
               (InterStagePropsContainer) getLayoutData());
+          if (persistentMeasureCache != null) {
+            persistentMeasureCache.put(component, widthSpec, heightSpec, size);
+          }
         }
 
       } catch (Exception e) {
@@ -539,6 +550,9 @@ public class LithoLayoutResult implements ComponentLayout, LayoutResult {
         size.width = 0;
         size.height = 0;
       } finally {
+        if (componentStack != null) {
+          componentStack.pop();
+        }
         if (isTracing) {
           ComponentsSystrace.endSection();
         }
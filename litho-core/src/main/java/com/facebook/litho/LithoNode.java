@@ -838,6 +838,11 @@ public class LithoNode implements Node<LithoRenderContext> {
     mLayoutDirection = direction;
   }
 
+  @Nullable
+  Set<DebugComponent> getDebugComponents() {
+    return mDebugComponents;
+  }
+
   public void registerDebugComponent(DebugComponent debugComponent) {
     if (mDebugComponents == null) {
       mDebugComponents = new HashSet<>();
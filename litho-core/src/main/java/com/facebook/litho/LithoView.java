@@ -1554,7 +1554,14 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
     final boolean needsMount = isMountStateDirty() || mountStateNeedsRemount();
     if (currentVisibleArea != null && !needsMount) {
       mMountDelegateTarget.getMountDelegate().notifyVisibleBoundsChanged(currentVisibleArea);
-    } else if (mDelegateToRenderCore) {
+      return;
+    }
+
+    final boolean recordLatency = LithoStats.isLatencyHistogramsEnabled();
+    final long startTimeNs = recordLatency ? System.nanoTime() : 0;
+    final long startAllocations = recordLatency ? LithoStats.getThreadAllocationCount() : 0;
+
+    if (mDelegateToRenderCore) {
       // Generate the renderTree here so that any operations
       // that occur in toRenderTree() happen prior to "beforeMount".
       final RenderTree renderTree = layoutState.toRenderTree();
@@ -1565,6 +1572,15 @@ public class LithoView extends ComponentHost implements RootHost, AnimatedRootHo
     } else {
       ((MountState) mMountDelegateTarget).mount(layoutState);
     }
+
+    if (recordLatency) {
+      LithoStats.recordLatency(
+          LithoStats.LATENCY_MOUNT,
+          mComponentTree != null ? mComponentTree.getLogTag() : null,
+          layoutState.getRootName(),
+          System.nanoTime() - startTimeNs,
+          LithoStats.getThreadAllocationCount() - startAllocations);
+    }
   }
 
   /**
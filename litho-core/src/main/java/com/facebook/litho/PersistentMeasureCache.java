@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+import android.util.DisplayMetrics;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An opt-in cache of measured sizes which survives process death, meant to speed up the first
+ * layouts after a cold start.
+ *
+ * <p>Only components implementing {@link Cacheable}, or with a {@link KeyProvider} registered for
+ * their type, are cached, keyed by their type, the stable key they provide and the size specs they
+ * are measured with. Entries are persisted with {@link #persist()} in an app-private file, which
+ * is memory-mapped and loaded by {@link #install(Context)}. The whole file is discarded when the
+ * app is updated or when the density, font scale or locale changed since it was written.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class PersistentMeasureCache {
+
+  /**
+   * Implemented by components whose measured size only depends on their props, the size specs and
+   * the device configuration, and which don't rely on {@code @OnMeasure} outputs being set since
+   * {@code @OnMeasure} is skipped when the size is found in the cache.
+   */
+  public interface Cacheable {
+
+    /**
+     * @return a key which is identical across processes for props which measure identically, or
+     *     null to not cache this instance.
+     */
+    @Nullable
+    String getPersistentMeasureKey();
+  }
+
+  /**
+   * Provides the key of components which can't implement {@link Cacheable} themselves, such as
+   * generated ones. The same requirements as for {@link Cacheable} apply.
+   */
+  public interface KeyProvider<T extends Component> {
+
+    /** @see Cacheable#getPersistentMeasureKey() */
+    @Nullable
+    String getPersistentMeasureKey(T component);
+  }
+
+  private static final String FILE_NAME = "litho_measure_cache";
+  private static final int MAGIC = 0x4c4d4331; // LMC1
+  private static final int MAX_ENTRIES = 4096;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static volatile @Nullable PersistentMeasureCache sInstance;
+  private static final Map<Class<?>, KeyProvider<?>> sKeyProviders = new ConcurrentHashMap<>();
+
+  private final File mFile;
+  private final String mFingerprint;
+  private final ConcurrentHashMap<String, Long> mEntries = new ConcurrentHashMap<>();
+  // Incremented on every put, so that entries added while persisting aren't marked as persisted.
+  private final AtomicInteger mModificationCount = new AtomicInteger();
+  private volatile int mPersistedModificationCount;
+
+  @VisibleForTesting
+  PersistentMeasureCache(File file, String fingerprint) {
+    mFile = file;
+    mFingerprint = fingerprint;
+  }
+
+  /**
+   * Loads the cache persisted by a previous process and makes it available to layout calculations.
+   * Does disk I/O, so it should be called off the main thread, as early as possible.
+   */
+  public static PersistentMeasureCache install(Context context) {
+    final PersistentMeasureCache cache =
+        new PersistentMeasureCache(
+            new File(context.getFilesDir(), FILE_NAME), createFingerprint(context));
+    cache.load();
+    sInstance = cache;
+    return cache;
+  }
+
+  /** Stops using the installed cache, if any. The persisted file is left untouched. */
+  public static void uninstall() {
+    sInstance = null;
+  }
+
+  /** Makes the components of exactly {@code type} cacheable with the keys of {@code provider}. */
+  public static <T extends Component> void registerKeyProvider(
+      Class<T> type, KeyProvider<T> provider) {
+    sKeyProviders.put(type, provider);
+  }
+
+  static @Nullable PersistentMeasureCache getInstance() {
+    return sInstance;
+  }
+
+  /**
+   * Writes all the entries of this cache to disk. Does disk I/O, so it should be called off the
+   * main thread, typically once the first screen has been laid out.
+   */
+  public void persist() throws IOException {
+    final int modificationCount = mModificationCount.get();
+    if (modificationCount == mPersistedModificationCount) {
+      return;
+    }
+
+    final File tmpFile = new File(mFile.getPath() + ".tmp");
+    final DataOutputStream out = new DataOutputStream(new FileOutputStream(tmpFile));
+    try {
+      out.writeInt(MAGIC);
+      writeString(out, mFingerprint);
+      out.writeInt(mEntries.size());
+      for (Map.Entry<String, Long> entry : mEntries.entrySet()) {
+        writeString(out, entry.getKey());
+        out.writeLong(entry.getValue());
+      }
+    } finally {
+      out.close();
+    }
+
+    if (!tmpFile.renameTo(mFile)) {
+      tmpFile.delete();
+      throw new IOException("Could not replace " + mFile);
+    }
+    mPersistedModificationCount = modificationCount;
+  }
+
+  /** @return the number of measured sizes in this cache. */
+  public int size() {
+    return mEntries.size();
+  }
+
+  /**
+   * Fills {@code size} with the cached measured size of {@code component} for the given specs.
+   *
+   * @return true if a cached size was found.
+   */
+  boolean get(Component component, int widthSpec, int heightSpec, Size size) {
+    final String key = createKey(component, widthSpec, heightSpec);
+    final Long packedSize = key != null ? mEntries.get(key) : null;
+    if (packedSize == null) {
+      return false;
+    }
+
+    size.width = (int) (packedSize >> 32);
+    size.height = (int) (long) packedSize;
+    return true;
+  }
+
+  /** Records the measured size of {@code component} for the given specs. */
+  void put(Component component, int widthSpec, int heightSpec, Size size) {
+    if (mEntries.size() >= MAX_ENTRIES) {
+      return;
+    }
+
+    final String key = createKey(component, widthSpec, heightSpec);
+    if (key != null) {
+      mEntries.put(key, ((long) size.width << 32) | (size.height & 0xFFFFFFFFL));
+      mModificationCount.incrementAndGet();
+    }
+  }
+
+  @VisibleForTesting
+  void load() {
+    if (!mFile.exists()) {
+      return;
+    }
+
+    boolean isValid = false;
+    try {
+      final RandomAccessFile file = new RandomAccessFile(mFile, "r");
+      try {
+        final FileChannel channel = file.getChannel();
+        final MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.getInt() == MAGIC && mFingerprint.equals(readString(buffer))) {
+          for (int i = 0, count = buffer.getInt(); i < count; i++) {
+            final String key = readString(buffer);
+            mEntries.put(key, buffer.getLong());
+          }
+          isValid = true;
+        }
+      } finally {
+        file.close();
+      }
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      mEntries.clear();
+    }
+
+    if (!isValid) {
+      // Written by another version of the app or for another configuration.
+      mFile.delete();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable String createKey(Component component, int widthSpec, int heightSpec) {
+    final @Nullable String stableKey;
+    if (component instanceof Cacheable) {
+      stableKey = ((Cacheable) component).getPersistentMeasureKey();
+    } else {
+      final KeyProvider<Component> provider =
+          (KeyProvider<Component>) sKeyProviders.get(component.getClass());
+      stableKey = provider != null ? provider.getPersistentMeasureKey(component) : null;
+    }
+    if (stableKey == null) {
+      return null;
+    }
+
+    return component.getClass().getName() + '|' + widthSpec + '|' + heightSpec + '|' + stableKey;
+  }
+
+  private static String createFingerprint(Context context) {
+    long appVersion = 0;
+    try {
+      final PackageInfo info =
+          context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+      appVersion = info.lastUpdateTime;
+    } catch (PackageManager.NameNotFoundException e) {
+      // Fall back to the configuration only.
+    }
+
+    final Configuration configuration = context.getResources().getConfiguration();
+    final DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+    return "v="
+        + appVersion
+        + ";d="
+        + displayMetrics.densityDpi
+        + ";fs="
+        + configuration.fontScale
+        + ";l="
+        + configuration.locale;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(MappedByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Corrupted measure cache");
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
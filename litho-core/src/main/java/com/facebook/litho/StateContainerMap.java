@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map of {@link StateContainer}s which can be forked in constant time, used so that every layout
+ * calculation doesn't need to copy all the state of its {@link ComponentTree}.
+ *
+ * <p>Entries live in a base map which is never mutated once created, plus the entries put or
+ * removed since then. {@link #fork()} shares the base with the new map, after folding the changes
+ * into a new base if there are any, so forking a map which hasn't changed since it was last forked
+ * or created is free. Not thread safe: accesses are guarded by the owning {@link StateHandler}.
+ */
+class StateContainerMap extends AbstractMap<String, StateContainer> {
+
+  private Map<String, StateContainer> mBase;
+  private @Nullable HashMap<String, StateContainer> mChanges;
+  private @Nullable HashSet<String> mRemovedKeys;
+  private int mSize;
+
+  StateContainerMap() {
+    this(Collections.<String, StateContainer>emptyMap());
+  }
+
+  /** @param base a map which must not be mutated anymore. */
+  StateContainerMap(Map<String, StateContainer> base) {
+    mBase = base;
+    mSize = base.size();
+  }
+
+  /** @return a map with the same entries as this one, which can be mutated independently. */
+  StateContainerMap fork() {
+    flatten();
+    return new StateContainerMap(mBase);
+  }
+
+  /** @return a map with the entries of this one whose keys are in {@code keys}. */
+  StateContainerMap forkRetaining(Set<String> keys) {
+    final HashMap<String, StateContainer> retained = new HashMap<>(keys.size());
+    for (String key : keys) {
+      final StateContainer value = get(key);
+      if (value != null) {
+        retained.put(key, value);
+      }
+    }
+    return new StateContainerMap(retained);
+  }
+
+  @Override
+  public @Nullable StateContainer get(@Nullable Object key) {
+    if (mChanges != null && mChanges.containsKey(key)) {
+      return mChanges.get(key);
+    }
+    if (mRemovedKeys != null && mRemovedKeys.contains(key)) {
+      return null;
+    }
+    return mBase.get(key);
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    if (mChanges != null && mChanges.containsKey(key)) {
+      return true;
+    }
+    if (mRemovedKeys != null && mRemovedKeys.contains(key)) {
+      return false;
+    }
+    return mBase.containsKey(key);
+  }
+
+  @Override
+  public @Nullable StateContainer put(String key, StateContainer value) {
+    final boolean hadKey = containsKey(key);
+    final StateContainer previous = get(key);
+    if (mChanges == null) {
+      mChanges = new HashMap<>();
+    }
+    mChanges.put(key, value);
+    if (mRemovedKeys != null) {
+      mRemovedKeys.remove(key);
+    }
+    if (!hadKey) {
+      mSize++;
+    }
+    return previous;
+  }
+
+  @Override
+  public @Nullable StateContainer remove(@Nullable Object key) {
+    if (!containsKey(key)) {
+      return null;
+    }
+    final StateContainer previous = get(key);
+    if (mChanges != null) {
+      mChanges.remove(key);
+    }
+    if (mBase.containsKey(key)) {
+      if (mRemovedKeys == null) {
+        mRemovedKeys = new HashSet<>();
+      }
+      mRemovedKeys.add((String) key);
+    }
+    mSize--;
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    mBase = Collections.emptyMap();
+    mChanges = null;
+    mRemovedKeys = null;
+    mSize = 0;
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public Set<Entry<String, StateContainer>> entrySet() {
+    flatten();
+    return Collections.unmodifiableMap(mBase).entrySet();
+  }
+
+  @Override
+  public Set<String> keySet() {
+    flatten();
+    return Collections.unmodifiableMap(mBase).keySet();
+  }
+
+  @Override
+  public Collection<StateContainer> values() {
+    flatten();
+    return Collections.unmodifiableMap(mBase).values();
+  }
+
+  /** Folds the changes into a new base, which then becomes immutable as well. */
+  private void flatten() {
+    if (mChanges == null && mRemovedKeys == null) {
+      return;
+    }
+
+    final HashMap<String, StateContainer> flattened = new HashMap<>(mBase);
+    if (mRemovedKeys != null) {
+      flattened.keySet().removeAll(mRemovedKeys);
+    }
+    if (mChanges != null) {
+      flattened.putAll(mChanges);
+    }
+    mBase = flattened;
+    mChanges = null;
+    mRemovedKeys = null;
+  }
+}
@@ -57,6 +57,8 @@ public class StateHandler {
 
   /**
    * Maps a component key to a component object that retains the current state values for that key.
+   * Always a {@link StateContainerMap}, so that it can be forked cheaply for new layout passes, see
+   * {@link #getStateContainerMap()}.
    */
   @GuardedBy("this")
   public Map<String, StateContainer> mStateContainers;
@@ -92,7 +94,7 @@ public class StateHandler {
           stateHandler.getPendingStateUpdates(),
           stateHandler.getPendingLazyStateUpdates(),
           stateHandler.getAppliedStateUpdates());
-      copyCurrentStateContainers(stateHandler.getStateContainers());
+      mStateContainers = stateHandler.forkStateContainers();
       copyPendingStateTransitions(stateHandler.getPendingStateUpdateTransitions());
       runHooks(stateHandler);
     }
@@ -295,8 +297,7 @@ public class StateHandler {
    */
   void commit(StateHandler stateHandler) {
     clearStateUpdates(stateHandler.getAppliedStateUpdates());
-    clearUnusedStateContainers(stateHandler);
-    copyCurrentStateContainers(stateHandler.getStateContainers());
+    commitStateContainers(stateHandler);
     copyPendingStateTransitions(stateHandler.getPendingStateUpdateTransitions());
     commitHookState(stateHandler);
   }
@@ -473,34 +474,33 @@ public class StateHandler {
   }
 
   /**
-   * Copies the list of given state containers into the map that holds the current state containers
-   * of components.
+   * @return a copy of the current state containers, which only shares entries with this
+   *     StateHandler until either side changes them.
    */
-  private void copyCurrentStateContainers(@Nullable Map<String, StateContainer> stateContainers) {
-    if (stateContainers == null) {
-      return;
-    }
-
-    synchronized (this) {
-      maybeInitStateContainers();
-      mStateContainers.clear();
-      mStateContainers.putAll(stateContainers);
-    }
+  private synchronized StateContainerMap forkStateContainers() {
+    maybeInitStateContainers();
+    return getStateContainerMap().fork();
   }
 
-  private static void clearUnusedStateContainers(StateHandler currentStateHandler) {
-    final HashSet<String> neededStateContainers = currentStateHandler.mNeededStateContainers;
-    final List<String> stateContainerKeys = new ArrayList<>();
-    if (neededStateContainers == null || currentStateHandler.mStateContainers == null) {
-      return;
+  /**
+   * Replaces the current state containers with the ones of the given StateHandler which were
+   * needed by its layout pass. Both StateHandlers then share the result until either changes it.
+   */
+  private void commitStateContainers(StateHandler stateHandler) {
+    final StateContainerMap committedStateContainers;
+    synchronized (stateHandler) {
+      stateHandler.maybeInitStateContainers();
+      final StateContainerMap stateContainers = stateHandler.getStateContainerMap();
+      final HashSet<String> neededStateContainers = stateHandler.mNeededStateContainers;
+      committedStateContainers =
+          neededStateContainers == null
+              ? stateContainers.fork()
+              : stateContainers.forkRetaining(neededStateContainers);
+      stateHandler.mStateContainers = committedStateContainers.fork();
     }
 
-    stateContainerKeys.addAll(currentStateHandler.mStateContainers.keySet());
-
-    for (String key : stateContainerKeys) {
-      if (!neededStateContainers.contains(key)) {
-        currentStateHandler.mStateContainers.remove(key);
-      }
+    synchronized (this) {
+      mStateContainers = committedStateContainers;
     }
   }
 
@@ -516,9 +516,18 @@ public class StateHandler {
     }
   }
 
+  /**
+   * @return {@link #mStateContainers}, which is only ever assigned a {@link StateContainerMap}. It
+   *     is declared as a Map to keep the public field's type public.
+   */
+  @GuardedBy("this")
+  private StateContainerMap getStateContainerMap() {
+    return (StateContainerMap) mStateContainers;
+  }
+
   private synchronized void maybeInitStateContainers() {
     if (mStateContainers == null) {
-      mStateContainers = new HashMap<>(INITIAL_MAP_CAPACITY);
+      mStateContainers = new StateContainerMap();
     }
   }
 
@@ -166,6 +166,12 @@ class TouchExpansionDelegate extends TouchDelegate {
     }
 
     boolean onTouchEvent(MotionEvent event) {
+      // Only a delegate which got the down event handles the rest of the gesture, so skip
+      // computing the bounds of all the others.
+      if (!mIsHandlingTouch && event.getAction() != MotionEvent.ACTION_DOWN) {
+        return false;
+      }
+
       final int x = (int) event.getX();
       final int y = (int) event.getY();
       final Rect delegateBounds = getDelegateBounds();
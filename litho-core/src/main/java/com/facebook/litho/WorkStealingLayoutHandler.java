@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import com.facebook.rendercore.ErrorReporter;
+import com.facebook.rendercore.LogLevel;
+import com.facebook.rendercore.RunnableHandler;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link RunnableHandler} meant to be shared by all the {@link ComponentTree}s of a feed, e.g.
+ * through {@code RecyclerBinder.Builder#workStealingLayoutHandler}.
+ *
+ * <p>Each layout thread owns a queue which layouts are distributed to in a round robin fashion.
+ * Threads take work from the front of their own queue, so range layouts keep running roughly in the
+ * order they were scheduled, and steal from the back of other queues when theirs is empty, so a
+ * thread stuck on an expensive layout doesn't hold up the layouts queued behind it.
+ *
+ * <p>A layout throwing is reported and doesn't stop the thread which ran it. Instances other than
+ * {@link #getDefaultInstance()} should be {@link #shutdown()} when they aren't needed anymore, to
+ * stop their threads.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class WorkStealingLayoutHandler implements RunnableHandler {
+
+  private static final String LAYOUT_EXCEPTION_CATEGORY =
+      "WorkStealingLayoutHandler:LayoutException";
+
+  private static class DefaultInstanceHolder {
+    static final WorkStealingLayoutHandler INSTANCE =
+        new WorkStealingLayoutHandler(
+            ThreadPoolLayoutHandler.DEFAULT_LAYOUT_THREAD_POOL_CONFIGURATION);
+  }
+
+  private final ArrayDeque<Runnable>[] mQueues;
+  private final int mThreadPriority;
+  private final Semaphore mPendingTasks = new Semaphore(0);
+  private final AtomicInteger mNextQueue = new AtomicInteger();
+  private final AtomicLong mStealCount = new AtomicLong();
+  private final AtomicLong mExecutedCount = new AtomicLong();
+
+  private volatile boolean mThreadsStarted;
+  private volatile boolean mIsShutdown;
+
+  /**
+   * @return a process wide instance using {@link
+   *     ThreadPoolLayoutHandler#DEFAULT_LAYOUT_THREAD_POOL_CONFIGURATION}. Prefer it to creating
+   *     new instances to avoid creating too many layout threads.
+   */
+  public static WorkStealingLayoutHandler getDefaultInstance() {
+    return DefaultInstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Creates a new handler with {@link LayoutThreadPoolConfiguration#getMaxPoolSize()} layout
+   * threads. The threads are started lazily when the first layout is posted.
+   */
+  public WorkStealingLayoutHandler(LayoutThreadPoolConfiguration configuration) {
+    this(configuration, true);
+  }
+
+  /** @param startThreads if false, queued layouts only run through {@link #runWorkerLoop(int)}. */
+  @VisibleForTesting
+  @SuppressWarnings("unchecked")
+  WorkStealingLayoutHandler(LayoutThreadPoolConfiguration configuration, boolean startThreads) {
+    final int threadCount = Math.max(1, configuration.getMaxPoolSize());
+    mQueues = (ArrayDeque<Runnable>[]) new ArrayDeque[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      mQueues[i] = new ArrayDeque<>();
+    }
+    mThreadPriority = configuration.getThreadPriority();
+    mThreadsStarted = !startThreads;
+  }
+
+  /** @return the number of layout threads of this handler. */
+  public int getThreadCount() {
+    return mQueues.length;
+  }
+
+  /** @return the number of layouts which are queued and haven't started yet. */
+  public int getQueueDepth() {
+    int depth = 0;
+    for (ArrayDeque<Runnable> queue : mQueues) {
+      synchronized (queue) {
+        depth += queue.size();
+      }
+    }
+    return depth;
+  }
+
+  /** @return the number of layouts a layout thread took from another thread's queue. */
+  public long getStealCount() {
+    return mStealCount.get();
+  }
+
+  /** @return the number of layouts run by this handler, including the ones which threw. */
+  public long getExecutedCount() {
+    return mExecutedCount.get();
+  }
+
+  @Override
+  public boolean isTracing() {
+    return false;
+  }
+
+  @Override
+  public void post(Runnable runnable, String tag) {
+    checkNotShutdown();
+    ensureThreadsStarted();
+    final ArrayDeque<Runnable> queue = nextQueue();
+    synchronized (queue) {
+      queue.addLast(runnable);
+    }
+    mPendingTasks.release();
+  }
+
+  @Override
+  public void postAtFront(Runnable runnable, String tag) {
+    checkNotShutdown();
+    ensureThreadsStarted();
+    final ArrayDeque<Runnable> queue = nextQueue();
+    synchronized (queue) {
+      queue.addFirst(runnable);
+    }
+    mPendingTasks.release();
+  }
+
+  @Override
+  public void remove(Runnable runnable) {
+    for (ArrayDeque<Runnable> queue : mQueues) {
+      int removed = 0;
+      synchronized (queue) {
+        final Iterator<Runnable> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+          if (iterator.next() == runnable) {
+            iterator.remove();
+            removed++;
+          }
+        }
+      }
+      for (int i = 0; i < removed; i++) {
+        // A worker may already have claimed the permit of a removed task, in which case it just
+        // won't find anything to run and will wait for the next one.
+        mPendingTasks.tryAcquire();
+      }
+    }
+  }
+
+  /**
+   * Stops the layout threads once they ran the layouts which are already queued. Posting layouts
+   * afterwards throws an {@link IllegalStateException}. The default instance can't be shut down.
+   */
+  public void shutdown() {
+    if (this == getDefaultInstance()) {
+      throw new IllegalStateException("The default WorkStealingLayoutHandler can't be shut down");
+    }
+    synchronized (this) {
+      if (mIsShutdown) {
+        return;
+      }
+      mIsShutdown = true;
+    }
+    // Wakes up every thread, so that the ones finding no layout to run stop.
+    mPendingTasks.release(mQueues.length);
+  }
+
+  /** @return true if {@link #shutdown()} was called. */
+  public boolean isShutdown() {
+    return mIsShutdown;
+  }
+
+  /**
+   * Runs the layouts of the queue at {@code index}, and the ones stolen from other queues, until
+   * this handler is shut down and there is no layout left to run.
+   */
+  @VisibleForTesting
+  void runWorkerLoop(int index) {
+    while (true) {
+      mPendingTasks.acquireUninterruptibly();
+      final @Nullable Runnable task = pollAny(index);
+      if (task != null) {
+        execute(task);
+      } else if (mIsShutdown) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Takes the first task of the queue at {@code ownIndex}, or steals the last task of another queue
+   * if it is empty.
+   */
+  private @Nullable Runnable pollAny(int ownIndex) {
+    final ArrayDeque<Runnable> ownQueue = mQueues[ownIndex];
+    synchronized (ownQueue) {
+      final @Nullable Runnable task = ownQueue.pollFirst();
+      if (task != null) {
+        return task;
+      }
+    }
+
+    for (int i = 1; i < mQueues.length; i++) {
+      final ArrayDeque<Runnable> queue = mQueues[(ownIndex + i) % mQueues.length];
+      final @Nullable Runnable task;
+      synchronized (queue) {
+        task = queue.pollLast();
+      }
+      if (task != null) {
+        mStealCount.incrementAndGet();
+        return task;
+      }
+    }
+
+    return null;
+  }
+
+  private void execute(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      // Keep the thread alive for the other layouts.
+      ErrorReporter.report(
+          LogLevel.ERROR, LAYOUT_EXCEPTION_CATEGORY, "Layout threw on a layout thread", e);
+    } finally {
+      mExecutedCount.incrementAndGet();
+    }
+  }
+
+  private void checkNotShutdown() {
+    if (mIsShutdown) {
+      throw new IllegalStateException("Posting a layout to a WorkStealingLayoutHandler shut down");
+    }
+  }
+
+  private ArrayDeque<Runnable> nextQueue() {
+    final int index = (mNextQueue.getAndIncrement() & Integer.MAX_VALUE) % mQueues.length;
+    return mQueues[index];
+  }
+
+  private void ensureThreadsStarted() {
+    if (mThreadsStarted) {
+      return;
+    }
+    synchronized (this) {
+      if (mThreadsStarted) {
+        return;
+      }
+      startThreads();
+      mThreadsStarted = true;
+    }
+  }
+
+  private void startThreads() {
+    final LayoutThreadFactory threadFactory = new LayoutThreadFactory(mThreadPriority);
+    for (int i = 0; i < mQueues.length; i++) {
+      final int index = i;
+      final Thread thread =
+          threadFactory.newThread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  runWorkerLoop(index);
+                }
+              });
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+}
@@ -17,7 +17,6 @@
 package com.facebook.litho;
 
 import androidx.annotation.VisibleForTesting;
-import androidx.core.util.Preconditions;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -31,6 +30,10 @@ import javax.annotation.Nullable;
  */
 class WorkingRangeContainer {
 
+  private static final int UNKNOWN = -1;
+  private static final int FALSE = 0;
+  private static final int TRUE = 1;
+
   /**
    * Use {@link java.util.HashMap} to store the working range of each component. The key is composed
    * with name and working range hashcode. The value is a {@link RangeTuple} object that contains a
@@ -38,6 +41,9 @@ class WorkingRangeContainer {
    */
   @Nullable private Map<String, RangeTuple> mWorkingRanges;
 
+  /** The values of {@link #mWorkingRanges}, snapshotted on the first dispatch. */
+  @Nullable private RangeTuple[] mRangeTuples;
+
   void registerWorkingRange(
       final String name,
       final WorkingRange workingRange,
@@ -53,11 +59,16 @@ class WorkingRangeContainer {
     } else {
       rangeTuple.addComponent(scopedComponentInfo);
     }
+    mRangeTuples = null;
   }
 
   /**
-   * Iterate the map to check if a component is entered or exited the range, and dispatch event to
-   * the component to trigger its delegate method.
+   * Iterate the working ranges to check if a component is entered or exited the range, and dispatch
+   * event to the component to trigger its delegate method. Each range is evaluated at most once
+   * for all the components registered with it.
+   *
+   * <p>The statuses are all read and updated under a single lock of {@code statusHandler}, and the
+   * events are dispatched once it is released.
    */
   void checkWorkingRangeAndDispatch(
       int position,
@@ -66,47 +77,106 @@ class WorkingRangeContainer {
       int firstFullyVisibleIndex,
       int lastFullyVisibleIndex,
       WorkingRangeStatusHandler statusHandler) {
-    if (mWorkingRanges == null) {
+    final RangeTuple[] rangeTuples = getRangeTuples();
+    if (rangeTuples == null) {
+      return;
+    }
+
+    // The new status of the components which entered or exited a range, per range. Only allocated
+    // for the ranges with such components, so that checks which change nothing don't allocate.
+    @Nullable byte[][] newStatuses = null;
+
+    synchronized (statusHandler) {
+      final int generation = statusHandler.getGeneration();
+      for (int r = 0; r < rangeTuples.length; r++) {
+        final RangeTuple rangeTuple = rangeTuples[r];
+        final int[] statusIds = rangeTuple.getStatusIds(statusHandler, generation);
+        int isEntering = UNKNOWN;
+        int isExiting = UNKNOWN;
+
+        for (int i = 0; i < statusIds.length; i++) {
+          final int statusId = statusIds[i];
+          final int newStatus;
+          if (!statusHandler.isInRangeLocked(generation, statusId)) {
+            if (isEntering == UNKNOWN) {
+              isEntering =
+                  isEnteringRange(
+                          rangeTuple.mWorkingRange,
+                          position,
+                          firstVisibleIndex,
+                          lastVisibleIndex,
+                          firstFullyVisibleIndex,
+                          lastFullyVisibleIndex)
+                      ? TRUE
+                      : FALSE;
+            }
+            newStatus =
+                isEntering == TRUE
+                    ? WorkingRangeStatusHandler.STATUS_IN_RANGE
+                    : WorkingRangeStatusHandler.STATUS_UNINITIALIZED;
+          } else {
+            if (isExiting == UNKNOWN) {
+              isExiting =
+                  isExitingRange(
+                          rangeTuple.mWorkingRange,
+                          position,
+                          firstVisibleIndex,
+                          lastVisibleIndex,
+                          firstFullyVisibleIndex,
+                          lastFullyVisibleIndex)
+                      ? TRUE
+                      : FALSE;
+            }
+            newStatus =
+                isExiting == TRUE
+                    ? WorkingRangeStatusHandler.STATUS_OUT_OF_RANGE
+                    : WorkingRangeStatusHandler.STATUS_UNINITIALIZED;
+          }
+
+          if (newStatus != WorkingRangeStatusHandler.STATUS_UNINITIALIZED) {
+            statusHandler.setStatusLocked(generation, statusId, newStatus);
+            if (newStatuses == null) {
+              newStatuses = new byte[rangeTuples.length][];
+            }
+            if (newStatuses[r] == null) {
+              newStatuses[r] = new byte[statusIds.length];
+            }
+            newStatuses[r][i] = (byte) newStatus;
+          }
+        }
+      }
+    }
+
+    if (newStatuses == null) {
       return;
     }
 
-    for (String key : mWorkingRanges.keySet()) {
-      final RangeTuple rangeTuple = Preconditions.checkNotNull(mWorkingRanges.get(key));
+    for (int r = 0; r < rangeTuples.length; r++) {
+      final byte[] rangeNewStatuses = newStatuses[r];
+      if (rangeNewStatuses == null) {
+        continue;
+      }
+
+      final RangeTuple rangeTuple = rangeTuples[r];
+      for (int i = 0; i < rangeNewStatuses.length; i++) {
+        if (rangeNewStatuses[i] == WorkingRangeStatusHandler.STATUS_UNINITIALIZED) {
+          continue;
+        }
 
-      for (int i = 0, size = rangeTuple.mScopedComponentInfos.size(); i < size; i++) {
         final ScopedComponentInfo scopedComponentInfo = rangeTuple.mScopedComponentInfos.get(i);
         final ComponentContext scopedContext = scopedComponentInfo.getContext();
-        Component component = scopedComponentInfo.getComponent();
-        String globalKey = scopedContext.getGlobalKey();
-        if (!statusHandler.isInRange(rangeTuple.mName, component, globalKey)
-            && isEnteringRange(
-                rangeTuple.mWorkingRange,
-                position,
-                firstVisibleIndex,
-                lastVisibleIndex,
-                firstFullyVisibleIndex,
-                lastFullyVisibleIndex)) {
-          try {
-            component.dispatchOnEnteredRange(scopedContext, rangeTuple.mName);
-          } catch (Exception e) {
-            ComponentUtils.handle(scopedContext, e);
+        try {
+          if (rangeNewStatuses[i] == WorkingRangeStatusHandler.STATUS_IN_RANGE) {
+            scopedComponentInfo
+                .getComponent()
+                .dispatchOnEnteredRange(scopedContext, rangeTuple.mName);
+          } else {
+            scopedComponentInfo
+                .getComponent()
+                .dispatchOnExitedRange(scopedContext, rangeTuple.mName);
           }
-          statusHandler.setEnteredRangeStatus(rangeTuple.mName, component, globalKey);
-
-        } else if (statusHandler.isInRange(rangeTuple.mName, component, globalKey)
-            && isExitingRange(
-                rangeTuple.mWorkingRange,
-                position,
-                firstVisibleIndex,
-                lastVisibleIndex,
-                firstFullyVisibleIndex,
-                lastFullyVisibleIndex)) {
-          try {
-            component.dispatchOnExitedRange(scopedContext, rangeTuple.mName);
-          } catch (Exception e) {
-            ComponentUtils.handle(scopedContext, e);
-          }
-          statusHandler.setExitedRangeStatus(rangeTuple.mName, component, globalKey);
+        } catch (Exception e) {
+          ComponentUtils.handle(scopedContext, e);
         }
       }
     }
@@ -117,21 +187,33 @@ class WorkingRangeContainer {
    * called when releasing a ComponentTree, thus no status update needed.
    */
   void dispatchOnExitedRangeIfNeeded(WorkingRangeStatusHandler statusHandler) {
-    if (mWorkingRanges == null) {
+    final RangeTuple[] rangeTuples = getRangeTuples();
+    if (rangeTuples == null) {
       return;
     }
 
-    for (String key : mWorkingRanges.keySet()) {
-      final RangeTuple rangeTuple = Preconditions.checkNotNull(mWorkingRanges.get(key));
+    final boolean[][] inRange = new boolean[rangeTuples.length][];
+    synchronized (statusHandler) {
+      final int generation = statusHandler.getGeneration();
+      for (int r = 0; r < rangeTuples.length; r++) {
+        final int[] statusIds = rangeTuples[r].getStatusIds(statusHandler, generation);
+        inRange[r] = new boolean[statusIds.length];
+        for (int i = 0; i < statusIds.length; i++) {
+          inRange[r][i] = statusHandler.isInRangeLocked(generation, statusIds[i]);
+        }
+      }
+    }
 
-      for (int i = 0, size = rangeTuple.mScopedComponentInfos.size(); i < size; i++) {
-        final ScopedComponentInfo scopedComponentInfo = rangeTuple.mScopedComponentInfos.get(i);
-        final ComponentContext scopedContext = scopedComponentInfo.getContext();
-        Component component = scopedComponentInfo.getComponent();
-        String globalKey = scopedContext.getGlobalKey();
-        if (statusHandler.isInRange(rangeTuple.mName, component, globalKey)) {
+    for (int r = 0; r < rangeTuples.length; r++) {
+      final RangeTuple rangeTuple = rangeTuples[r];
+      for (int i = 0; i < inRange[r].length; i++) {
+        if (inRange[r][i]) {
+          final ScopedComponentInfo scopedComponentInfo = rangeTuple.mScopedComponentInfos.get(i);
+          final ComponentContext scopedContext = scopedComponentInfo.getContext();
           try {
-            component.dispatchOnExitedRange(scopedContext, rangeTuple.mName);
+            scopedComponentInfo
+                .getComponent()
+                .dispatchOnExitedRange(scopedContext, rangeTuple.mName);
           } catch (Exception e) {
             ComponentUtils.handle(scopedContext, e);
           }
@@ -140,6 +222,19 @@ class WorkingRangeContainer {
     }
   }
 
+  private @Nullable RangeTuple[] getRangeTuples() {
+    if (mWorkingRanges == null) {
+      return null;
+    }
+
+    RangeTuple[] rangeTuples = mRangeTuples;
+    if (rangeTuples == null) {
+      rangeTuples = mWorkingRanges.values().toArray(new RangeTuple[mWorkingRanges.size()]);
+      mRangeTuples = rangeTuples;
+    }
+    return rangeTuples;
+  }
+
   static boolean isEnteringRange(
       WorkingRange workingRange,
       int position,
@@ -187,6 +282,12 @@ class WorkingRangeContainer {
     final WorkingRange mWorkingRange;
     final List<ScopedComponentInfo> mScopedComponentInfos;
 
+    /** The ids of the components' statuses, valid for {@link #mStatusHandler} only. */
+    private @Nullable int[] mStatusIds;
+
+    private @Nullable WorkingRangeStatusHandler mStatusHandler;
+    private int mStatusGeneration;
+
     RangeTuple(
         final String name,
         final WorkingRange workingRange,
@@ -199,6 +300,29 @@ class WorkingRangeContainer {
 
     void addComponent(final ScopedComponentInfo scopedComponentInfo) {
       mScopedComponentInfos.add(scopedComponentInfo);
+      mStatusIds = null;
+    }
+
+    /**
+     * @return the ids of the components' statuses for the given {@code generation}. Ids resolved
+     *     after a concurrent clear belong to a later generation, and are then ignored by the
+     *     handler.
+     */
+    int[] getStatusIds(WorkingRangeStatusHandler statusHandler, int generation) {
+      int[] statusIds = mStatusIds;
+      if (statusIds == null
+          || mStatusHandler != statusHandler
+          || mStatusGeneration != generation) {
+        statusIds = new int[mScopedComponentInfos.size()];
+        for (int i = 0; i < statusIds.length; i++) {
+          statusIds[i] =
+              statusHandler.getId(mName, mScopedComponentInfos.get(i).getContext().getGlobalKey());
+        }
+        mStatusIds = statusIds;
+        mStatusHandler = statusHandler;
+        mStatusGeneration = generation;
+      }
+      return statusIds;
     }
   }
 
@@ -18,11 +18,19 @@ package com.facebook.litho;
 
 import androidx.annotation.IntDef;
 import androidx.annotation.VisibleForTesting;
-import androidx.collection.SimpleArrayMap;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
 
-/** A handler that stores the range status of components with given working range. */
+/**
+ * A handler that stores the range status of components with given working range. It's safe to use
+ * from several threads, and doesn't rely on the lock of the {@link ComponentTree} it belongs to.
+ *
+ * <p>Callers reading or updating the statuses of many components at once hold the handler's
+ * monitor for the whole batch and use {@link #isInRangeLocked} and {@link #setStatusLocked}, so
+ * that the lock is taken once per batch rather than once per component.
+ */
 public class WorkingRangeStatusHandler {
 
   @IntDef({STATUS_UNINITIALIZED, STATUS_IN_RANGE, STATUS_OUT_OF_RANGE})
@@ -32,30 +40,66 @@ public class WorkingRangeStatusHandler {
   static final int STATUS_IN_RANGE = 1;
   static final int STATUS_OUT_OF_RANGE = 2;
 
+  private static final int INITIAL_CAPACITY = 8;
+
   /**
-   * Use a {@link SimpleArrayMap} to store status of components with given working range. The key of
-   * the container is combined with the component's global key and the working range name.
+   * Maps the status keys to their index in {@link #mStatuses}. A key combines the component's
+   * global key and the working range name.
    *
    * <p>The global key guarantees the uniqueness of the component in a ComponentTree, and it's
    * consistent across different {@link LayoutState}s. The working range name is used to find the
-   * specific working range since a component can have several working ranges. The value is an
-   * integer presenting the status.
+   * specific working range since a component can have several working ranges. Callers resolve ids
+   * once with {@link #getId(String, String)} so reading and updating a status doesn't allocate.
    */
-  private final Map<String, Integer> mStatus = new HashMap<>();
+  private final Map<String, Integer> mIds = new HashMap<>();
 
-  boolean isInRange(String name, Component component, String globalKey) {
-    return getStatus(name, component, globalKey) == STATUS_IN_RANGE;
+  private byte[] mStatuses = new byte[INITIAL_CAPACITY];
+  private int mGeneration;
+
+  /** @return the id of the status of the component with the given key for the named range. */
+  synchronized int getId(String name, String globalKey) {
+    final String key = generateKey(name, globalKey);
+    Integer id = mIds.get(key);
+    if (id == null) {
+      id = mIds.size();
+      mIds.put(key, id);
+      if (id >= mStatuses.length) {
+        mStatuses = Arrays.copyOf(mStatuses, mStatuses.length * 2);
+      }
+    }
+    return id;
+  }
+
+  /**
+   * @return a value which changes whenever the ids given by {@link #getId} are invalidated. It must
+   *     be read before resolving the ids it is passed along with.
+   */
+  synchronized int getGeneration() {
+    return mGeneration;
   }
 
-  /** Components in the collection share same status, we can only check the first component. */
-  @WorkingRangeStatus
-  private int getStatus(String name, Component component, String componentGlobalKey) {
-    final String key = generateKey(name, componentGlobalKey);
-    if (mStatus.containsKey(key)) {
-      return mStatus.get(key);
+  /**
+   * @return whether the status with the given id is in range. An id of another generation than
+   *     the current one may belong to an unrelated component, so it is never in range.
+   */
+  @GuardedBy("this")
+  boolean isInRangeLocked(int generation, int id) {
+    return generation == mGeneration && mStatuses[id] == STATUS_IN_RANGE;
+  }
+
+  /**
+   * Updates the status with the given id. The update is dropped if the id was resolved in another
+   * generation than the current one, since it may belong to an unrelated component now.
+   */
+  @GuardedBy("this")
+  void setStatusLocked(int generation, int id, @WorkingRangeStatus int status) {
+    if (generation == mGeneration) {
+      mStatuses[id] = (byte) status;
     }
+  }
 
-    return STATUS_UNINITIALIZED;
+  synchronized boolean isInRange(String name, Component component, String globalKey) {
+    return isInRangeLocked(mGeneration, getId(name, globalKey));
   }
 
   void setEnteredRangeStatus(String name, Component component, String globalKey) {
@@ -66,19 +110,28 @@ public class WorkingRangeStatusHandler {
     setStatus(name, component, globalKey, STATUS_OUT_OF_RANGE);
   }
 
-  void clear() {
-    mStatus.clear();
+  synchronized void clear() {
+    mIds.clear();
+    mStatuses = new byte[INITIAL_CAPACITY];
+    mGeneration++;
   }
 
   @VisibleForTesting
-  Map<String, Integer> getStatus() {
-    return mStatus;
+  synchronized Map<String, Integer> getStatus() {
+    final Map<String, Integer> status = new HashMap<>();
+    for (Map.Entry<String, Integer> entry : mIds.entrySet()) {
+      final int value = mStatuses[entry.getValue()];
+      if (value != STATUS_UNINITIALIZED) {
+        status.put(entry.getKey(), value);
+      }
+    }
+    return status;
   }
 
   @VisibleForTesting
-  void setStatus(
+  synchronized void setStatus(
       String name, Component component, String componentGlobalKey, @WorkingRangeStatus int status) {
-    mStatus.put(generateKey(name, componentGlobalKey), status);
+    setStatusLocked(mGeneration, getId(name, componentGlobalKey), status);
   }
 
   private static String generateKey(String name, String globalKey) {
@@ -79,6 +79,13 @@ public class ComponentsConfiguration {
   /** Lightweight tracking of component class hierarchy of MountItems. */
   public static boolean isDebugHierarchyEnabled = false;
 
+  /**
+   * Records which components were added, removed or changed by every committed layout, so
+   * debugging tools can refresh only those. See {@link
+   * com.facebook.litho.DebugComponentChangeTracker}.
+   */
+  public static boolean isDebugChangeTrackingEnabled = false;
+
   /**
    * Populates additional metadata to find mounted components at runtime. Defaults to the presence
    * of an
@@ -264,6 +271,31 @@ public class ComponentsConfiguration {
 
   public static boolean isBuildAndLayoutSplitEnabled = false;
 
+  /**
+   * When enabled, the async state updates of a ComponentTree are coalesced and trigger a single
+   * layout on the next frame, together with the ones of all the other trees.
+   */
+  public static boolean batchAsyncStateUpdatesPerFrame = false;
+
+  /**
+   * How long, in ms, to wait after the next frame before flushing batched async state updates. Only
+   * used when {@link #batchAsyncStateUpdatesPerFrame} is enabled.
+   */
+  public static long asyncStateUpdateBatchWindowMs = 0;
+
+  /**
+   * When enabled, the time the UI thread spends blocked on layouts computed by other threads is
+   * attributed to the components being computed, see {@link
+   * com.facebook.litho.LayoutStallDetector}.
+   */
+  public static boolean enableLayoutStallDetection = false;
+
+  /**
+   * If positive, the layout thread is sampled at this interval while the UI thread waits on it, to
+   * attribute stalls more precisely. Only used when {@link #enableLayoutStallDetection} is enabled.
+   */
+  public static int layoutStallSamplingIntervalMs = 0;
+
   private static ComponentsConfiguration.Builder defaultBuilder = new Builder();
 
   private static ComponentsConfiguration defaultComponentsConfiguration = defaultBuilder.build();
@@ -28,24 +28,39 @@ import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import androidx.annotation.ColorInt;
 import androidx.annotation.Px;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LruCache;
 import com.facebook.litho.CommonUtils;
 import java.util.Arrays;
 import javax.annotation.Nullable;
 
-/** Drawable that draws border lines with given color, widths and path effect. */
-public class BorderColorDrawable extends Drawable implements ComparableDrawable {
+/**
+ * Drawable that draws border lines with given color, widths and path effect. Its paint and rounded
+ * path are set up by {@link #prepare(int, int)} on the layout thread when it is used as a border.
+ */
+public class BorderColorDrawable extends Drawable
+    implements ComparableDrawable, PreparableDrawable {
 
   private static final int QUICK_REJECT_COLOR = Color.TRANSPARENT;
   private static final RectF sClipBounds = new RectF();
   private static final RectF sDrawBounds = new RectF();
   private static final RectF sInnerDrawBounds = new RectF();
 
+  /**
+   * Rounded border paths are shared by all the borders with the same size, width and radii. They
+   * are never modified once cached, so they can be drawn by several drawables.
+   */
+  private static final LruCache<RoundedPathKey, Path> sRoundedPathCache = new LruCache<>(128);
+
   private final State mState;
 
-  private Paint mPaint;
+  private volatile Paint mPaint;
   private Path mPath;
   private Path mClipPath;
   private boolean mDrawBorderWithPath;
+  // Size the shared rounded path was built for, or -1 if it is built on first draw.
+  private int mPathWidth = -1;
+  private int mPathHeight = -1;
 
   private BorderColorDrawable(State state) {
     mState = state;
@@ -67,9 +82,24 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
   }
 
   public void init() {
-    mPaint = new Paint();
-    mPath = new Path();
-    mClipPath = new Path();
+    initialize(-1, -1);
+  }
+
+  @Override
+  public void prepare(int width, int height) {
+    initialize(width, height);
+  }
+
+  /**
+   * Sets up the paint and, if the size is known, builds the rounded path used by borders of equal
+   * widths. {@link #draw(Canvas)} checks {@link #mPaint} without locking, so it is published last.
+   */
+  private synchronized void initialize(int width, int height) {
+    if (mPaint != null) {
+      return;
+    }
+
+    boolean drawBorderWithPath = false;
     boolean hasRadius = false;
     float lastRadius = 0f;
     for (int i = 0; i < mState.mBorderRadius.length; ++i) {
@@ -80,24 +110,69 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
       if (i == 0) {
         lastRadius = radius;
       } else if (lastRadius != radius) {
-        mDrawBorderWithPath = true;
+        drawBorderWithPath = true;
         break;
       }
     }
 
-    if (mDrawBorderWithPath && mState.mBorderRadius.length != 8) {
-      // Need to duplicate values because Android expects X / Y radii specified separately
-      float[] radii = new float[8];
-      for (int i = 0; i < 4; ++i) {
-        radii[i * 2] = mState.mBorderRadius[i];
-        radii[i * 2 + 1] = mState.mBorderRadius[i];
-      }
-      mState.mBorderRadius = radii;
+    @Nullable Path path = null;
+    int pathWidth = -1;
+    int pathHeight = -1;
+    if (drawBorderWithPath
+        && width > mState.mBorderLeftWidth
+        && height > mState.mBorderLeftWidth
+        && mState.mBorderLeftWidth > 0
+        && mState.mBorderLeftWidth == mState.mBorderTopWidth
+        && mState.mBorderTopWidth == mState.mBorderRightWidth
+        && mState.mBorderRightWidth == mState.mBorderBottomWidth) {
+      path = getRoundedPath(width, height, mState.mBorderLeftWidth, mState.mBorderRadius);
+      pathWidth = width;
+      pathHeight = height;
+    }
+    if (path == null) {
+      path = new Path();
     }
 
-    mPaint.setPathEffect(mState.mPathEffect);
-    mPaint.setAntiAlias(mState.mPathEffect != null || hasRadius);
-    mPaint.setStyle(Paint.Style.STROKE);
+    final Paint paint = new Paint();
+    paint.setPathEffect(mState.mPathEffect);
+    paint.setAntiAlias(mState.mPathEffect != null || hasRadius);
+    paint.setStyle(Paint.Style.STROKE);
+
+    mDrawBorderWithPath = drawBorderWithPath;
+    mPath = path;
+    mPathWidth = pathWidth;
+    mPathHeight = pathHeight;
+    mClipPath = new Path();
+    mPaint = paint;
+  }
+
+  /**
+   * @return the path of a border of {@code strokeWidth} drawn within (0, 0, {@code width},
+   *     {@code height}). drawAllBorders() and drawMultiColoredBorders() translate the canvas to the
+   *     top left corner of the bounds before drawing it.
+   */
+  private static Path getRoundedPath(int width, int height, float strokeWidth, float[] radii) {
+    final RoundedPathKey key = new RoundedPathKey(width, height, strokeWidth, radii);
+    Path path = sRoundedPathCache.get(key);
+    if (path == null) {
+      final float inset = strokeWidth / 2f;
+      final RectF bounds = new RectF(0, 0, width, height);
+      bounds.inset(inset, inset);
+      path = new Path();
+      path.addRoundRect(bounds, radii, Path.Direction.CW);
+      sRoundedPathCache.put(key, path);
+    }
+    return path;
+  }
+
+  @VisibleForTesting
+  static int getRoundedPathCacheSize() {
+    return sRoundedPathCache.size();
+  }
+
+  @VisibleForTesting
+  static void clearRoundedPathCache() {
+    sRoundedPathCache.evictAll();
   }
 
   @Override
@@ -106,6 +181,14 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
       init();
     }
 
+    final Rect bounds = getBounds();
+    if (mPathWidth != -1 && (bounds.width() != mPathWidth || bounds.height() != mPathHeight)) {
+      // Mounted with another size than the one it was prepared for, the shared path can't be used.
+      mPath = new Path();
+      mPathWidth = -1;
+      mPathHeight = -1;
+    }
+
     final boolean equalBorderColors =
         mState.mBorderLeftColor == mState.mBorderTopColor
             && mState.mBorderTopColor == mState.mBorderRightColor
@@ -133,10 +216,14 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
   private void drawAllBorders(Canvas canvas, float strokeWidth, @ColorInt int color) {
     float inset = strokeWidth / 2f;
     sDrawBounds.set(getBounds());
+    final int saveCount = canvas.save();
+    canvas.translate(sDrawBounds.left, sDrawBounds.top);
+    sDrawBounds.offsetTo(0.0f, 0.0f);
     sDrawBounds.inset(inset, inset);
     mPaint.setStrokeWidth(strokeWidth);
     mPaint.setColor(color);
     drawBorder(canvas, sDrawBounds, path(), mState.mBorderRadius, mPaint);
+    canvas.restoreToCount(saveCount);
   }
 
   /** Special, special case, support for multi color with same widths for API 28 */
@@ -353,6 +440,45 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
     return mState.hashCode();
   }
 
+  private static final class RoundedPathKey {
+    private final int mWidth;
+    private final int mHeight;
+    private final float mStrokeWidth;
+    private final float[] mRadii;
+
+    RoundedPathKey(int width, int height, float strokeWidth, float[] radii) {
+      mWidth = width;
+      mHeight = height;
+      mStrokeWidth = strokeWidth;
+      mRadii = radii;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RoundedPathKey)) {
+        return false;
+      }
+
+      final RoundedPathKey that = (RoundedPathKey) o;
+      return mWidth == that.mWidth
+          && mHeight == that.mHeight
+          && mStrokeWidth == that.mStrokeWidth
+          && Arrays.equals(mRadii, that.mRadii);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = mWidth;
+      result = 31 * result + mHeight;
+      result = 31 * result + Float.floatToIntBits(mStrokeWidth);
+      result = 31 * result + Arrays.hashCode(mRadii);
+      return result;
+    }
+  }
+
   static class State {
     float mBorderLeftWidth;
     float mBorderTopWidth;
@@ -483,6 +609,16 @@ public class BorderColorDrawable extends Drawable implements ComparableDrawable
     }
 
     public BorderColorDrawable build() {
+      if (mState.mBorderRadius != null && mState.mBorderRadius.length == 4) {
+        // Need to duplicate values because Android expects X / Y radii specified separately. Done
+        // here rather than when drawing so that equivalence doesn't depend on having been drawn.
+        final float[] radii = new float[8];
+        for (int i = 0; i < 4; ++i) {
+          radii[i * 2] = mState.mBorderRadius[i];
+          radii[i * 2 + 1] = mState.mBorderRadius[i];
+        }
+        mState.mBorderRadius = radii;
+      }
       return new BorderColorDrawable(mState);
     }
   }
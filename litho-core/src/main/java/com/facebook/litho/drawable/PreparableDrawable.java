@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.drawable;
+
+/**
+ * Implemented by drawables which can do the setup they need to draw (e.g. creating paints, paths or
+ * shaders) ahead of time. When such a drawable is used as a background, foreground or border, it is
+ * prepared on the layout thread once its size is known, so that mounting and drawing it on the UI
+ * thread only has to use the result.
+ *
+ * <p>Preparation may run concurrently with {@link android.graphics.drawable.Drawable#draw} if the
+ * same instance is used by several layouts, so implementations must be thread safe and should be
+ * idempotent.
+ */
+public interface PreparableDrawable {
+
+  /**
+   * Prepares this drawable for being drawn with bounds (0, 0, {@code width}, {@code height}).
+   * Called off the UI thread.
+   */
+  void prepare(int width, int height);
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.stats;
+
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram. Values are
+ * recorded in microseconds; every power of two is split into 8 linear sub-buckets, which bounds the
+ * relative error of any reported percentile to 12.5%.
+ *
+ * <p>Recording is wait-free apart from the max update and never allocates, so it is safe to call
+ * from the layout and UI threads concurrently.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+  /** Values above 2^36 us (~19 hours) are clamped into the last bucket. */
+  private static final int MAX_VALUE_BITS = 36;
+
+  private static final long MAX_VALUE_US = (1L << (MAX_VALUE_BITS + 1)) - 1;
+  private static final int BUCKET_COUNT = bucketIndexFor(MAX_VALUE_US) + 1;
+
+  private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong mCount = new AtomicLong();
+  private final AtomicLong mTotalUs = new AtomicLong();
+  private final AtomicLong mMaxUs = new AtomicLong();
+  private final AtomicLong mAllocationCount = new AtomicLong();
+
+  /** Record a single duration, expressed in nanoseconds. */
+  public void recordNanos(long durationNs) {
+    recordNanos(durationNs, 0);
+  }
+
+  /**
+   * Record a single duration, expressed in nanoseconds, along with the number of objects allocated
+   * while it was measured.
+   */
+  public void recordNanos(long durationNs, long allocations) {
+    final long valueUs = Math.min(Math.max(durationNs / 1000, 0), MAX_VALUE_US);
+
+    mBuckets.incrementAndGet(bucketIndexFor(valueUs));
+    mCount.incrementAndGet();
+    mTotalUs.addAndGet(valueUs);
+    if (allocations > 0) {
+      mAllocationCount.addAndGet(allocations);
+    }
+
+    long currentMax = mMaxUs.get();
+    while (valueUs > currentMax && !mMaxUs.compareAndSet(currentMax, valueUs)) {
+      currentMax = mMaxUs.get();
+    }
+  }
+
+  /**
+   * @return an immutable copy of the current state of this histogram. Concurrent recordings may or
+   *     may not be reflected in the snapshot.
+   */
+  public Snapshot snapshot() {
+    final long[] buckets = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = mBuckets.get(i);
+    }
+    return new Snapshot(
+        buckets, mCount.get(), mTotalUs.get(), mMaxUs.get(), mAllocationCount.get());
+  }
+
+  /**
+   * Same as {@link #snapshot()}, but also clears every value it copies, so that each recorded value
+   * is reported by exactly one snapshot even while recording concurrently.
+   */
+  public Snapshot snapshotAndReset() {
+    final long[] buckets = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = mBuckets.getAndSet(i, 0);
+    }
+    return new Snapshot(
+        buckets,
+        mCount.getAndSet(0),
+        mTotalUs.getAndSet(0),
+        mMaxUs.getAndSet(0),
+        mAllocationCount.getAndSet(0));
+  }
+
+  /** Clears all the recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      mBuckets.set(i, 0);
+    }
+    mCount.set(0);
+    mTotalUs.set(0);
+    mMaxUs.set(0);
+    mAllocationCount.set(0);
+  }
+
+  static int bucketIndexFor(long valueUs) {
+    if (valueUs < SUB_BUCKET_COUNT) {
+      return (int) valueUs;
+    }
+    final int shift = (63 - Long.numberOfLeadingZeros(valueUs)) - SUB_BUCKET_BITS;
+    final int subBucket = (int) ((valueUs >>> shift) & SUB_BUCKET_MASK);
+    return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  static long highestValueInBucket(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = (index >> SUB_BUCKET_BITS) - 1;
+    final long lowest = ((long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK))) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /** An immutable view of a {@link LatencyHistogram} at a point in time. */
+  public static final class Snapshot {
+
+    private final long[] mBuckets;
+    private final long mCount;
+    private final long mTotalUs;
+    private final long mMaxUs;
+    private final long mAllocationCount;
+
+    Snapshot(long[] buckets, long count, long totalUs, long maxUs, long allocationCount) {
+      mBuckets = buckets;
+      mCount = count;
+      mTotalUs = totalUs;
+      mMaxUs = maxUs;
+      mAllocationCount = allocationCount;
+    }
+
+    /** @return the number of recorded values. */
+    public long getCount() {
+      return mCount;
+    }
+
+    /** @return the sum of all recorded values, in microseconds. */
+    public long getTotalMicros() {
+      return mTotalUs;
+    }
+
+    /** @return the largest recorded value, in microseconds. */
+    public long getMaxMicros() {
+      return mMaxUs;
+    }
+
+    /** @return the mean of all recorded values, in microseconds. */
+    public double getMeanMicros() {
+      return mCount == 0 ? 0 : (double) mTotalUs / mCount;
+    }
+
+    /**
+     * @return the sum of allocation counts reported alongside the recorded values, or 0 if
+     *     allocation tracking was not available.
+     */
+    public long getAllocationCount() {
+      return mAllocationCount;
+    }
+
+    /**
+     * @param percentile a value in the range [0, 100].
+     * @return an upper bound, in microseconds, of the value at the given percentile.
+     */
+    public long getPercentileMicros(double percentile) {
+      if (mCount == 0) {
+        return 0;
+      }
+      final double clamped = Math.min(Math.max(percentile, 0), 100);
+      final long target = Math.max(1, (long) Math.ceil(clamped / 100 * mCount));
+      long seen = 0;
+      for (int i = 0; i < mBuckets.length; i++) {
+        seen += mBuckets[i];
+        if (seen >= target) {
+          return Math.min(highestValueInBucket(i), mMaxUs);
+        }
+      }
+      return mMaxUs;
+    }
+
+    @Override
+    public String toString() {
+      return "count="
+          + mCount
+          + ", meanUs="
+          + (long) getMeanMicros()
+          + ", p50Us="
+          + getPercentileMicros(50)
+          + ", p90Us="
+          + getPercentileMicros(90)
+          + ", p99Us="
+          + getPercentileMicros(99)
+          + ", maxUs="
+          + mMaxUs
+          + ", allocations="
+          + mAllocationCount;
+    }
+  }
+}
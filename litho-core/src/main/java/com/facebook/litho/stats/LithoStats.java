@@ -16,16 +16,54 @@
 
 package com.facebook.litho.stats;
 
+import android.os.Debug;
+import androidx.annotation.IntDef;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.facebook.infer.annotation.Nullsafe;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /** Provides global counters about Litho internals. Useful for performance analyses. */
 @Nullsafe(Nullsafe.Mode.LOCAL)
 public final class LithoStats {
+
+  /** Duration of {@code LayoutState.calculate}, on any thread. */
+  public static final int LATENCY_CALCULATE_LAYOUT = 0;
+  /** Duration of mounting a LayoutState on a LithoView. */
+  public static final int LATENCY_MOUNT = 1;
+  /** Duration of a new changeset calculation in a SectionTree. */
+  public static final int LATENCY_CALCULATE_CHANGESET = 2;
+  /** Duration of measuring a Text component. */
+  public static final int LATENCY_TEXT_MEASURE = 3;
+  /** Duration the UI thread spent blocked waiting on a layout calculated on another thread. */
+  public static final int LATENCY_LAYOUT_FUTURE_WAIT = 4;
+
+  private static final int LATENCY_METRIC_COUNT = 5;
+
+  @IntDef({
+    LATENCY_CALCULATE_LAYOUT,
+    LATENCY_MOUNT,
+    LATENCY_CALCULATE_CHANGESET,
+    LATENCY_TEXT_MEASURE,
+    LATENCY_LAYOUT_FUTURE_WAIT
+  })
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface LatencyMetric {}
+
+  /** Used in place of a null log tag or root name when keying latency histograms. */
+  private static final String NO_NAME = "";
+
   private static final AtomicLong sComponentAppliedStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sComponentTriggeredSyncStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sComponentTriggeredAsyncStateUpdateCount = new AtomicLong(0);
+  private static final AtomicLong sComponentCoalescedAsyncStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sComponentCalculateLayoutCount = new AtomicLong(0);
   private static final AtomicLong sComponentCalculateLayoutOnUICount = new AtomicLong(0);
   private static final AtomicLong sComponentMountCount = new AtomicLong(0);
@@ -36,6 +74,14 @@ public final class LithoStats {
   private static final AtomicLong sSectionCalculateNewChangesetCount = new AtomicLong(0);
   private static final AtomicLong sSectionCalculateNewChangesetOnUICount = new AtomicLong(0);
 
+  private static volatile boolean sLatencyHistogramsEnabled = false;
+  private static volatile boolean sAllocationTrackingEnabled = false;
+
+  /** Latency histograms keyed by log tag, then by root component (or section) name. */
+  private static final ConcurrentHashMap<
+          String, ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>>>
+      sLatencyHistograms = new ConcurrentHashMap<>();
+
   /**
    * @return the global count of all applied state updates (async, lazy and sync) in Litho
    *     components that have happened in the process.
@@ -60,6 +106,14 @@ public final class LithoStats {
     return sComponentTriggeredAsyncStateUpdateCount.get();
   }
 
+  /**
+   * @return the global count of all asynchronous state updates in Litho components which didn't
+   *     trigger a layout of their own because one was already pending for their tree.
+   */
+  public static long getComponentCoalescedAsyncStateUpdateCount() {
+    return sComponentCoalescedAsyncStateUpdateCount.get();
+  }
+
   /**
    * @return the global count of all layout calculations in Litho components that have happened in
    *     the process.
@@ -148,6 +202,15 @@ public final class LithoStats {
     return sComponentTriggeredAsyncStateUpdateCount.addAndGet(1);
   }
 
+  /**
+   * Increment the count of coalesced asynchronous state updates in Litho components (by one).
+   *
+   * @return The new total number of coalesced asynchronous state updates recorded.
+   */
+  public static long incrementComponentCoalescedAsyncStateUpdateCount() {
+    return sComponentCoalescedAsyncStateUpdateCount.addAndGet(1);
+  }
+
   @VisibleForTesting
   public static void resetComponentStateUpdateAsyncCount() {
     sComponentTriggeredAsyncStateUpdateCount.set(0);
@@ -227,11 +290,170 @@ public final class LithoStats {
     return sSectionCalculateNewChangesetOnUICount.addAndGet(1);
   }
 
+  /**
+   * Enables or disables the recording of latency histograms. Recording is disabled by default, in
+   * which case the instrumented code paths only pay for a volatile read.
+   */
+  public static void setLatencyHistogramsEnabled(boolean enabled) {
+    sLatencyHistogramsEnabled = enabled;
+  }
+
+  /** @return whether latency histograms are currently being recorded. */
+  public static boolean isLatencyHistogramsEnabled() {
+    return sLatencyHistogramsEnabled;
+  }
+
+  /**
+   * Enables or disables attaching per-thread allocation counts to recorded latencies. This relies
+   * on {@link Debug#getThreadAllocCount()}, so it only reports meaningful values once the app has
+   * called {@link Debug#startAllocCounting()}; it should only be used in debug or benchmark builds.
+   */
+  public static void setAllocationTrackingEnabled(boolean enabled) {
+    sAllocationTrackingEnabled = enabled;
+  }
+
+  /**
+   * @return the number of objects allocated by the current thread if allocation tracking is
+   *     enabled, or 0 otherwise. Pass the difference between two readings to {@link
+   *     #recordLatency(int, String, String, long, long)}.
+   */
+  @SuppressWarnings("deprecation")
+  public static long getThreadAllocationCount() {
+    return sAllocationTrackingEnabled ? Debug.getThreadAllocCount() : 0;
+  }
+
+  /**
+   * Records a duration for the given metric.
+   *
+   * @param metric the kind of operation which was measured.
+   * @param logTag the log tag of the ComponentTree or SectionTree which performed the operation.
+   * @param rootName the name of the root component or section of the tree.
+   * @param durationNs the duration of the operation in nanoseconds.
+   */
+  public static void recordLatency(
+      @LatencyMetric int metric,
+      @Nullable String logTag,
+      @Nullable String rootName,
+      long durationNs) {
+    recordLatency(metric, logTag, rootName, durationNs, 0);
+  }
+
+  /**
+   * Same as {@link #recordLatency(int, String, String, long)}, with the number of objects
+   * allocated while the operation was running.
+   */
+  public static void recordLatency(
+      @LatencyMetric int metric,
+      @Nullable String logTag,
+      @Nullable String rootName,
+      long durationNs,
+      long allocations) {
+    if (!sLatencyHistogramsEnabled) {
+      return;
+    }
+    getOrCreateHistogram(metric, logTag, rootName).recordNanos(durationNs, allocations);
+  }
+
+  /**
+   * @return a snapshot of every latency histogram recorded since the last reset. The histograms
+   *     keep recording while the snapshot is taken, so values from concurrent operations may or
+   *     may not be included. Histograms without any value since the last reset are skipped.
+   */
+  public static List<LatencySnapshot> getLatencySnapshots() {
+    return collectLatencySnapshots(false);
+  }
+
+  /**
+   * Same as {@link #getLatencySnapshots()}, but also clears the latency histograms so that the next
+   * call only reports the values recorded in between. Useful for periodically uploading metrics.
+   * Every value is reported once, including the ones recorded while the snapshots are taken.
+   */
+  public static List<LatencySnapshot> getAndResetLatencySnapshots() {
+    return collectLatencySnapshots(true);
+  }
+
+  /**
+   * Clears all the latency histograms. They are reset in place, so values recorded concurrently
+   * are kept or cleared but never recorded into a histogram which isn't reported anymore.
+   */
+  public static void resetLatencyHistograms() {
+    for (ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>> byRoot :
+        sLatencyHistograms.values()) {
+      for (AtomicReferenceArray<LatencyHistogram> histograms : byRoot.values()) {
+        for (int metric = 0; metric < LATENCY_METRIC_COUNT; metric++) {
+          final @Nullable LatencyHistogram histogram = histograms.get(metric);
+          if (histogram != null) {
+            histogram.reset();
+          }
+        }
+      }
+    }
+  }
+
+  private static List<LatencySnapshot> collectLatencySnapshots(boolean reset) {
+    final List<LatencySnapshot> snapshots = new ArrayList<>();
+    for (Map.Entry<String, ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>>>
+        byLogTag : sLatencyHistograms.entrySet()) {
+      for (Map.Entry<String, AtomicReferenceArray<LatencyHistogram>> byRoot :
+          byLogTag.getValue().entrySet()) {
+        final AtomicReferenceArray<LatencyHistogram> histograms = byRoot.getValue();
+        for (int metric = 0; metric < LATENCY_METRIC_COUNT; metric++) {
+          final @Nullable LatencyHistogram histogram = histograms.get(metric);
+          if (histogram == null) {
+            continue;
+          }
+          final LatencyHistogram.Snapshot snapshot =
+              reset ? histogram.snapshotAndReset() : histogram.snapshot();
+          if (snapshot.getCount() > 0) {
+            snapshots.add(
+                new LatencySnapshot(metric, byLogTag.getKey(), byRoot.getKey(), snapshot));
+          }
+        }
+      }
+    }
+    return snapshots;
+  }
+
+  private static LatencyHistogram getOrCreateHistogram(
+      @LatencyMetric int metric, @Nullable String logTag, @Nullable String rootName) {
+    final String logTagKey = logTag != null ? logTag : NO_NAME;
+    final String rootKey = rootName != null ? rootName : NO_NAME;
+
+    ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>> byRoot =
+        sLatencyHistograms.get(logTagKey);
+    if (byRoot == null) {
+      final ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>> created =
+          new ConcurrentHashMap<>();
+      byRoot = sLatencyHistograms.putIfAbsent(logTagKey, created);
+      if (byRoot == null) {
+        byRoot = created;
+      }
+    }
+
+    AtomicReferenceArray<LatencyHistogram> histograms = byRoot.get(rootKey);
+    if (histograms == null) {
+      final AtomicReferenceArray<LatencyHistogram> created =
+          new AtomicReferenceArray<>(LATENCY_METRIC_COUNT);
+      histograms = byRoot.putIfAbsent(rootKey, created);
+      if (histograms == null) {
+        histograms = created;
+      }
+    }
+
+    final @Nullable LatencyHistogram histogram = histograms.get(metric);
+    if (histogram != null) {
+      return histogram;
+    }
+    histograms.compareAndSet(metric, null, new LatencyHistogram());
+    return histograms.get(metric);
+  }
+
   @VisibleForTesting
   public static synchronized void resetAllCounters() {
     sComponentAppliedStateUpdateCount.set(0);
     sComponentTriggeredSyncStateUpdateCount.set(0);
     sComponentTriggeredAsyncStateUpdateCount.set(0);
+    sComponentCoalescedAsyncStateUpdateCount.set(0);
     sComponentCalculateLayoutCount.set(0);
     sComponentCalculateLayoutOnUICount.set(0);
     sComponentMountCount.set(0);
@@ -240,5 +462,57 @@ public final class LithoStats {
     sSectionTriggeredAsyncStateUpdateCount.set(0);
     sSectionCalculateNewChangesetCount.set(0);
     sSectionCalculateNewChangesetOnUICount.set(0);
+    resetLatencyHistograms();
+  }
+
+  /** A snapshot of the latency histogram of one metric for one log tag and root name. */
+  public static final class LatencySnapshot {
+
+    private final @LatencyMetric int mMetric;
+    private final String mLogTag;
+    private final String mRootName;
+    private final LatencyHistogram.Snapshot mHistogram;
+
+    LatencySnapshot(
+        @LatencyMetric int metric,
+        String logTag,
+        String rootName,
+        LatencyHistogram.Snapshot histogram) {
+      mMetric = metric;
+      mLogTag = logTag;
+      mRootName = rootName;
+      mHistogram = histogram;
+    }
+
+    public @LatencyMetric int getMetric() {
+      return mMetric;
+    }
+
+    /** @return the log tag of the tree, or an empty string if it didn't have one. */
+    public String getLogTag() {
+      return mLogTag;
+    }
+
+    /** @return the name of the root component or section, or an empty string if unknown. */
+    public String getRootName() {
+      return mRootName;
+    }
+
+    public LatencyHistogram.Snapshot getHistogram() {
+      return mHistogram;
+    }
+
+    @Override
+    public String toString() {
+      return "LatencySnapshot{metric="
+          + mMetric
+          + ", logTag="
+          + mLogTag
+          + ", rootName="
+          + mRootName
+          + ", "
+          + mHistogram
+          + "}";
+    }
   }
 }
@@ -19,12 +19,15 @@ package com.facebook.litho.editor.flipper;
 import com.facebook.flipper.plugins.inspector.DescriptorMapping;
 import com.facebook.litho.DebugComponent;
 import com.facebook.litho.LithoView;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.debug.DebugSection;
 import com.facebook.litho.widget.LithoRecyclerView;
 
 public final class LithoFlipperDescriptors {
 
   public static void add(DescriptorMapping descriptorMapping) {
+    // Lets the inspector refresh only the components which changed when a LithoView remounts.
+    ComponentsConfiguration.isDebugChangeTrackingEnabled = true;
     descriptorMapping.register(LithoView.class, new LithoViewDescriptor());
     descriptorMapping.register(DebugComponent.class, new DebugComponentDescriptor());
   }
@@ -24,26 +24,81 @@ import com.facebook.flipper.plugins.inspector.Named;
 import com.facebook.flipper.plugins.inspector.NodeDescriptor;
 import com.facebook.flipper.plugins.inspector.SetDataOperations;
 import com.facebook.flipper.plugins.inspector.Touch;
+import com.facebook.litho.ComponentTree;
 import com.facebook.litho.DebugComponent;
+import com.facebook.litho.DebugComponentChangeTracker;
 import com.facebook.litho.LithoView;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.WeakHashMap;
 import javax.annotation.Nullable;
 
 public class LithoViewDescriptor extends NodeDescriptor<LithoView> {
 
+  /**
+   * The ComponentTree each LithoView was last refreshed with, and the revision of its {@link
+   * DebugComponentChangeTracker} at the time.
+   */
+  private final WeakHashMap<LithoView, RefreshedRevision> mRevisions = new WeakHashMap<>();
+
   @Override
   public void init(LithoView node) throws Exception {
     node.setOnDirtyMountListener(
         new LithoView.OnDirtyMountListener() {
           @Override
           public void onDirtyMount(LithoView view) {
-            invalidate(view);
+            if (!invalidateChangedComponents(view)) {
+              invalidate(view);
+            }
             invalidateAX(view);
           }
         });
   }
 
+  /**
+   * Invalidates only the components changed since the last refresh of {@code view}.
+   *
+   * @return false if the whole hierarchy has to be invalidated instead, e.g. because components
+   *     were added or removed, or because the view now hosts another ComponentTree.
+   */
+  private boolean invalidateChangedComponents(LithoView view) {
+    final ComponentTree componentTree = view.getComponentTree();
+    final DebugComponentChangeTracker tracker =
+        componentTree == null ? null : DebugComponentChangeTracker.getInstance(componentTree);
+    if (componentTree == null || tracker == null) {
+      return false;
+    }
+
+    // Revisions are specific to a ComponentTree, and a recycled view may host another one now.
+    final RefreshedRevision lastRevision =
+        mRevisions.put(view, new RefreshedRevision(componentTree, tracker.getRevision()));
+    final List<DebugComponentChangeTracker.Delta> deltas =
+        lastRevision == null || lastRevision.mComponentTree.get() != componentTree
+            ? null
+            : tracker.getDeltasSince(lastRevision.mRevision);
+    if (deltas == null) {
+      return false;
+    }
+    for (DebugComponentChangeTracker.Delta delta : deltas) {
+      if (delta.hasStructuralChanges()) {
+        return false;
+      }
+    }
+
+    final NodeDescriptor descriptor = descriptorForClass(DebugComponent.class);
+    for (DebugComponentChangeTracker.Delta delta : deltas) {
+      for (String globalKey : delta.changed) {
+        final DebugComponent component = DebugComponent.getInstance(componentTree, globalKey);
+        if (component == null) {
+          return false;
+        }
+        descriptor.invalidate(component);
+      }
+    }
+    return true;
+  }
+
   @Override
   public String getId(LithoView node) throws Exception {
     final NodeDescriptor descriptor = descriptorForClass(ViewGroup.class);
@@ -181,4 +236,16 @@ public class LithoViewDescriptor extends NodeDescriptor<LithoView> {
     NodeDescriptor descriptor = descriptorForClass(Object.class);
     return descriptor.matches(query, node);
   }
+
+  private static final class RefreshedRevision {
+
+    // Weak, since the ComponentTree references the LithoView which is the key of this value.
+    private final WeakReference<ComponentTree> mComponentTree;
+    private final long mRevision;
+
+    RefreshedRevision(ComponentTree componentTree, long revision) {
+      mComponentTree = new WeakReference<>(componentTree);
+      mRevision = revision;
+    }
+  }
 }
@@ -30,4 +30,5 @@ public class FrescoImageDefaults {
       GenericDraweeHierarchyBuilder.DEFAULT_SCALE_TYPE;
   public static final float DEFAULT_IMAGE_ASPECT_RATION = 1f;
   public static final PointF DEFAULT_PLACEHOLDER_IMAGE_FOCUS_POINT = new PointF(0.5f, 0.5f);
+  public static final int DEFAULT_PREFETCH_RANGE_OFFSET = 3;
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.fresco;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.common.executors.CallerThreadExecutor;
+import com.facebook.common.references.CloseableReference;
+import com.facebook.datasource.BaseDataSubscriber;
+import com.facebook.datasource.DataSource;
+import com.facebook.datasource.DataSubscriber;
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.common.Priority;
+import com.facebook.imagepipeline.core.ImagePipeline;
+import com.facebook.imagepipeline.image.CloseableImage;
+import com.facebook.imagepipeline.request.ImageRequest;
+import com.facebook.imagepipeline.request.ImageRequestBuilder;
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Fetches and decodes the image of a {@link FrescoImageSpec} into the bitmap memory cache ahead of
+ * its mount. A prefetcher has at most one request in flight: prefetching again with a higher
+ * priority replaces it, and {@link #cancel()} drops it.
+ *
+ * <p>Prefetchers are shared by all the components prefetching an equal {@link ImageRequest} and
+ * only exist while one of them is within a prefetch working range, so components which don't opt
+ * into prefetching don't pay for it.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class FrescoImagePrefetcher {
+
+  /** Releases the decoded image once the fetch completes so only the memory cache retains it. */
+  private static final DataSubscriber<CloseableReference<CloseableImage>> CLOSE_ON_FINISH =
+      new BaseDataSubscriber<CloseableReference<CloseableImage>>() {
+        @Override
+        protected void onNewResultImpl(
+            DataSource<CloseableReference<CloseableImage>> dataSource) {}
+
+        @Override
+        protected void onFailureImpl(DataSource<CloseableReference<CloseableImage>> dataSource) {}
+      };
+
+  // Guarded by the class lock. Weak keys: the requests are held by the props of the components.
+  private static final Map<ImageRequest, FrescoImagePrefetcher> sPrefetchers = new WeakHashMap<>();
+
+  private final ImagePipeline mImagePipeline;
+
+  // Number of components in a prefetch working range, guarded by the class lock.
+  private int mRangeCount;
+
+  private @Nullable DataSource<CloseableReference<CloseableImage>> mDataSource;
+  private @Nullable Priority mPriority;
+
+  @VisibleForTesting
+  FrescoImagePrefetcher(ImagePipeline imagePipeline) {
+    mImagePipeline = imagePipeline;
+  }
+
+  /**
+   * Called when a component with {@code imageRequest} entered a prefetch working range: starts the
+   * prefetch, or raises its priority if it is already running.
+   */
+  static synchronized void onEnteredRange(ImageRequest imageRequest, Priority priority) {
+    FrescoImagePrefetcher prefetcher = sPrefetchers.get(imageRequest);
+    if (prefetcher == null) {
+      prefetcher = new FrescoImagePrefetcher(Fresco.getImagePipeline());
+      sPrefetchers.put(imageRequest, prefetcher);
+    }
+    prefetcher.mRangeCount++;
+    prefetcher.prefetch(imageRequest, priority);
+  }
+
+  /**
+   * Called when a component with {@code imageRequest} exited a prefetch working range: cancels the
+   * prefetch once no component is in range anymore.
+   */
+  static synchronized void onExitedRange(ImageRequest imageRequest) {
+    final FrescoImagePrefetcher prefetcher = sPrefetchers.get(imageRequest);
+    if (prefetcher == null || --prefetcher.mRangeCount > 0) {
+      return;
+    }
+    sPrefetchers.remove(imageRequest);
+    prefetcher.cancel();
+  }
+
+  synchronized void prefetch(ImageRequest imageRequest, Priority priority) {
+    if (mDataSource != null
+        && !mDataSource.isClosed()
+        && Priority.getHigherPriority(mPriority, priority) == mPriority) {
+      return;
+    }
+
+    final DataSource<CloseableReference<CloseableImage>> previous = mDataSource;
+    mDataSource =
+        mImagePipeline.fetchDecodedImage(
+            ImageRequestBuilder.fromRequest(imageRequest).setRequestPriority(priority).build(),
+            null);
+    mDataSource.subscribe(CLOSE_ON_FINISH, CallerThreadExecutor.getInstance());
+    mPriority = priority;
+
+    // Closed after the new request is submitted so that work shared with it isn't cancelled.
+    if (previous != null) {
+      previous.close();
+    }
+  }
+
+  synchronized void cancel() {
+    if (mDataSource != null) {
+      mDataSource.close();
+      mDataSource = null;
+    }
+    mPriority = null;
+  }
+}
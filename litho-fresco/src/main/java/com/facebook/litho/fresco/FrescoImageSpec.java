@@ -27,14 +27,20 @@ import com.facebook.drawee.generic.GenericDraweeHierarchy;
 import com.facebook.drawee.generic.GenericDraweeHierarchyBuilder;
 import com.facebook.drawee.generic.RoundingParams;
 import com.facebook.drawee.interfaces.DraweeController;
+import com.facebook.imagepipeline.common.Priority;
+import com.facebook.imagepipeline.request.ImageRequest;
+import com.facebook.litho.BoundaryWorkingRange;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentLayout;
 import com.facebook.litho.Size;
 import com.facebook.litho.annotations.MountSpec;
 import com.facebook.litho.annotations.OnBind;
 import com.facebook.litho.annotations.OnCreateMountContent;
+import com.facebook.litho.annotations.OnEnteredRange;
+import com.facebook.litho.annotations.OnExitedRange;
 import com.facebook.litho.annotations.OnMeasure;
 import com.facebook.litho.annotations.OnMount;
+import com.facebook.litho.annotations.OnRegisterRanges;
 import com.facebook.litho.annotations.OnUnbind;
 import com.facebook.litho.annotations.OnUnmount;
 import com.facebook.litho.annotations.Prop;
@@ -42,9 +48,20 @@ import com.facebook.litho.annotations.PropDefault;
 import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.utils.MeasureUtils;
 
+/**
+ * A component that renders an image with a {@link DraweeController}.
+ *
+ * <p>When the component is in a list of a {@link com.facebook.litho.widget.RecyclerBinder}, setting
+ * {@code prefetchImageRequest} (which should match the request of the controller) fetches and
+ * decodes the image into the memory cache while the item is within {@code prefetchRangeOffset}
+ * items of the viewport, with a high priority for the items next to it. The request is cancelled
+ * when the item leaves that range.
+ */
 @MountSpec
 public class FrescoImageSpec {
 
+  private static final int PREFETCH_NEAR_RANGE_OFFSET = 1;
+
   @PropDefault
   protected static final float imageAspectRatio = FrescoImageDefaults.DEFAULT_IMAGE_ASPECT_RATION;
 
@@ -74,6 +91,10 @@ public class FrescoImageSpec {
   protected static final ScalingUtils.ScaleType retryImageScaleType =
       FrescoImageDefaults.DEFAULT_SCALE_TYPE;
 
+  @PropDefault
+  protected static final int prefetchRangeOffset =
+      FrescoImageDefaults.DEFAULT_PREFETCH_RANGE_OFFSET;
+
   @OnMeasure
   protected static void onMeasure(
       ComponentContext c,
@@ -162,4 +183,50 @@ public class FrescoImageSpec {
       ComponentContext c, DraweeDrawable<GenericDraweeHierarchy> mountedDrawable) {
     mountedDrawable.unmount();
   }
+
+  @OnRegisterRanges
+  protected static void registerWorkingRanges(
+      ComponentContext c,
+      @Prop(optional = true) ImageRequest prefetchImageRequest,
+      @Prop(optional = true) int prefetchRangeOffset) {
+    if (prefetchImageRequest == null) {
+      return;
+    }
+
+    FrescoImage.registerPrefetchWorkingRange(c, new BoundaryWorkingRange(prefetchRangeOffset));
+    FrescoImage.registerPrefetchNearWorkingRange(
+        c, new BoundaryWorkingRange(Math.min(PREFETCH_NEAR_RANGE_OFFSET, prefetchRangeOffset)));
+  }
+
+  @OnEnteredRange(name = "prefetch")
+  protected static void onEnteredPrefetchRange(
+      ComponentContext c, @Prop(optional = true) ImageRequest prefetchImageRequest) {
+    if (prefetchImageRequest != null) {
+      FrescoImagePrefetcher.onEnteredRange(prefetchImageRequest, Priority.LOW);
+    }
+  }
+
+  @OnExitedRange(name = "prefetch")
+  protected static void onExitedPrefetchRange(
+      ComponentContext c, @Prop(optional = true) ImageRequest prefetchImageRequest) {
+    if (prefetchImageRequest != null) {
+      FrescoImagePrefetcher.onExitedRange(prefetchImageRequest);
+    }
+  }
+
+  @OnEnteredRange(name = "prefetchNear")
+  protected static void onEnteredPrefetchNearRange(
+      ComponentContext c, @Prop(optional = true) ImageRequest prefetchImageRequest) {
+    if (prefetchImageRequest != null) {
+      FrescoImagePrefetcher.onEnteredRange(prefetchImageRequest, Priority.HIGH);
+    }
+  }
+
+  @OnExitedRange(name = "prefetchNear")
+  protected static void onExitedPrefetchNearRange(
+      ComponentContext c, @Prop(optional = true) ImageRequest prefetchImageRequest) {
+    if (prefetchImageRequest != null) {
+      FrescoImagePrefetcher.onExitedRange(prefetchImageRequest);
+    }
+  }
 }
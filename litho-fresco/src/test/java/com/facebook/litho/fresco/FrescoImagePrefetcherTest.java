@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.fresco;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.common.references.CloseableReference;
+import com.facebook.datasource.DataSource;
+import com.facebook.imagepipeline.common.Priority;
+import com.facebook.imagepipeline.core.ImagePipeline;
+import com.facebook.imagepipeline.image.CloseableImage;
+import com.facebook.imagepipeline.request.ImageRequest;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class FrescoImagePrefetcherTest {
+
+  private final ImageRequest mImageRequest = ImageRequest.fromUri("https://example.com/a.jpg");
+
+  private ImagePipeline mImagePipeline;
+  private DataSource<CloseableReference<CloseableImage>> mFirstDataSource;
+  private DataSource<CloseableReference<CloseableImage>> mSecondDataSource;
+  private FrescoImagePrefetcher mPrefetcher;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    mImagePipeline = mock(ImagePipeline.class);
+    mFirstDataSource = mock(DataSource.class);
+    mSecondDataSource = mock(DataSource.class);
+    when(mImagePipeline.fetchDecodedImage(any(ImageRequest.class), any()))
+        .thenReturn(mFirstDataSource, mSecondDataSource);
+    mPrefetcher = new FrescoImagePrefetcher(mImagePipeline);
+  }
+
+  @Test
+  public void testPrefetch_withHigherPriority_reissuesRequest() {
+    mPrefetcher.prefetch(mImageRequest, Priority.LOW);
+    mPrefetcher.prefetch(mImageRequest, Priority.HIGH);
+
+    final List<ImageRequest> requests = captureFetchedRequests(2);
+    assertThat(requests.get(0).getSourceUri()).isEqualTo(mImageRequest.getSourceUri());
+    assertThat(requests.get(0).getPriority()).isEqualTo(Priority.LOW);
+    assertThat(requests.get(1).getPriority()).isEqualTo(Priority.HIGH);
+    verify(mFirstDataSource).close();
+    verify(mSecondDataSource, never()).close();
+  }
+
+  @Test
+  public void testPrefetch_withSameOrLowerPriority_isNoOp() {
+    mPrefetcher.prefetch(mImageRequest, Priority.HIGH);
+    mPrefetcher.prefetch(mImageRequest, Priority.HIGH);
+    mPrefetcher.prefetch(mImageRequest, Priority.LOW);
+
+    final List<ImageRequest> requests = captureFetchedRequests(1);
+    assertThat(requests.get(0).getPriority()).isEqualTo(Priority.HIGH);
+    verify(mFirstDataSource, never()).close();
+  }
+
+  @Test
+  public void testPrefetch_afterRequestClosed_reissuesRequest() {
+    mPrefetcher.prefetch(mImageRequest, Priority.HIGH);
+    when(mFirstDataSource.isClosed()).thenReturn(true);
+
+    mPrefetcher.prefetch(mImageRequest, Priority.LOW);
+
+    captureFetchedRequests(2);
+  }
+
+  @Test
+  public void testCancel_closesDataSource() {
+    mPrefetcher.prefetch(mImageRequest, Priority.LOW);
+
+    mPrefetcher.cancel();
+
+    verify(mFirstDataSource).close();
+
+    // Prefetching again starts a new request even with the same priority.
+    mPrefetcher.prefetch(mImageRequest, Priority.LOW);
+    captureFetchedRequests(2);
+  }
+
+  private List<ImageRequest> captureFetchedRequests(int count) {
+    final ArgumentCaptor<ImageRequest> captor = ArgumentCaptor.forClass(ImageRequest.class);
+    verify(mImagePipeline, times(count)).fetchDecodedImage(captor.capture(), any());
+    return captor.getAllValues();
+  }
+}
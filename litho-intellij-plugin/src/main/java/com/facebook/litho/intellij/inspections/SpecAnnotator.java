@@ -28,6 +28,7 @@ import com.facebook.litho.specmodels.model.SpecModelValidationError;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -71,9 +72,12 @@ public class SpecAnnotator implements Annotator {
 
     SpecModel specModel = null;
     try {
-      // Assuming that this Annotator is called sequentially and not in parallel, we don't do extra
-      // work by calling update directly
-      specModel = ComponentGenerateService.getInstance().getOrCreateSpecModel(spec, false);
+      // Cached model is reused as long as neither the Spec file nor the classes it may depend on
+      // changed since it was created
+      specModel = ComponentGenerateService.getInstance().getOrCreateSpecModel(spec);
+    } catch (ProcessCanceledException e) {
+      // Highlighting was restarted, model will be created on the next pass
+      throw e;
     } catch (Exception e) {
       // Model might contain errors. Proceed to surfacing them.
       DEBUG_LOGGER.debug(e);
@@ -27,11 +27,19 @@ import com.facebook.litho.specmodels.processor.PsiGroupSectionSpecModelFactory;
 import com.facebook.litho.specmodels.processor.PsiLayoutSpecModelFactory;
 import com.facebook.litho.specmodels.processor.PsiMountSpecModelFactory;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeSpec;
 import java.util.Collections;
@@ -39,13 +47,23 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Utility class helping to create {@link SpecModel}s from the given file and update generated
  * Component files with the new model.
+ *
+ * <p>Models are cached by Spec qualified name along with the PSI modification stamps they were
+ * created from, so they are only rebuilt once the Spec file or the structure of the Java classes it
+ * may depend on changed.
  */
 public class ComponentGenerateService {
+  /** Registry key of the maximum number of cached {@link SpecModel}s. */
+  static final String CACHE_SIZE_REGISTRY_KEY = "litho.spec.model.cache.size";
+
+  private static final int DEFAULT_CACHE_SIZE = 50;
+
   private static final PsiLayoutSpecModelFactory LAYOUT_SPEC_MODEL_FACTORY =
       new PsiLayoutSpecModelFactory();
   private static final PsiMountSpecModelFactory MOUNT_SPEC_MODEL_FACTORY =
@@ -55,8 +73,9 @@ public class ComponentGenerateService {
   private static final PsiDiffSectionSpecModelFactory DIFF_SECTION_SPEC_MODEL_FACTORY =
       new PsiDiffSectionSpecModelFactory();
   private final Set<SpecUpdateNotifier> listeners = Collections.synchronizedSet(new HashSet<>());
-  private final Map<String, SpecModel> specFqnToModelMap =
-      Collections.synchronizedMap(createLRUMap(50));
+  private final Map<String, CachedSpecModel> specFqnToModelMap =
+      Collections.synchronizedMap(
+          createLRUMap(Registry.intValue(CACHE_SIZE_REGISTRY_KEY, DEFAULT_CACHE_SIZE)));
 
   public interface SpecUpdateNotifier {
     void onSpecModelUpdated(PsiClass specCls);
@@ -99,22 +118,32 @@ public class ComponentGenerateService {
     return getOrCreateSpecModel(specClass, true);
   }
 
+  /**
+   * @param useCachedValue if false, the model is rebuilt even if the cached one is up to date.
+   * @return the model of the given Spec, or null if it is not a Spec. Must be called from a read
+   *     action.
+   */
   @Nullable
   public SpecModel getOrCreateSpecModel(PsiClass specClass, boolean useCachedValue) {
-    final SpecModel model;
     final String specFQN = specClass.getQualifiedName();
+    if (specFQN == null) return null;
 
-    synchronized (specFqnToModelMap) {
-      if (useCachedValue && specFqnToModelMap.containsKey(specFQN)) {
-        return specFqnToModelMap.get(specFQN);
-      }
+    if (useCachedValue) {
+      final SpecModel cachedModel = getCachedSpecModel(specFQN, specClass);
+      if (cachedModel != null) return cachedModel;
+    }
 
-      model = createModel(specClass);
-      if (model == null) return null;
+    // Created outside of the lock, so that a slow Spec doesn't block other callers. Read actions
+    // may be cancelled here, in which case nothing is cached.
+    final long structureStamp = getStructureStamp(specClass);
+    final PsiFile specFile = specClass.getContainingFile();
+    final long fileStamp = specFile == null ? -1 : specFile.getModificationStamp();
+    final SpecModel model = createModel(specClass);
+    if (model == null) return null;
 
-      // New model might be malformed to generate component, but it's accurate to the Spec
-      specFqnToModelMap.put(specFQN, model);
-    }
+    // New model might be malformed to generate component, but it's accurate to the Spec
+    specFqnToModelMap.put(
+        specFQN, new CachedSpecModel(model, specFile, fileStamp, structureStamp));
 
     Set<SpecUpdateNotifier> copy;
     synchronized (listeners) {
@@ -125,6 +154,53 @@ public class ComponentGenerateService {
     return model;
   }
 
+  /**
+   * Passes the model of the given Spec to {@code callback} on the UI thread. If there is no up to
+   * date model in the cache, it is created in a background read action, which is restarted if a
+   * write action happens meanwhile, and dropped once {@code parent} is disposed.
+   */
+  public void getOrCreateSpecModelAsync(
+      PsiClass specClass, Disposable parent, Consumer<SpecModel> callback) {
+    final String specFQN = specClass.getQualifiedName();
+    final SpecModel cachedModel = specFQN == null ? null : getCachedSpecModel(specFQN, specClass);
+    if (cachedModel != null || specFQN == null) {
+      callback.accept(cachedModel);
+      return;
+    }
+    if (ApplicationManager.getApplication().isUnitTestMode()) {
+      callback.accept(ReadAction.compute(() -> getOrCreateSpecModel(specClass)));
+      return;
+    }
+    ReadAction.nonBlocking(() -> specClass.isValid() ? getOrCreateSpecModel(specClass) : null)
+        .inSmartMode(specClass.getProject())
+        .expireWith(parent)
+        .finishOnUiThread(ModalityState.NON_MODAL, callback)
+        .submit(AppExecutorUtil.getAppExecutorService());
+  }
+
+  /** Drops all the cached models. */
+  void invalidateAll() {
+    specFqnToModelMap.clear();
+  }
+
+  @Nullable
+  private SpecModel getCachedSpecModel(String specFQN, PsiClass specClass) {
+    final CachedSpecModel cached = specFqnToModelMap.get(specFQN);
+    if (cached == null) return null;
+
+    if (!cached.isUpToDate(getStructureStamp(specClass))) {
+      specFqnToModelMap.remove(specFQN, cached);
+      return null;
+    }
+    return cached.model;
+  }
+
+  private static long getStructureStamp(PsiClass specClass) {
+    return PsiModificationTracker.SERVICE
+        .getInstance(specClass.getProject())
+        .getJavaStructureModificationCount();
+  }
+
   /**
    * Generates new {@link SpecModel} from the given {@link PsiClass}.
    *
@@ -141,16 +217,19 @@ public class ComponentGenerateService {
     if (layoutSpecModel != null) {
       return layoutSpecModel;
     }
+    ProgressManager.checkCanceled();
     final MountSpecModel mountSpecModel =
         MOUNT_SPEC_MODEL_FACTORY.createWithPsi(specCls.getProject(), specCls, null);
     if (mountSpecModel != null) {
       return mountSpecModel;
     }
+    ProgressManager.checkCanceled();
     final GroupSectionSpecModel groupSectionSpecModel =
         GROUP_SECTION_SPEC_MODEL_FACTORY.createWithPsi(specCls.getProject(), specCls, null);
     if (groupSectionSpecModel != null) {
       return groupSectionSpecModel;
     }
+    ProgressManager.checkCanceled();
     return DIFF_SECTION_SPEC_MODEL_FACTORY.createWithPsi(specCls.getProject(), specCls, null);
   }
 
@@ -162,6 +241,33 @@ public class ComponentGenerateService {
         .toString();
   }
 
+  /**
+   * A {@link SpecModel} along with the modification stamps of the PSI it was created from. The
+   * model also depends on classes outside of the Spec file, like its supertypes or event classes,
+   * which is why any change to the structure of Java classes invalidates it too, while edits
+   * inside code blocks of other files don't.
+   */
+  private static class CachedSpecModel {
+    final SpecModel model;
+    @Nullable final PsiFile file;
+    final long fileStamp;
+    final long structureStamp;
+
+    CachedSpecModel(SpecModel model, @Nullable PsiFile file, long fileStamp, long structureStamp) {
+      this.model = model;
+      this.file = file;
+      this.fileStamp = fileStamp;
+      this.structureStamp = structureStamp;
+    }
+
+    boolean isUpToDate(long currentStructureStamp) {
+      return file != null
+          && file.isValid()
+          && file.getModificationStamp() == fileStamp
+          && currentStructureStamp == structureStamp;
+    }
+  }
+
   private static <K, V> Map<K, V> createLRUMap(final int maxEntries) {
     return new LinkedHashMap<K, V>(maxEntries * 10 / 7, 0.7f, true) {
       @Override
@@ -168,17 +168,38 @@ class ComponentStructureView implements Disposable {
       loggingType = "not_spec";
     }
 
+    if (selectedClass == null) {
+      showView(null, selectedEditor, selectedFile, loggingType);
+      return;
+    }
+    // Model is created in background if it's not cached, to keep the UI responsive for big Specs
+    ComponentGenerateService.getInstance()
+        .getOrCreateSpecModelAsync(
+            selectedClass,
+            this,
+            model -> showView(model, selectedEditor, selectedFile, loggingType));
+  }
+
+  private synchronized void showView(
+      @Nullable SpecModel model,
+      @Nullable FileEditor selectedEditor,
+      @Nullable PsiFile selectedFile,
+      String loggingType) {
+    // Sanity check in case view was disposed or another file was selected meanwhile
+    if (contentManager == null || contentContainer == null) return;
+    if (selectedEditor != FileEditorManager.getInstance(project).getSelectedEditor()) return;
+
     final StructureView oldStructure = structureView;
     final Map<String, String> data = new HashMap<>();
     data.put(EventLogger.KEY_TYPE, loggingType);
     // Overridden below
     data.put(EventLogger.KEY_RESULT, "fail");
     final JComponent newView =
-        Optional.ofNullable(selectedClass)
-            .map(ComponentGenerateService.getInstance()::getOrCreateSpecModel)
+        Optional.ofNullable(model)
             .map(
-                model -> {
-                  structureView = createStructureView(model, selectedEditor, selectedFile, project);
+                specModel -> {
+                  structureView =
+                      createStructureView(specModel, selectedEditor, selectedFile, project);
                   data.put(EventLogger.KEY_RESULT, "success");
                   return structureView.getComponent();
                 })
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.intellij.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.intellij.LithoPluginIntellijTest;
+import com.facebook.litho.intellij.LithoPluginUtils;
+import com.facebook.litho.intellij.PsiSearchUtils;
+import com.facebook.litho.specmodels.model.SpecModel;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares completion and red symbols generation with and without cached Spec models. Timings are
+ * only printed, as they depend on the machine running the tests, so this isn't part of the default
+ * suite and has to be run manually. Cache invalidation is covered by {@link
+ * ComponentGenerateServiceTest}.
+ */
+@Ignore("Benchmark, run manually")
+public class ComponentGenerateServiceBenchmarkTest extends LithoPluginIntellijTest {
+  private static final int ITERATIONS = 20;
+
+  public ComponentGenerateServiceBenchmarkTest() {
+    super("testdata/completion");
+  }
+
+  @Before
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    PsiSearchUtils.getInstance().addMock("Layout", null);
+  }
+
+  @After
+  @Override
+  public void tearDown() throws Exception {
+    ComponentGenerateService.getInstance().invalidateAll();
+    PsiSearchUtils.getInstance().clearMocks();
+    super.tearDown();
+  }
+
+  @Test
+  public void completion_withCachedSpecModel_returnsSameResults() throws IOException {
+    testHelper.configure("EventHandlerCompletionContributorTest.java");
+    ApplicationManager.getApplication()
+        .invokeAndWait(
+            () -> {
+              final CodeInsightTestFixture fixture = testHelper.getFixture();
+              final ComponentGenerateService service = ComponentGenerateService.getInstance();
+
+              final long[] coldNs = new long[ITERATIONS];
+              List<String> coldCompletion = null;
+              for (int i = 0; i < ITERATIONS; i++) {
+                service.invalidateAll();
+                final long start = System.nanoTime();
+                fixture.complete(CompletionType.BASIC);
+                coldNs[i] = System.nanoTime() - start;
+                coldCompletion = fixture.getLookupElementStrings();
+                LookupManager.getInstance(fixture.getProject()).hideActiveLookup();
+              }
+
+              final long[] warmNs = new long[ITERATIONS];
+              List<String> warmCompletion = null;
+              for (int i = 0; i < ITERATIONS; i++) {
+                final long start = System.nanoTime();
+                fixture.complete(CompletionType.BASIC);
+                warmNs[i] = System.nanoTime() - start;
+                warmCompletion = fixture.getLookupElementStrings();
+                LookupManager.getInstance(fixture.getProject()).hideActiveLookup();
+              }
+
+              report("completion", coldNs, warmNs);
+              assertThat(warmCompletion).isNotNull();
+              assertThat(warmCompletion).isEqualTo(coldCompletion);
+            });
+  }
+
+  @Test
+  public void createLithoFileContent_withCachedSpecModel_reusesModel() throws IOException {
+    final PsiFile file = testHelper.configure("LayoutSpec.java");
+    ApplicationManager.getApplication()
+        .invokeAndWait(
+            () -> {
+              final PsiClass specCls = LithoPluginUtils.getFirstClass(file, cls -> true).get();
+              final ComponentGenerateService service = ComponentGenerateService.getInstance();
+
+              final long[] coldNs = new long[ITERATIONS];
+              Pair<String, String> coldContent = null;
+              for (int i = 0; i < ITERATIONS; i++) {
+                service.invalidateAll();
+                final long start = System.nanoTime();
+                coldContent = service.createLithoFileContent(specCls);
+                coldNs[i] = System.nanoTime() - start;
+              }
+              final SpecModel cachedModel = service.getOrCreateSpecModel(specCls);
+
+              final long[] warmNs = new long[ITERATIONS];
+              Pair<String, String> warmContent = null;
+              for (int i = 0; i < ITERATIONS; i++) {
+                final long start = System.nanoTime();
+                warmContent = service.createLithoFileContent(specCls);
+                warmNs[i] = System.nanoTime() - start;
+              }
+
+              report("red symbols", coldNs, warmNs);
+              assertThat(cachedModel).isNotNull();
+              assertThat(service.getOrCreateSpecModel(specCls)).isSameAs(cachedModel);
+              assertThat(warmContent).isEqualTo(coldContent);
+            });
+  }
+
+  private static void report(String name, long[] coldNs, long[] warmNs) {
+    System.out.println(
+        name
+            + ": median "
+            + median(coldNs) / 1000
+            + "us without cached model, "
+            + median(warmNs) / 1000
+            + "us with cached model");
+  }
+
+  private static long median(long[] values) {
+    final long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+}
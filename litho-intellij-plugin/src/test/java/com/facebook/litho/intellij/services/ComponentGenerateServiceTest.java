@@ -23,8 +23,12 @@ import com.facebook.litho.intellij.LithoPluginUtils;
 import com.facebook.litho.intellij.PsiSearchUtils;
 import com.facebook.litho.specmodels.model.SpecModel;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiModificationTracker;
 import java.io.IOException;
 import org.junit.After;
 import org.junit.Before;
@@ -46,10 +50,68 @@ public class ComponentGenerateServiceTest extends LithoPluginIntellijTest {
   @After
   @Override
   public void tearDown() throws Exception {
+    ComponentGenerateService.getInstance().invalidateAll();
     super.tearDown();
     PsiSearchUtils.getInstance().clearMocks();
   }
 
+  @Test
+  public void getSpecModel_whenSpecFileChanges_createsNewSpecModel() throws IOException {
+    final PsiFile psiFile = testHelper.configure("LayoutSpec.java");
+    ApplicationManager.getApplication()
+        .invokeAndWait(
+            () -> {
+              final ComponentGenerateService service = ComponentGenerateService.getInstance();
+              final PsiClass specCls = LithoPluginUtils.getFirstClass(psiFile, cls -> true).get();
+              final SpecModel specModel = service.getOrCreateSpecModel(specCls);
+              assertThat(specModel).isNotNull();
+              assertThat(service.getOrCreateSpecModel(specCls)).isSameAs(specModel);
+
+              final long structureStamp = getStructureStamp();
+              final Document document = testHelper.getFixture().getEditor().getDocument();
+              final int methodBodyOffset = document.getText().indexOf("{}") + 1;
+              WriteCommandAction.runWriteCommandAction(
+                  testHelper.getProject(),
+                  () -> {
+                    document.insertString(methodBodyOffset, "int i = 0;");
+                    PsiDocumentManager.getInstance(testHelper.getProject())
+                        .commitDocument(document);
+                  });
+              // Only the Spec file changed, not the structure of the Java classes.
+              assertThat(getStructureStamp()).isEqualTo(structureStamp);
+
+              final PsiClass updatedSpecCls =
+                  LithoPluginUtils.getFirstClass(psiFile, cls -> true).get();
+              final SpecModel updatedSpecModel = service.getOrCreateSpecModel(updatedSpecCls);
+              assertThat(updatedSpecModel).isNotNull();
+              assertThat(updatedSpecModel).isNotSameAs(specModel);
+            });
+  }
+
+  @Test
+  public void getSpecModel_whenJavaStructureChanges_createsNewSpecModel() throws IOException {
+    final PsiFile psiFile = testHelper.configure("LayoutSpec.java");
+    ApplicationManager.getApplication()
+        .invokeAndWait(
+            () -> {
+              final ComponentGenerateService service = ComponentGenerateService.getInstance();
+              final PsiClass specCls = LithoPluginUtils.getFirstClass(psiFile, cls -> true).get();
+              final SpecModel specModel = service.getOrCreateSpecModel(specCls);
+              assertThat(specModel).isNotNull();
+              assertThat(service.getOrCreateSpecModel(specCls)).isSameAs(specModel);
+
+              final long fileStamp = psiFile.getModificationStamp();
+              final long structureStamp = getStructureStamp();
+              testHelper.getFixture().addClass("class OtherClass {}");
+              assertThat(getStructureStamp()).isNotEqualTo(structureStamp);
+              assertThat(psiFile.getModificationStamp()).isEqualTo(fileStamp);
+
+              final SpecModel updatedSpecModel = service.getOrCreateSpecModel(specCls);
+              assertThat(updatedSpecModel).isNotNull();
+              assertThat(updatedSpecModel).isNotSameAs(specModel);
+            });
+  }
+
   @Test
   public void
       getSpecModel_whenLayoutSpecModelForDifferentPsiClassInstanceWithSameFqnExists_returnsExistingSpecModel()
@@ -104,4 +166,10 @@ public class ComponentGenerateServiceTest extends LithoPluginIntellijTest {
               assertThat(specModel2).isEqualTo(specModel1);
             });
   }
+
+  private long getStructureStamp() {
+    return PsiModificationTracker.SERVICE
+        .getInstance(testHelper.getProject())
+        .getJavaStructureModificationCount();
+  }
 }
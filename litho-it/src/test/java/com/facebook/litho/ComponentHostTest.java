@@ -264,6 +264,33 @@ public class ComponentHostTest {
     verify(touchableDrawable, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
   }
 
+  @Test
+  public void testOnTouchWithTouchables_afterMountChanges_dispatchesToCurrentTouchables() {
+    TouchableDrawable touchableDrawable1 = spy(new TouchableDrawable());
+    TouchableDrawable touchableDrawable2 = spy(new TouchableDrawable());
+    TouchableDrawable touchableDrawable3 = spy(new TouchableDrawable());
+
+    MountItem mountItem1 = mount(1, touchableDrawable1);
+    mHost.onTouchEvent(mock(MotionEvent.class));
+    verify(touchableDrawable1, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+
+    unmount(1, mountItem1);
+    MountItem mountItem2 = mount(3, touchableDrawable2);
+    mount(4, touchableDrawable3);
+    mHost.onTouchEvent(mock(MotionEvent.class));
+
+    // The last drawn touchable handles the event.
+    verify(touchableDrawable1, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+    verify(touchableDrawable2, never()).onTouchEvent((MotionEvent) any(), (View) any());
+    verify(touchableDrawable3, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+
+    mHost.moveItem(mountItem2, 3, 5);
+    mHost.onTouchEvent(mock(MotionEvent.class));
+
+    verify(touchableDrawable2, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+    verify(touchableDrawable3, times(1)).onTouchEvent((MotionEvent) any(), (View) any());
+  }
+
   @Test
   public void testMoveItem() {
     MountItem mountItem1 = mount(1, new ColorDrawable());
@@ -21,7 +21,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import android.content.Context;
 import android.view.View;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.AdaptiveItemPool;
 import com.facebook.rendercore.MountItemsPool;
+import com.facebook.rendercore.RenderCoreConfig;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,14 +38,18 @@ public class ComponentPoolingTest {
 
   private final Context mContext = RuntimeEnvironment.application;
 
+  private boolean mUseAdaptiveMountItemsPools;
+
   @Before
   public void setup() {
+    mUseAdaptiveMountItemsPools = RenderCoreConfig.useAdaptiveMountItemsPools;
     MountItemsPool.clear();
   }
 
   @After
   public void cleanup() {
     MountItemsPool.clear();
+    RenderCoreConfig.useAdaptiveMountItemsPools = mUseAdaptiveMountItemsPools;
   }
 
   @Test
@@ -87,6 +93,41 @@ public class ComponentPoolingTest {
     assertThat(component.getOnCreateMountContentCount()).isEqualTo(POOL_SIZE + 1);
   }
 
+  @Test
+  public void testAdaptivePools_replaceDefaultPool() {
+    RenderCoreConfig.useAdaptiveMountItemsPools = true;
+    final PooledComponent component = new PooledComponent();
+
+    assertThat(component.createRecyclingPool()).isNull();
+
+    MountItemsPool.release(
+        mContext, component, MountItemsPool.acquireMountContent(mContext, component));
+
+    assertThat(MountItemsPool.getAdaptiveItemPools()).hasSize(1);
+    final AdaptiveItemPool pool = MountItemsPool.getAdaptiveItemPools().get(0);
+    assertThat(pool.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAdaptivePools_keepCustomPool() {
+    RenderCoreConfig.useAdaptiveMountItemsPools = true;
+    final MountContentPool customPool =
+        new DefaultMountContentPool("CustomPool", POOL_SIZE, true) {};
+    final PooledComponent component =
+        new PooledComponent() {
+          @Override
+          protected MountContentPool onCreateMountContentPool() {
+            return customPool;
+          }
+        };
+
+    assertThat(component.createRecyclingPool()).isSameAs(customPool);
+
+    MountItemsPool.acquireMountContent(mContext, component);
+
+    assertThat(MountItemsPool.getAdaptiveItemPools()).isEmpty();
+  }
+
   private static class PooledComponent extends Component {
     private int mOnCreateMountContentCount = 0;
 
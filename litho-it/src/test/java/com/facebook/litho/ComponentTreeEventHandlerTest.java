@@ -106,4 +106,33 @@ public class ComponentTreeEventHandlerTest {
 
     assertThat(eventHandlersController.getEventHandlers().size()).isEqualTo(1);
   }
+
+  @Test
+  public void testRebindingSameEntriesKeepsThemAndRebindsInPlace() {
+    Component component = mock(Component.class);
+    Component newComponent = mock(Component.class);
+    final String componentGlobalKey = "component1";
+    ComponentContext scopedContext =
+        ComponentContext.withComponentScope(
+            mLayoutStateContext, mContext, component, componentGlobalKey);
+
+    ComponentTree componentTree = ComponentTree.create(mContext, component).build();
+    EventHandlersController eventHandlersController = componentTree.getEventHandlersController();
+
+    EventHandler eventHandler = scopedContext.newEventHandler(1);
+    componentTree.recordEventHandler(scopedContext, eventHandler);
+
+    for (int i = 0; i < 3; i++) {
+      eventHandlersController.bindEventHandlers(scopedContext, newComponent, componentGlobalKey);
+      eventHandlersController.clearUnusedEventHandlers();
+
+      assertThat(eventHandlersController.getEventHandlers().size()).isEqualTo(1);
+    }
+    assertThat(eventHandler.mHasEventDispatcher).isSameAs(newComponent);
+
+    // Not bound by the last commit, so it is not used anymore.
+    eventHandlersController.clearUnusedEventHandlers();
+
+    assertThat(eventHandlersController.getEventHandlers()).isEmpty();
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.LegacyLithoViewRule;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SimpleMountSpecTester;
+import com.facebook.litho.widget.Text;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class DebugComponentChangeTrackerTest {
+
+  @Rule public LegacyLithoViewRule mLegacyLithoViewRule = new LegacyLithoViewRule();
+
+  private boolean mWasChangeTrackingEnabled;
+
+  @Before
+  public void setUp() {
+    mWasChangeTrackingEnabled = ComponentsConfiguration.isDebugChangeTrackingEnabled;
+    ComponentsConfiguration.isDebugChangeTrackingEnabled = true;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.isDebugChangeTrackingEnabled = mWasChangeTrackingEnabled;
+  }
+
+  @Test
+  public void testRecordsRemovedAndChangedComponents() {
+    final ComponentContext c = mLegacyLithoViewRule.getContext();
+    mLegacyLithoViewRule
+        .setRoot(
+            Column.create(c)
+                .key("column")
+                .child(Text.create(c).key("text").text("Hello"))
+                .child(
+                    SimpleMountSpecTester.create(c).key("simple").widthPx(100).heightPx(100)))
+        .attachToWindow()
+        .measure()
+        .layout();
+
+    final ComponentTree componentTree = mLegacyLithoViewRule.getComponentTree();
+    final DebugComponentChangeTracker tracker =
+        DebugComponentChangeTracker.getInstance(componentTree);
+    assertThat(tracker).isNotNull();
+    final long revision = tracker.getRevision();
+
+    mLegacyLithoViewRule.setRoot(
+        Column.create(c).key("column").child(Text.create(c).key("text").text("World")).build());
+
+    final List<DebugComponentChangeTracker.Delta> deltas = tracker.getDeltasSince(revision);
+    assertThat(deltas).hasSize(1);
+
+    final DebugComponentChangeTracker.Delta delta = deltas.get(0);
+    assertThat(delta.added).isEmpty();
+    assertThat(delta.removed).hasSize(1);
+    assertThat(delta.hasStructuralChanges()).isTrue();
+
+    boolean hasChangedText = false;
+    for (String globalKey : delta.changed) {
+      final DebugComponent component = DebugComponent.getInstance(componentTree, globalKey);
+      assertThat(component).isNotNull();
+      assertThat(component.getGlobalKey()).isEqualTo(globalKey);
+      hasChangedText |= component.getComponent() instanceof Text;
+    }
+    assertThat(hasChangedText).isTrue();
+    assertThat(DebugComponent.getInstance(componentTree, delta.removed.get(0))).isNull();
+  }
+
+  @Test
+  public void testDroppedDeltasRequireFullRefresh() {
+    final DebugComponentChangeTracker tracker = new DebugComponentChangeTracker();
+    final List<String> noKeys = Collections.emptyList();
+    for (int i = 0; i <= DebugComponentChangeTracker.CAPACITY; i++) {
+      tracker.add(noKeys, noKeys, noKeys);
+    }
+
+    assertThat(tracker.getDeltasSince(0)).isNull();
+    assertThat(tracker.getDeltasSince(1)).hasSize(DebugComponentChangeTracker.CAPACITY);
+    assertThat(tracker.getDeltasSince(1).get(0).revision).isEqualTo(2);
+    assertThat(tracker.getDeltasSince(tracker.getRevision())).isEmpty();
+  }
+
+  @Test
+  public void testDebugComponentsAreReusedAcrossWalks() {
+    final ComponentContext c = mLegacyLithoViewRule.getContext();
+    mLegacyLithoViewRule
+        .setRoot(
+            Column.create(c)
+                .child(Text.create(c).text("Hello"))
+                .child(SimpleMountSpecTester.create(c).widthPx(100).heightPx(100)))
+        .attachToWindow()
+        .measure()
+        .layout();
+
+    final DebugComponent root =
+        DebugComponent.getRootInstance(mLegacyLithoViewRule.getComponentTree());
+    final DebugComponent rootAgain =
+        DebugComponent.getRootInstance(mLegacyLithoViewRule.getComponentTree());
+
+    assertThat(rootAgain).isSameAs(root);
+    assertThat(root.getChildComponents()).hasSize(2);
+    assertThat(root.getChildComponents().get(0)).isSameAs(rootAgain.getChildComponents().get(0));
+  }
+}
@@ -94,4 +94,18 @@ public class EventHandlerTest {
     assertThat(eventHandler1.isEquivalentTo(eventHandler2)).isTrue();
     assertThat(eventHandler2.isEquivalentTo(eventHandler1)).isTrue();
   }
+
+  @Test
+  public void testIsEquivalentToWithCachedParamsHash() {
+    EventHandler eventHandler1 = new EventHandler(mHasEventDispatcher, 1, new Object[] {1, 2, 3});
+    EventHandler eventHandler2 = new EventHandler(mHasEventDispatcher, 1, new Object[] {2, 2, 3});
+    EventHandler eventHandler3 = new EventHandler(mHasEventDispatcher, 1, new Object[] {1, 3, 3});
+
+    assertThat(eventHandler1.getParamsHash()).isEqualTo(eventHandler2.getParamsHash());
+    assertThat(eventHandler1.getParamsHash()).isNotEqualTo(eventHandler3.getParamsHash());
+
+    assertThat(eventHandler1.isEquivalentTo(eventHandler2)).isTrue();
+    assertThat(eventHandler1.isEquivalentTo(eventHandler3)).isFalse();
+    assertThat(eventHandler3.isEquivalentTo(eventHandler1)).isFalse();
+  }
 }
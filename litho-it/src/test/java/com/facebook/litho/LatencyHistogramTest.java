@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.stats.LatencyHistogram;
+import com.facebook.litho.stats.LithoStats;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class LatencyHistogramTest {
+
+  @After
+  public void tearDown() {
+    LithoStats.setLatencyHistogramsEnabled(false);
+    LithoStats.resetLatencyHistograms();
+  }
+
+  @Test
+  public void snapshot_reportsCountMeanAndMax() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(1_000_000);
+    histogram.recordNanos(3_000_000);
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount()).isEqualTo(2);
+    assertThat(snapshot.getTotalMicros()).isEqualTo(4000);
+    assertThat(snapshot.getMeanMicros()).isEqualTo(2000);
+    assertThat(snapshot.getMaxMicros()).isEqualTo(3000);
+  }
+
+  @Test
+  public void snapshot_percentilesAreWithinBucketPrecision() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.recordNanos(i * 1_000_000L);
+    }
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getPercentileMicros(50)).isBetween(50_000L, 56_250L);
+    assertThat(snapshot.getPercentileMicros(99)).isBetween(99_000L, 100_000L);
+    assertThat(snapshot.getPercentileMicros(100)).isEqualTo(100_000L);
+  }
+
+  @Test
+  public void reset_clearsRecordedValues() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(5_000_000, 12);
+
+    histogram.reset();
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(0);
+    assertThat(snapshot.getAllocationCount()).isEqualTo(0);
+    assertThat(snapshot.getPercentileMicros(50)).isEqualTo(0);
+  }
+
+  @Test
+  public void snapshotAndReset_reportsAndClearsRecordedValues() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(2_000_000, 3);
+
+    final LatencyHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+    histogram.recordNanos(1_000_000);
+
+    assertThat(snapshot.getCount()).isEqualTo(1);
+    assertThat(snapshot.getMaxMicros()).isEqualTo(2000);
+    assertThat(snapshot.getAllocationCount()).isEqualTo(3);
+    final LatencyHistogram.Snapshot next = histogram.snapshot();
+    assertThat(next.getCount()).isEqualTo(1);
+    assertThat(next.getMaxMicros()).isEqualTo(1000);
+    assertThat(next.getAllocationCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void resetLatencyHistograms_keepsRecordingAfterReset() {
+    LithoStats.setLatencyHistogramsEnabled(true);
+    LithoStats.recordLatency(LithoStats.LATENCY_MOUNT, "tag", "Root", 1_000_000);
+
+    LithoStats.resetLatencyHistograms();
+    assertThat(LithoStats.getLatencySnapshots()).isEmpty();
+    LithoStats.recordLatency(LithoStats.LATENCY_MOUNT, "tag", "Root", 2_000_000);
+
+    final List<LithoStats.LatencySnapshot> snapshots = LithoStats.getLatencySnapshots();
+    assertThat(snapshots).hasSize(1);
+    assertThat(snapshots.get(0).getHistogram().getCount()).isEqualTo(1);
+    assertThat(snapshots.get(0).getHistogram().getMaxMicros()).isEqualTo(2000);
+  }
+
+  @Test
+  public void recordLatency_whenDisabled_doesNotRecord() {
+    LithoStats.recordLatency(LithoStats.LATENCY_MOUNT, "tag", "Root", 1_000_000);
+
+    assertThat(LithoStats.getLatencySnapshots()).isEmpty();
+  }
+
+  @Test
+  public void recordLatency_whenEnabled_keysByLogTagRootAndMetric() {
+    LithoStats.setLatencyHistogramsEnabled(true);
+
+    LithoStats.recordLatency(LithoStats.LATENCY_MOUNT, "tag", "Root", 1_000_000);
+    LithoStats.recordLatency(LithoStats.LATENCY_MOUNT, "tag", "Root", 2_000_000);
+    LithoStats.recordLatency(LithoStats.LATENCY_CALCULATE_LAYOUT, null, "Root", 1_000_000);
+
+    final List<LithoStats.LatencySnapshot> snapshots = LithoStats.getAndResetLatencySnapshots();
+
+    assertThat(snapshots).hasSize(2);
+    for (LithoStats.LatencySnapshot snapshot : snapshots) {
+      assertThat(snapshot.getRootName()).isEqualTo("Root");
+      if (snapshot.getMetric() == LithoStats.LATENCY_MOUNT) {
+        assertThat(snapshot.getLogTag()).isEqualTo("tag");
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(2);
+      } else {
+        assertThat(snapshot.getMetric()).isEqualTo(LithoStats.LATENCY_CALCULATE_LAYOUT);
+        assertThat(snapshot.getLogTag()).isEmpty();
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(1);
+      }
+    }
+    assertThat(LithoStats.getLatencySnapshots()).isEmpty();
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.LayoutState.CalculateLayoutSource;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class LayoutStallDetectorTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.enableLayoutStallDetection = false;
+    LayoutStallDetector.reset();
+  }
+
+  @Test
+  public void onLayoutStarted_whenDisabled_doesNotTrack() {
+    assertThat(LayoutStallDetector.onLayoutStarted()).isNull();
+    assertThat(LayoutStallDetector.getCurrentStack()).isNull();
+  }
+
+  @Test
+  public void onLayoutStarted_whenEnabled_tracksOnCurrentThread() {
+    ComponentsConfiguration.enableLayoutStallDetection = true;
+
+    final LayoutStallDetector.ComponentStack stack = LayoutStallDetector.onLayoutStarted();
+
+    assertThat(stack).isNotNull();
+    assertThat(LayoutStallDetector.getCurrentStack()).isSameAs(stack);
+
+    LayoutStallDetector.onLayoutFinished(stack);
+    assertThat(LayoutStallDetector.getCurrentStack()).isNull();
+  }
+
+  @Test
+  public void onLayoutFinished_ofNestedLayout_restoresOuterLayout() {
+    ComponentsConfiguration.enableLayoutStallDetection = true;
+
+    final LayoutStallDetector.ComponentStack outer = LayoutStallDetector.onLayoutStarted();
+    final LayoutStallDetector.ComponentStack inner = LayoutStallDetector.onLayoutStarted();
+
+    assertThat(inner).isNotSameAs(outer);
+    assertThat(LayoutStallDetector.getCurrentStack()).isSameAs(inner);
+
+    LayoutStallDetector.onLayoutFinished(inner);
+    assertThat(LayoutStallDetector.getCurrentStack()).isSameAs(outer);
+
+    LayoutStallDetector.onLayoutFinished(outer);
+    assertThat(LayoutStallDetector.getCurrentStack()).isNull();
+  }
+
+  @Test
+  public void componentStack_describesInnermostComponents() {
+    final LayoutStallDetector.ComponentStack stack = new LayoutStallDetector.ComponentStack();
+    stack.push(Column.create(mContext).build());
+    stack.push(Row.create(mContext).build());
+
+    assertThat(stack.describe()).isEqualTo("Column>Row");
+
+    stack.pop();
+    assertThat(stack.describe()).isEqualTo("Column");
+
+    stack.pop();
+    stack.pop();
+    assertThat(stack.describe()).isEqualTo("<none>");
+  }
+
+  @Test
+  public void onWaitFinished_aggregatesStallsByRootAndBlamedComponents() {
+    final LayoutStallDetector.ComponentStack stack = new LayoutStallDetector.ComponentStack();
+    stack.push(Column.create(mContext).build());
+    stack.push(Row.create(mContext).build());
+
+    for (int i = 0; i < 2; i++) {
+      final LayoutStallDetector.Stall stall =
+          LayoutStallDetector.onWaitStarted(stack, "Root", CalculateLayoutSource.SET_ROOT_ASYNC);
+      LayoutStallDetector.onWaitFinished(stall, 5_000_000);
+    }
+    LayoutStallDetector.onWaitFinished(
+        LayoutStallDetector.onWaitStarted(null, "Root", CalculateLayoutSource.SET_ROOT_ASYNC),
+        1_000_000);
+
+    final List<LayoutStallDetector.StallSnapshot> snapshots =
+        LayoutStallDetector.getAndResetStallSnapshots();
+
+    assertThat(snapshots).hasSize(2);
+    for (LayoutStallDetector.StallSnapshot snapshot : snapshots) {
+      assertThat(snapshot.getRootName()).isEqualTo("Root");
+      assertThat(snapshot.getSource()).isEqualTo(CalculateLayoutSource.SET_ROOT_ASYNC);
+      if (snapshot.getBlamedComponents().equals("Column>Row")) {
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(2);
+        assertThat(snapshot.getHistogram().getMaxMicros()).isEqualTo(5000);
+      } else {
+        assertThat(snapshot.getBlamedComponents()).isEqualTo("<none>");
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(1);
+      }
+    }
+    assertThat(LayoutStallDetector.getAndResetStallSnapshots()).isEmpty();
+  }
+
+  @Test
+  public void getAndResetStallSnapshots_keepsReportingIntoExistingHistograms() {
+    final LayoutStallDetector.Stall first =
+        LayoutStallDetector.onWaitStarted(null, "Root", CalculateLayoutSource.SET_ROOT_ASYNC);
+    LayoutStallDetector.onWaitFinished(first, 1_000_000);
+    assertThat(LayoutStallDetector.getAndResetStallSnapshots()).hasSize(1);
+
+    final LayoutStallDetector.Stall second =
+        LayoutStallDetector.onWaitStarted(null, "Root", CalculateLayoutSource.SET_ROOT_ASYNC);
+    LayoutStallDetector.onWaitFinished(second, 2_000_000);
+
+    final List<LayoutStallDetector.StallSnapshot> snapshots =
+        LayoutStallDetector.getAndResetStallSnapshots();
+    assertThat(snapshots).hasSize(1);
+    assertThat(snapshots.get(0).getHistogram().getCount()).isEqualTo(1);
+    assertThat(snapshots.get(0).getHistogram().getMaxMicros()).isEqualTo(2000);
+  }
+
+  @Test
+  public void onWaitFinished_onceMaxHistogramsExist_recordsIntoOverflowHistogram() {
+    for (int i = 0; i <= LayoutStallDetector.MAX_HISTOGRAMS; i++) {
+      LayoutStallDetector.onWaitFinished(
+          LayoutStallDetector.onWaitStarted(null, "Root" + i, CalculateLayoutSource.SET_ROOT_ASYNC),
+          1_000_000);
+    }
+    LayoutStallDetector.onWaitFinished(
+        LayoutStallDetector.onWaitStarted(null, "Root0", CalculateLayoutSource.SET_ROOT_ASYNC),
+        1_000_000);
+
+    final List<LayoutStallDetector.StallSnapshot> snapshots =
+        LayoutStallDetector.getAndResetStallSnapshots();
+
+    assertThat(snapshots).hasSize(LayoutStallDetector.MAX_HISTOGRAMS + 1);
+    for (LayoutStallDetector.StallSnapshot snapshot : snapshots) {
+      if (snapshot.getRootName().equals(LayoutStallDetector.OVERFLOW)) {
+        assertThat(snapshot.getBlamedComponents()).isEqualTo(LayoutStallDetector.OVERFLOW);
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(1);
+      } else if (snapshot.getRootName().equals("Root0")) {
+        assertThat(snapshot.getHistogram().getCount()).isEqualTo(2);
+      }
+    }
+  }
+}
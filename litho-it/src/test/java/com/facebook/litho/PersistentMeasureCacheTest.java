@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.AT_MOST;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import androidx.annotation.Nullable;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.io.File;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class PersistentMeasureCacheTest {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(100, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(200, AT_MOST);
+
+  public @Rule TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private File mFile;
+
+  @Before
+  public void setUp() {
+    mFile = new File(mTemporaryFolder.getRoot(), "cache");
+  }
+
+  @Test
+  public void get_afterPut_returnsMeasuredSize() {
+    final PersistentMeasureCache cache = new PersistentMeasureCache(mFile, "config");
+    cache.put(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+
+    final Size size = new Size();
+    assertThat(cache.get(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, size)).isTrue();
+    assertThat(size.width).isEqualTo(100);
+    assertThat(size.height).isEqualTo(42);
+
+    assertThat(cache.get(new CacheableComponent("other"), WIDTH_SPEC, HEIGHT_SPEC, size)).isFalse();
+    assertThat(cache.get(new CacheableComponent("hello"), HEIGHT_SPEC, WIDTH_SPEC, size)).isFalse();
+  }
+
+  @Test
+  public void put_withoutStableKey_isIgnored() {
+    final PersistentMeasureCache cache = new PersistentMeasureCache(mFile, "config");
+    cache.put(new CacheableComponent(null), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+    cache.put(
+        Row.create(new ComponentContext(getApplicationContext())).build(),
+        WIDTH_SPEC,
+        HEIGHT_SPEC,
+        new Size(100, 42));
+
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void load_afterPersist_restoresEntries() throws Exception {
+    final PersistentMeasureCache cache = new PersistentMeasureCache(mFile, "config");
+    cache.put(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+    cache.persist();
+
+    final PersistentMeasureCache reloaded = new PersistentMeasureCache(mFile, "config");
+    reloaded.load();
+
+    final Size size = new Size();
+    assertThat(reloaded.get(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, size))
+        .isTrue();
+    assertThat(size.width).isEqualTo(100);
+    assertThat(size.height).isEqualTo(42);
+  }
+
+  @Test
+  public void load_withDifferentConfiguration_discardsFile() throws Exception {
+    final PersistentMeasureCache cache = new PersistentMeasureCache(mFile, "config");
+    cache.put(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+    cache.persist();
+
+    final PersistentMeasureCache reloaded = new PersistentMeasureCache(mFile, "otherConfig");
+    reloaded.load();
+
+    assertThat(reloaded.size()).isEqualTo(0);
+    assertThat(mFile.exists()).isFalse();
+  }
+
+  @Test
+  public void put_withRegisteredKeyProvider_isCached() {
+    PersistentMeasureCache.registerKeyProvider(
+        KeyedComponent.class,
+        new PersistentMeasureCache.KeyProvider<KeyedComponent>() {
+          @Override
+          public @Nullable String getPersistentMeasureKey(KeyedComponent component) {
+            return component.mKey;
+          }
+        });
+
+    final PersistentMeasureCache cache = new PersistentMeasureCache(mFile, "config");
+    cache.put(new KeyedComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+
+    final Size size = new Size();
+    assertThat(cache.get(new KeyedComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, size)).isTrue();
+    assertThat(size.height).isEqualTo(42);
+    assertThat(cache.get(new KeyedComponent("other"), WIDTH_SPEC, HEIGHT_SPEC, size)).isFalse();
+  }
+
+  @Test
+  public void persist_afterFailedPersist_writesEntries() throws Exception {
+    final File file = new File(new File(mTemporaryFolder.getRoot(), "missing"), "cache");
+    final PersistentMeasureCache cache = new PersistentMeasureCache(file, "config");
+    cache.put(new CacheableComponent("hello"), WIDTH_SPEC, HEIGHT_SPEC, new Size(100, 42));
+
+    try {
+      cache.persist();
+      fail("Expected persist to fail when the directory doesn't exist");
+    } catch (IOException e) {
+      // Expected.
+    }
+
+    assertThat(file.getParentFile().mkdir()).isTrue();
+    cache.persist();
+
+    final PersistentMeasureCache reloaded = new PersistentMeasureCache(file, "config");
+    reloaded.load();
+    assertThat(reloaded.size()).isEqualTo(1);
+  }
+
+  private static class CacheableComponent extends InlineLayoutSpec
+      implements PersistentMeasureCache.Cacheable {
+
+    private final @Nullable String mText;
+
+    CacheableComponent(@Nullable String text) {
+      mText = text;
+    }
+
+    @Override
+    public @Nullable String getPersistentMeasureKey() {
+      return mText;
+    }
+  }
+
+  private static class KeyedComponent extends InlineLayoutSpec {
+
+    private final String mKey;
+
+    KeyedComponent(String key) {
+      mKey = key;
+    }
+  }
+}
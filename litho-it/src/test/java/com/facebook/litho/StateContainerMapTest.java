@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class StateContainerMapTest {
+
+  private final StateContainer mFirst = KStateContainer.withNewState(null, 1);
+  private final StateContainer mSecond = KStateContainer.withNewState(null, 2);
+  private final StateContainer mThird = KStateContainer.withNewState(null, 3);
+
+  @Test
+  public void fork_changesAreNotVisibleToTheOtherMap() {
+    final StateContainerMap original = new StateContainerMap();
+    original.put("a", mFirst);
+    original.put("b", mSecond);
+
+    final StateContainerMap fork = original.fork();
+    fork.put("a", mThird);
+    fork.remove("b");
+    original.put("c", mThird);
+
+    assertThat(fork).hasSize(1).containsEntry("a", mThird).doesNotContainKey("b");
+    assertThat(original)
+        .hasSize(3)
+        .containsEntry("a", mFirst)
+        .containsEntry("b", mSecond)
+        .containsEntry("c", mThird);
+  }
+
+  @Test
+  public void remove_thenPut_restoresKey() {
+    final StateContainerMap original = new StateContainerMap();
+    original.put("a", mFirst);
+    final StateContainerMap fork = original.fork();
+
+    assertThat(fork.remove("a")).isSameAs(mFirst);
+    assertThat(fork.remove("a")).isNull();
+    assertThat(fork).isEmpty();
+
+    fork.put("a", mSecond);
+
+    assertThat(fork).hasSize(1).containsEntry("a", mSecond);
+    assertThat(fork.keySet()).containsExactly("a");
+  }
+
+  @Test
+  public void forkRetaining_onlyKeepsGivenKeys() {
+    final StateContainerMap original = new StateContainerMap();
+    original.put("a", mFirst);
+    original.put("b", mSecond);
+    original.put("c", mThird);
+
+    final StateContainerMap retained =
+        original.forkRetaining(new HashSet<>(Arrays.asList("a", "c", "d")));
+
+    assertThat(retained).hasSize(2).containsEntry("a", mFirst).containsEntry("c", mThird);
+    assertThat(original).hasSize(3);
+  }
+}
@@ -24,11 +24,22 @@ import static com.facebook.litho.SizeSpec.EXACTLY;
 import static com.facebook.litho.SizeSpec.makeSizeSpec;
 import static com.facebook.litho.StateContainer.StateUpdate;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.view.View;
 import com.facebook.litho.StateUpdateTestComponent.TestStateContainer;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.components.StateUpdateTestLayout;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.MockTimingSource;
+import com.facebook.litho.stats.LithoStats;
 import com.facebook.litho.testing.BackgroundLayoutLooperRule;
 import com.facebook.litho.testing.LegacyLithoViewRule;
 import com.facebook.litho.testing.Whitebox;
@@ -242,6 +253,79 @@ public class StateUpdatesTest {
         .isEqualTo(StateUpdateTestComponent.INITIAL_COUNT_STATE_VALUE + 1);
   }
 
+  @Test
+  public void testUpdateStateAsync_withFrameBatching_coalescesUpdatesUntilNextFrame() {
+    final MockTimingSource timingSource = new MockTimingSource();
+    timingSource.start();
+    DataFlowGraph.create(timingSource);
+    ChoreographerCompatImpl.setInstance(timingSource);
+    ComponentsConfiguration.batchAsyncStateUpdatesPerFrame = true;
+    LithoStats.resetAllCounters();
+
+    try {
+      mComponentTree.updateStateAsync(
+          mTestComponentKey, StateUpdateTestComponent.createIncrementStateUpdate(), "test", false);
+      mComponentTree.updateStateAsync(
+          mTestComponentKey, StateUpdateTestComponent.createIncrementStateUpdate(), "test", false);
+      mBackgroundLayoutLooperRule.runToEndOfTasksSync();
+
+      assertThat(LithoStats.getComponentCoalescedAsyncStateUpdateCount()).isEqualTo(1);
+      assertThat(AsyncStateUpdateBatcher.getInstance().getPendingTreeCount()).isEqualTo(1);
+      assertThat(getPendingStateUpdatesForComponent(mTestComponentKey)).hasSize(2);
+
+      timingSource.step(1);
+      mBackgroundLayoutLooperRule.runToEndOfTasksSync();
+
+      assertThat(AsyncStateUpdateBatcher.getInstance().getPendingTreeCount()).isEqualTo(0);
+      assertThat(getPendingStateUpdatesForComponent(mTestComponentKey)).isNullOrEmpty();
+      assertThat(mTestComponent.getComponentForStateUpdate().getCount(mContext))
+          .isEqualTo(StateUpdateTestComponent.INITIAL_COUNT_STATE_VALUE + 2);
+    } finally {
+      ComponentsConfiguration.batchAsyncStateUpdatesPerFrame = false;
+      timingSource.stop();
+      DataFlowGraph.setInstance(null);
+      ChoreographerCompatImpl.setInstance(null);
+    }
+  }
+
+  @Test
+  public void testUpdateStateAsync_withFrameBatching_releaseDropsPendingUpdate() {
+    final MockTimingSource timingSource = new MockTimingSource();
+    ChoreographerCompatImpl.setInstance(timingSource);
+    ComponentsConfiguration.batchAsyncStateUpdatesPerFrame = true;
+
+    try {
+      mComponentTree.updateStateAsync(
+          mTestComponentKey, StateUpdateTestComponent.createIncrementStateUpdate(), "test", false);
+      assertThat(AsyncStateUpdateBatcher.getInstance().getPendingTreeCount()).isEqualTo(1);
+
+      mComponentTree.release();
+
+      assertThat(AsyncStateUpdateBatcher.getInstance().getPendingTreeCount()).isEqualTo(0);
+    } finally {
+      ComponentsConfiguration.batchAsyncStateUpdatesPerFrame = false;
+      ChoreographerCompatImpl.setInstance(null);
+    }
+  }
+
+  @Test
+  public void testAsyncStateUpdateBatcher_flush_skipsReleasedTrees() {
+    final MockTimingSource timingSource = new MockTimingSource();
+    ChoreographerCompatImpl.setInstance(timingSource);
+    final ComponentTree releasedTree = mock(ComponentTree.class);
+    when(releasedTree.isReleased()).thenReturn(true);
+
+    try {
+      AsyncStateUpdateBatcher.getInstance().schedule(releasedTree, "test");
+      AsyncStateUpdateBatcher.getInstance().flush();
+
+      verify(releasedTree, never()).updateStateInternal(anyBoolean(), anyString(), anyBoolean());
+      assertThat(AsyncStateUpdateBatcher.getInstance().getPendingTreeCount()).isEqualTo(0);
+    } finally {
+      ChoreographerCompatImpl.setInstance(null);
+    }
+  }
+
   @Test
   public void testLazyUpdateState_doesNotTriggerRelayout() {
     setup(true);
@@ -30,9 +30,11 @@ import com.facebook.litho.animation.SpringTransition;
 import com.facebook.litho.animation.TransitionAnimationBinding;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -369,6 +371,38 @@ public class TransitionManagerAnimationCreationTest {
             createPropertyAnimation("test2", AnimatedProperties.Y, -20));
   }
 
+  @Test
+  public void testUnchangedTransitionIdsDoNotCreateAnimationStates() {
+    final LayoutState current =
+        createMockLayoutState(
+            Transition.parallel(),
+            createMockLayoutOutput("test", 0, 0),
+            createMockLayoutOutput("unchanged", 0, 0));
+    final LayoutState next =
+        createMockLayoutState(
+            Transition.parallel(
+                Transition.create(Transition.TransitionKeyType.GLOBAL, "test", "unchanged")
+                    .animate(AnimatedProperties.X)
+                    .animator(mTestVerificationAnimator)),
+            createMockLayoutOutput("test", 10, 0),
+            createMockLayoutOutput("unchanged", 0, 0));
+
+    mTransitionManager.setupTransitions(
+        current, next, TransitionManager.getRootTransition(next.getTransitions()));
+
+    final TransitionId testId = new TransitionId(TransitionId.Type.GLOBAL, "test", null);
+    final TransitionId unchangedId = new TransitionId(TransitionId.Type.GLOBAL, "unchanged", null);
+    assertThat(mCreatedAnimations)
+        .containsExactlyInAnyOrder(createPropertyAnimation("test", AnimatedProperties.X, 10));
+    assertThat(mTransitionManager.isAnimating(testId)).isTrue();
+    assertThat(mTransitionManager.isAnimating(unchangedId)).isFalse();
+
+    final Set<TransitionId> animatingIds = new HashSet<>();
+    mTransitionManager.collectAnimatingTransitionIds(
+        next.getTransitionIdMapping(), animatingIds);
+    assertThat(animatingIds).containsExactly(testId);
+  }
+
   private PropertyAnimation createPropertyAnimation(
       String key, AnimatedProperty property, float endValue) {
     final TransitionId transitionId = new TransitionId(TransitionId.Type.GLOBAL, key, null);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public final class WorkStealingLayoutHandlerTest {
+
+  private static final String TAG = "testTag";
+
+  private final WorkStealingLayoutHandler mHandler =
+      new WorkStealingLayoutHandler(new LayoutThreadPoolConfigurationImpl(2, 3), false);
+
+  private int mRunCounter;
+  private final Runnable mRunnable = () -> mRunCounter++;
+
+  @Test
+  public void testGetThreadCount_usesMaxPoolSize() {
+    assertThat(mHandler.getThreadCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testWorkerLoop_runsOwnQueueInOrderThenStealsFromOthers() {
+    final StringBuilder order = new StringBuilder();
+    mHandler.post(() -> order.append('a'), TAG);
+    mHandler.post(() -> order.append('b'), TAG);
+    mHandler.post(() -> order.append('c'), TAG);
+    mHandler.postAtFront(() -> order.append('d'), TAG);
+
+    assertThat(mHandler.getQueueDepth()).isEqualTo(4);
+    runQueuedLayouts();
+
+    assertThat(order.toString()).isEqualTo("dabc");
+    assertThat(mHandler.getQueueDepth()).isEqualTo(0);
+    assertThat(mHandler.getStealCount()).isEqualTo(2);
+    assertThat(mHandler.getExecutedCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void testRemove_removesAllInstancesOfRunnable() {
+    mHandler.post(mRunnable, TAG);
+    mHandler.post(mRunnable, TAG);
+    mHandler.post(() -> mRunCounter += 10, TAG);
+
+    mHandler.remove(mRunnable);
+
+    assertThat(mHandler.getQueueDepth()).isEqualTo(1);
+    runQueuedLayouts();
+    assertThat(mRunCounter).isEqualTo(10);
+    assertThat(mHandler.getExecutedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testThrowingLayout_doesNotStopWorker() {
+    mHandler.post(
+        () -> {
+          throw new RuntimeException("Layout failed");
+        },
+        TAG);
+    mHandler.post(mRunnable, TAG);
+
+    runQueuedLayouts();
+
+    assertThat(mRunCounter).isEqualTo(1);
+    assertThat(mHandler.getExecutedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testShutdown_rejectsNewLayouts() {
+    mHandler.shutdown();
+
+    assertThat(mHandler.isShutdown()).isTrue();
+    assertThatThrownBy(() -> mHandler.post(mRunnable, TAG))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> mHandler.postAtFront(mRunnable, TAG))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void testShutdown_defaultInstance_throws() {
+    assertThatThrownBy(() -> WorkStealingLayoutHandler.getDefaultInstance().shutdown())
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  /** Runs the queued layouts on the test thread, as the first layout thread would. */
+  private void runQueuedLayouts() {
+    mHandler.shutdown();
+    mHandler.runWorkerLoop(0);
+  }
+}
@@ -18,6 +18,7 @@ package com.facebook.litho;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -30,6 +31,8 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 @RunWith(LithoTestRunner.class)
 public class WorkingRangeContainerTest {
@@ -131,9 +134,57 @@ public class WorkingRangeContainerTest {
     verify(mComponent2, times(0)).dispatchOnExitedRange(mComponentContext, NAME);
   }
 
+  @Test
+  public void testCheckWorkingRangeAndDispatch_evaluatesSharedRangeOnce() {
+    final TestWorkingRange workingRange = new TestWorkingRange();
+    mWorkingRangeContainer.registerWorkingRange(NAME, workingRange, mScopedComponentInfo);
+    mWorkingRangeContainer.registerWorkingRange(NAME, workingRange, mScopedComponentInfo2);
+    final WorkingRangeStatusHandler statusHandler = new WorkingRangeStatusHandler();
+
+    mWorkingRangeContainer.checkWorkingRangeAndDispatch(0, 0, 1, 0, 1, statusHandler);
+
+    assertThat(workingRange.enterRangeCheckCount).isEqualTo(1);
+    verify(mComponent, times(1)).dispatchOnEnteredRange(mComponentContext, NAME);
+    verify(mComponent2, times(1)).dispatchOnEnteredRange(mComponentContext2, NAME);
+    assertThat(statusHandler.isInRange(NAME, mComponent, "component")).isTrue();
+    assertThat(statusHandler.isInRange(NAME, mComponent2, "component2")).isTrue();
+
+    mWorkingRangeContainer.checkWorkingRangeAndDispatch(0, 2, 3, 2, 3, statusHandler);
+
+    assertThat(workingRange.enterRangeCheckCount).isEqualTo(1);
+    verify(mComponent, times(1)).dispatchOnExitedRange(mComponentContext, NAME);
+    verify(mComponent2, times(1)).dispatchOnExitedRange(mComponentContext2, NAME);
+    assertThat(statusHandler.isInRange(NAME, mComponent, "component")).isFalse();
+    assertThat(statusHandler.isInRange(NAME, mComponent2, "component2")).isFalse();
+  }
+
+  @Test
+  public void testCheckWorkingRangeAndDispatch_dispatchesOutsideOfStatusHandlerLock() {
+    mWorkingRangeContainer.registerWorkingRange(NAME, mWorkingRange, mScopedComponentInfo);
+    final WorkingRangeStatusHandler statusHandler = new WorkingRangeStatusHandler();
+    final boolean[] heldLock = new boolean[1];
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                heldLock[0] = Thread.holdsLock(statusHandler);
+                return null;
+              }
+            })
+        .when(mComponent)
+        .dispatchOnEnteredRange(mComponentContext, NAME);
+
+    mWorkingRangeContainer.checkWorkingRangeAndDispatch(0, 0, 1, 0, 1, statusHandler);
+
+    verify(mComponent, times(1)).dispatchOnEnteredRange(mComponentContext, NAME);
+    assertThat(heldLock[0]).isFalse();
+    assertThat(statusHandler.isInRange(NAME, mComponent, "component")).isTrue();
+  }
+
   private static class TestWorkingRange implements WorkingRange {
 
     boolean isExitRangeCalled = false;
+    int enterRangeCheckCount = 0;
 
     @Override
     public boolean shouldEnterRange(
@@ -142,6 +193,7 @@ public class WorkingRangeContainerTest {
         int lastVisibleIndex,
         int firstFullyVisibleIndex,
         int lastFullyVisibleIndex) {
+      enterRangeCheckCount++;
       return isInRange(position, firstVisibleIndex, lastVisibleIndex);
     }
 
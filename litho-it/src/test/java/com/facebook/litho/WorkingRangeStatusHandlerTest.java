@@ -79,4 +79,43 @@ public class WorkingRangeStatusHandlerTest {
     boolean notInRange = !mWorkingRangeStateHandler.isInRange(NAME, mComponent, GLOBAL_KEY);
     assertThat(notInRange).isEqualTo(true);
   }
+
+  @Test
+  public void testClearResetsStatusAndInvalidatesIds() {
+    final int id = mWorkingRangeStateHandler.getId(NAME, GLOBAL_KEY);
+    final int generation = mWorkingRangeStateHandler.getGeneration();
+    synchronized (mWorkingRangeStateHandler) {
+      mWorkingRangeStateHandler.setStatusLocked(
+          generation, id, WorkingRangeStatusHandler.STATUS_IN_RANGE);
+    }
+    assertThat(mWorkingRangeStateHandler.isInRange(NAME, mComponent, GLOBAL_KEY)).isTrue();
+
+    mWorkingRangeStateHandler.clear();
+
+    assertThat(mWorkingRangeStateHandler.getGeneration()).isNotEqualTo(generation);
+    synchronized (mWorkingRangeStateHandler) {
+      assertThat(mWorkingRangeStateHandler.isInRangeLocked(generation, id)).isFalse();
+    }
+    assertThat(mWorkingRangeStateHandler.getStatus()).isEmpty();
+  }
+
+  @Test
+  public void testStaleIdDoesNotUpdateUnrelatedStatus() {
+    final int staleGeneration = mWorkingRangeStateHandler.getGeneration();
+    final int staleId = mWorkingRangeStateHandler.getId(NAME, GLOBAL_KEY);
+
+    mWorkingRangeStateHandler.clear();
+    final int generation = mWorkingRangeStateHandler.getGeneration();
+    final int id = mWorkingRangeStateHandler.getId(NAME, "otherGlobalKey");
+    assertThat(id).isEqualTo(staleId);
+
+    synchronized (mWorkingRangeStateHandler) {
+      mWorkingRangeStateHandler.setStatusLocked(
+          staleGeneration, staleId, WorkingRangeStatusHandler.STATUS_IN_RANGE);
+
+      assertThat(mWorkingRangeStateHandler.isInRangeLocked(generation, id)).isFalse();
+      assertThat(mWorkingRangeStateHandler.isInRangeLocked(staleGeneration, staleId)).isFalse();
+    }
+    assertThat(mWorkingRangeStateHandler.getStatus()).isEmpty();
+  }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import android.view.View;
+import android.widget.FrameLayout;
+import com.facebook.litho.OutputUnitType;
+import com.facebook.litho.OutputUnitsAffinityGroup;
+import com.facebook.litho.TransitionId;
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.MockTimingSource;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.LooperMode;
+
+@LooperMode(LooperMode.Mode.LEGACY)
+@RunWith(LithoTestRunner.class)
+public class ViewPropertyTransitionTest {
+
+  private MockTimingSource mTestTimingSource;
+  private ChoreographerViewAnimationDriver mDriver;
+  private View mView;
+  private AnimatedPropertyNode mAlphaNode;
+  private Resolver mResolver;
+
+  @Before
+  public void setUp() throws Exception {
+    mTestTimingSource = new MockTimingSource();
+    DataFlowGraph.create(mTestTimingSource);
+    mTestTimingSource.start();
+    mDriver = new ChoreographerViewAnimationDriver(mTestTimingSource);
+
+    mView = new View(getApplicationContext());
+    mAlphaNode = createNode(mView, AnimatedProperties.ALPHA);
+    mResolver = createResolver(mAlphaNode);
+  }
+
+  @Test
+  public void testAnimatesViewOnDriver() {
+    final ViewPropertyTransition transition = createTransition(AnimatedProperties.ALPHA, 0);
+    final FinishCountingListener listener = new FinishCountingListener();
+    transition.addListener(listener);
+
+    transition.start(mResolver);
+    mTestTimingSource.step(6);
+
+    assertThat(transition.isActive()).isTrue();
+    assertThat(mView.getAlpha()).isBetween(0.01f, 0.99f);
+    assertThat(mAlphaNode.getValue()).isEqualTo(mView.getAlpha());
+    assertThat(listener.finishCount).isEqualTo(0);
+
+    mTestTimingSource.step(6);
+
+    assertThat(transition.isActive()).isFalse();
+    assertThat(mView.getAlpha()).isEqualTo(0f);
+    assertThat(mAlphaNode.getValue()).isEqualTo(0f);
+    assertThat(mAlphaNode.getViewAnimation()).isNull();
+    assertThat(listener.finishCount).isEqualTo(1);
+    assertThat(mDriver.getRunningAnimationCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testRetargetingReplacesRunningAnimation() {
+    final ViewPropertyTransition first = createTransition(AnimatedProperties.ALPHA, 0);
+    final FinishCountingListener firstListener = new FinishCountingListener();
+    first.addListener(firstListener);
+    first.start(mResolver);
+    mTestTimingSource.step(6);
+    final float alphaWhenRetargeted = mView.getAlpha();
+
+    final ViewPropertyTransition second = createTransition(AnimatedProperties.ALPHA, 1);
+    second.start(mResolver);
+
+    assertThat(firstListener.finishCount).isEqualTo(1);
+    assertThat(first.isActive()).isFalse();
+    assertThat(second.isActive()).isTrue();
+    assertThat(mAlphaNode.getViewAnimation()).isSameAs(second);
+    assertThat(mView.getAlpha()).isEqualTo(alphaWhenRetargeted);
+
+    mTestTimingSource.step(12);
+
+    assertThat(mView.getAlpha()).isEqualTo(1f);
+    assertThat(mAlphaNode.getValue()).isEqualTo(1f);
+    assertThat(firstListener.finishCount).isEqualTo(1);
+  }
+
+  @Test
+  public void testStopLeavesViewAtCurrentValue() {
+    final ViewPropertyTransition transition = createTransition(AnimatedProperties.ALPHA, 0);
+    transition.start(mResolver);
+    mTestTimingSource.step(6);
+    final float alphaWhenStopped = mView.getAlpha();
+
+    transition.stop();
+    mTestTimingSource.step(12);
+
+    assertThat(transition.isActive()).isFalse();
+    assertThat(mView.getAlpha()).isEqualTo(alphaWhenStopped);
+    assertThat(mAlphaNode.getValue()).isEqualTo(alphaWhenStopped);
+  }
+
+  @Test
+  public void testAnimatesXRelativeToParent() {
+    final FrameLayout root = new FrameLayout(getApplicationContext());
+    final FrameLayout parent = new FrameLayout(getApplicationContext());
+    parent.setX(100);
+    root.addView(parent);
+    final View view = new View(getApplicationContext());
+    parent.addView(view);
+
+    final AnimatedPropertyNode node = createNode(view, AnimatedProperties.X);
+    final ViewPropertyTransition transition = createTransition(AnimatedProperties.X, 150);
+    transition.start(createResolver(node));
+    mTestTimingSource.step(12);
+
+    assertThat(view.getX()).isEqualTo(50f);
+    assertThat(AnimatedProperties.X.get(view)).isEqualTo(150f);
+    assertThat(node.getValue()).isEqualTo(150f);
+  }
+
+  private ViewPropertyTransition createTransition(AnimatedProperty property, float targetValue) {
+    final PropertyHandle propertyHandle =
+        new PropertyHandle(new TransitionId(TransitionId.Type.GLOBAL, "test", null), property);
+    return new ViewPropertyTransition(
+        10 * MockTimingSource.FRAME_TIME_MS,
+        new PropertyAnimation(propertyHandle, targetValue),
+        null,
+        mDriver);
+  }
+
+  private static AnimatedPropertyNode createNode(View view, AnimatedProperty property) {
+    final OutputUnitsAffinityGroup<Object> group = new OutputUnitsAffinityGroup<>();
+    group.add(OutputUnitType.HOST, view);
+    final AnimatedPropertyNode node = new AnimatedPropertyNode(group, property);
+    node.setValue(property.get(view));
+    return node;
+  }
+
+  private static Resolver createResolver(final AnimatedPropertyNode node) {
+    return new Resolver() {
+      @Override
+      public float getCurrentState(PropertyHandle propertyHandle) {
+        return node.getValue();
+      }
+
+      @Override
+      public AnimatedPropertyNode getAnimatedPropertyNode(PropertyHandle propertyHandle) {
+        return node;
+      }
+    };
+  }
+
+  private static class FinishCountingListener implements AnimationBindingListener {
+
+    int finishCount;
+
+    @Override
+    public void onScheduledToStartLater(AnimationBinding binding) {}
+
+    @Override
+    public void onWillStart(AnimationBinding binding) {}
+
+    @Override
+    public void onFinish(AnimationBinding binding) {
+      finishCount++;
+    }
+
+    @Override
+    public void onCanceledBeforeStart(AnimationBinding binding) {}
+
+    @Override
+    public boolean shouldStart(AnimationBinding binding) {
+      return true;
+    }
+  }
+}
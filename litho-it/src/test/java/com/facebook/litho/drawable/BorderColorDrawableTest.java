@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.drawable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+@RunWith(LithoTestRunner.class)
+public class BorderColorDrawableTest {
+
+  @After
+  public void tearDown() {
+    BorderColorDrawable.clearRoundedPathCache();
+  }
+
+  @Test
+  public void prepare_withSameGeometry_sharesRoundedPath() {
+    create(4, new float[] {1, 2, 3, 4}).prepare(100, 50);
+    create(4, new float[] {1, 2, 3, 4}).prepare(100, 50);
+
+    assertThat(BorderColorDrawable.getRoundedPathCacheSize()).isEqualTo(1);
+
+    create(4, new float[] {1, 2, 3, 4}).prepare(100, 60);
+
+    assertThat(BorderColorDrawable.getRoundedPathCacheSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void prepare_withEqualRadii_doesNotCachePath() {
+    create(4, new float[] {2, 2, 2, 2}).prepare(100, 50);
+
+    assertThat(BorderColorDrawable.getRoundedPathCacheSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void isEquivalentTo_doesNotDependOnPreparation() {
+    final BorderColorDrawable prepared = create(4, new float[] {1, 2, 3, 4});
+    prepared.prepare(100, 50);
+
+    assertThat(prepared.isEquivalentTo(create(4, new float[] {1, 2, 3, 4}))).isTrue();
+  }
+
+  @Test
+  public void draw_whenPrepared_drawsRoundedPathAtBoundsOffset() {
+    final BorderColorDrawable drawable = create(4, new float[] {1, 2, 3, 4});
+    drawable.prepare(100, 50);
+    drawable.setBounds(10, 20, 110, 70);
+    final Canvas canvas = mock(Canvas.class);
+
+    drawable.draw(canvas);
+
+    final InOrder inOrder = inOrder(canvas);
+    inOrder.verify(canvas).translate(10f, 20f);
+    inOrder.verify(canvas).drawPath(any(Path.class), any(Paint.class));
+    inOrder.verify(canvas).restoreToCount(anyInt());
+  }
+
+  @Test
+  public void draw_whenPreparedWithSameGeometry_drawsSharedPathAtEachBoundsOffset() {
+    final BorderColorDrawable first = create(4, new float[] {1, 2, 3, 4});
+    first.prepare(100, 50);
+    first.setBounds(0, 0, 100, 50);
+    final BorderColorDrawable second = create(4, new float[] {1, 2, 3, 4});
+    second.prepare(100, 50);
+    second.setBounds(30, 40, 130, 90);
+    final Canvas firstCanvas = mock(Canvas.class);
+    final Canvas secondCanvas = mock(Canvas.class);
+
+    first.draw(firstCanvas);
+    second.draw(secondCanvas);
+
+    final ArgumentCaptor<Path> firstPath = ArgumentCaptor.forClass(Path.class);
+    final ArgumentCaptor<Path> secondPath = ArgumentCaptor.forClass(Path.class);
+    final InOrder firstOrder = inOrder(firstCanvas);
+    firstOrder.verify(firstCanvas).translate(0f, 0f);
+    firstOrder.verify(firstCanvas).drawPath(firstPath.capture(), any(Paint.class));
+    final InOrder secondOrder = inOrder(secondCanvas);
+    secondOrder.verify(secondCanvas).translate(30f, 40f);
+    secondOrder.verify(secondCanvas).drawPath(secondPath.capture(), any(Paint.class));
+    assertThat(secondPath.getValue()).isSameAs(firstPath.getValue());
+  }
+
+  @Test
+  public void draw_whenBoundsDifferFromPreparedSize_doesNotDrawSharedPath() {
+    final BorderColorDrawable prepared = create(4, new float[] {1, 2, 3, 4});
+    prepared.prepare(100, 50);
+    prepared.setBounds(0, 0, 100, 50);
+    final BorderColorDrawable resized = create(4, new float[] {1, 2, 3, 4});
+    resized.prepare(100, 50);
+    resized.setBounds(0, 0, 200, 80);
+
+    final Path resizedPath = drawnPath(resized);
+
+    assertThat(resizedPath).isNotSameAs(drawnPath(prepared));
+    assertThat(resizedPath.isEmpty()).isFalse();
+  }
+
+  private static Path drawnPath(BorderColorDrawable drawable) {
+    final Canvas canvas = mock(Canvas.class);
+    drawable.draw(canvas);
+
+    final ArgumentCaptor<Path> path = ArgumentCaptor.forClass(Path.class);
+    verify(canvas).drawPath(path.capture(), any(Paint.class));
+    return path.getValue();
+  }
+
+  private static BorderColorDrawable create(int width, float[] radii) {
+    return new BorderColorDrawable.Builder()
+        .borderColor(Color.RED)
+        .borderWidth(width)
+        .borderRadius(radii)
+        .build();
+  }
+}
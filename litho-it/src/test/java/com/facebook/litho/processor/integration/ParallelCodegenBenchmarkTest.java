@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.processor.integration;
+
+import static com.facebook.litho.processor.integration.ProcessorIntegrationTest.RES_PREFIX;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.litho.specmodels.processor.AbstractComponentsProcessor;
+import com.facebook.litho.specmodels.processor.ComponentsProcessor;
+import com.facebook.litho.specmodels.processor.testing.ComponentsTestingProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.Arrays;
+import javax.tools.JavaFileObject;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Compares how long processing all the specs of the processor integration test resources takes
+ * with and without parallel code generation. Timings are only printed, as they depend on the
+ * machine running the tests, so this isn't part of the default suite and has to be run manually.
+ * That the output doesn't change is covered by {@link ParallelCodegenTest}.
+ */
+@Ignore("Benchmark, run manually")
+@RunWith(JUnit4.class)
+public class ParallelCodegenBenchmarkTest {
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int ITERATIONS = 10;
+
+  @Test
+  public void generateInParallel_printsProcessingTimes() {
+    // Every resource which is a valid processor input. The sections resources are left out since
+    // they don't compile in this target yet, see SectionsProcessorIntegrationTest.
+    final ImmutableList<JavaFileObject> sources =
+        ImmutableList.of(
+            getResource("TestLayoutSpec.java"),
+            getResource("TestMountSpec.java"),
+            getResource("BasicLayoutSpec.java"),
+            getResource("BasicTestSampleSpec.java"),
+            getResource("TestTreeProp.java"),
+            getResource("TestEvent.java"),
+            getResource("TestTag.java"));
+    final int parallelThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      compile(sources, 1);
+      compile(sources, parallelThreads);
+    }
+
+    final long[] serialNs = new long[ITERATIONS];
+    final long[] parallelNs = new long[ITERATIONS];
+    for (int i = 0; i < ITERATIONS; i++) {
+      long start = System.nanoTime();
+      compile(sources, 1);
+      serialNs[i] = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      compile(sources, parallelThreads);
+      parallelNs[i] = System.nanoTime() - start;
+    }
+
+    System.out.println(
+        "ParallelCodegenBenchmarkTest: median "
+            + median(serialNs) / 1_000_000
+            + "ms serially, "
+            + median(parallelNs) / 1_000_000
+            + "ms with "
+            + parallelThreads
+            + " codegen threads");
+  }
+
+  private static void compile(ImmutableList<JavaFileObject> sources, int codegenThreads) {
+    final Compilation compilation =
+        Compiler.javac()
+            .withProcessors(new ComponentsTestingProcessor(), new ComponentsProcessor())
+            .withOptions(
+                "-A" + AbstractComponentsProcessor.CODEGEN_THREADS_OPTION + "=" + codegenThreads)
+            .compile(sources);
+    assertThat(compilation.status()).isEqualTo(Compilation.Status.SUCCESS);
+  }
+
+  private static long median(long[] values) {
+    final long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  private static JavaFileObject getResource(String name) {
+    return JavaFileObjects.forResource(
+        Resources.getResource(ParallelCodegenBenchmarkTest.class, RES_PREFIX + name));
+  }
+}
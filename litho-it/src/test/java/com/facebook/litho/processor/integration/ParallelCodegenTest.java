@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.processor.integration;
+
+import static com.facebook.litho.processor.integration.ProcessorIntegrationTest.RES_PREFIX;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.facebook.litho.specmodels.processor.AbstractComponentsProcessor;
+import com.facebook.litho.specmodels.processor.ComponentsProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Checks that generating code in parallel doesn't change the output of the processor. */
+@RunWith(JUnit4.class)
+public class ParallelCodegenTest {
+
+  @Test
+  public void generateInParallel_generatesIdenticalSources() throws IOException {
+    final ImmutableList<JavaFileObject> sources =
+        ImmutableList.of(
+            getResource("TestLayoutSpec.java"),
+            getResource("TestMountSpec.java"),
+            getResource("BasicLayoutSpec.java"),
+            getResource("TestTreeProp.java"),
+            getResource("TestEvent.java"),
+            getResource("TestTag.java"));
+
+    final Map<String, String> serialSources = getGeneratedSources(compile(sources, 1));
+    final Map<String, String> parallelSources = getGeneratedSources(compile(sources, 4));
+
+    assertThat(serialSources).hasSize(3);
+    assertThat(parallelSources).containsExactlyEntriesIn(serialSources).inOrder();
+  }
+
+  private static Compilation compile(ImmutableList<JavaFileObject> sources, int codegenThreads) {
+    final Compilation compilation =
+        Compiler.javac()
+            .withProcessors(new ComponentsProcessor())
+            .withOptions(
+                "-A" + AbstractComponentsProcessor.CODEGEN_THREADS_OPTION + "=" + codegenThreads)
+            .compile(sources);
+    assertThat(compilation.status()).isEqualTo(Compilation.Status.SUCCESS);
+    return compilation;
+  }
+
+  private static Map<String, String> getGeneratedSources(Compilation compilation)
+      throws IOException {
+    final Map<String, String> sources = new LinkedHashMap<>();
+    for (JavaFileObject file : compilation.generatedSourceFiles()) {
+      sources.put(file.getName(), file.getCharContent(true).toString());
+    }
+    return sources;
+  }
+
+  private static JavaFileObject getResource(String name) {
+    return JavaFileObjects.forResource(
+        Resources.getResource(ParallelCodegenTest.class, RES_PREFIX + name));
+  }
+}
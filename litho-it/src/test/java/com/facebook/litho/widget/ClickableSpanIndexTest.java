@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import android.text.Layout;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.style.ClickableSpan;
+import android.view.View;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ClickableSpanIndexTest {
+
+  @Test
+  public void create_withoutSpans_returnsNull() {
+    final SpannableString text = new SpannableString("no links here");
+
+    assertThat(ClickableSpanIndex.create(text, createLayout(text), new ClickableSpan[0])).isNull();
+    assertThat(ClickableSpanIndex.create(text, createLayout(text), null)).isNull();
+  }
+
+  @Test
+  public void getSpanAt_matchesSpannedQueries() {
+    final SpannableString text = new SpannableString("hello @first and #second bye");
+    final ClickableSpan first = new TestSpan();
+    final ClickableSpan second = new TestSpan();
+    // Attached out of order to check that the index doesn't depend on it.
+    text.setSpan(second, 17, 24, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+    text.setSpan(first, 6, 12, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+    final ClickableSpanIndex index =
+        ClickableSpanIndex.create(
+            text, createLayout(text), text.getSpans(0, text.length(), ClickableSpan.class));
+
+    assertThat(index.getSpanCount()).isEqualTo(2);
+    assertThat(index.getSpan(0)).isSameAs(first);
+    for (int offset = 0; offset <= text.length(); offset++) {
+      final ClickableSpan[] expected = text.getSpans(offset, offset, ClickableSpan.class);
+      assertThat(index.getSpanAt(text, offset))
+          .isSameAs(expected.length > 0 ? expected[0] : null);
+    }
+  }
+
+  @Test
+  public void hasSpanInRange_checksSpanBoundaries() {
+    final SpannableString text = new SpannableString("hello @first and #second bye");
+    text.setSpan(new TestSpan(), 6, 12, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+    final ClickableSpanIndex index =
+        ClickableSpanIndex.create(
+            text, createLayout(text), text.getSpans(0, text.length(), ClickableSpan.class));
+
+    assertThat(index.hasSpanInRange(0, 5)).isFalse();
+    assertThat(index.hasSpanInRange(0, 6)).isTrue();
+    assertThat(index.hasSpanInRange(12, 20)).isTrue();
+    assertThat(index.hasSpanInRange(13, 20)).isFalse();
+  }
+
+  @Test
+  public void getSelectionPath_returnsCachedPathOfExactSpanOnly() {
+    final SpannableString text = new SpannableString("hello @first and #second bye");
+    text.setSpan(new TestSpan(), 6, 12, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+    final ClickableSpanIndex index =
+        ClickableSpanIndex.create(
+            text, createLayout(text), text.getSpans(0, text.length(), ClickableSpan.class));
+
+    assertThat(index.getSelectionPath(6, 12)).isSameAs(index.getSelectionPath(0));
+    assertThat(index.getSelectionPath(6, 11)).isNull();
+    assertThat(index.getSelectionPath(0, 12)).isNull();
+  }
+
+  private static Layout createLayout(CharSequence text) {
+    return new StaticLayout(
+        text, new TextPaint(), 1000, Layout.Alignment.ALIGN_NORMAL, 1, 0, false);
+  }
+
+  private static class TestSpan extends ClickableSpan {
+    @Override
+    public void onClick(View widget) {}
+  }
+}
@@ -70,6 +70,79 @@ public class GridLayoutInfoTest {
     assertThat(rangeSize).isEqualTo(14);
   }
 
+  @Test
+  public void testApproximateRangeFromMeasuredItems() {
+    final GridLayoutInfo gridLayoutInfo = createGridLayoutInfo(VERTICAL, 2);
+    final RenderInfo renderInfo = mock(RenderInfo.class);
+    when(renderInfo.getSpanSize()).thenReturn(1);
+
+    final List<ComponentTreeHolder> componentTreeHolders = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final ComponentTreeHolder holder = mock(ComponentTreeHolder.class);
+      when(holder.getRenderInfo()).thenReturn(renderInfo);
+      componentTreeHolders.add(holder);
+    }
+
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 0, 100, 300))
+        .isEqualTo(0);
+
+    // Rows of short items followed by rows of tall items, the rest hasn't been measured yet.
+    for (int i = 0; i < 8; i++) {
+      when(componentTreeHolders.get(i).getMeasuredHeight()).thenReturn(i < 4 ? 100 : 400);
+      gridLayoutInfo.onItemMeasured(componentTreeHolders.get(i));
+    }
+
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 0, 100, 300))
+        .isEqualTo(5);
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 4, 100, 300))
+        .isEqualTo(2);
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 8, 100, 300))
+        .isEqualTo(3);
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 19, 100, 300))
+        .isEqualTo(3);
+
+    // Rebuilding from all the holders gives the same estimates as the point updates.
+    gridLayoutInfo.onItemsChanged();
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 0, 100, 300))
+        .isEqualTo(5);
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 4, 100, 300))
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void testApproximateRangeAfterItemsChanged() {
+    final GridLayoutInfo gridLayoutInfo = createGridLayoutInfo(VERTICAL, 2);
+    final RenderInfo renderInfo = mock(RenderInfo.class);
+    when(renderInfo.getSpanSize()).thenReturn(1);
+
+    final List<ComponentTreeHolder> componentTreeHolders = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final ComponentTreeHolder holder = mock(ComponentTreeHolder.class);
+      when(holder.getRenderInfo()).thenReturn(renderInfo);
+      when(holder.getMeasuredHeight()).thenReturn(100);
+      componentTreeHolders.add(holder);
+    }
+
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 0, 100, 300))
+        .isEqualTo(6);
+
+    // Tall items inserted at the top: measurements of the moved holders are ignored until the
+    // model is rebuilt from the new list.
+    for (int i = 0; i < 4; i++) {
+      final ComponentTreeHolder holder = mock(ComponentTreeHolder.class);
+      when(holder.getRenderInfo()).thenReturn(renderInfo);
+      when(holder.getMeasuredHeight()).thenReturn(300);
+      componentTreeHolders.add(0, holder);
+    }
+    gridLayoutInfo.onItemsChanged();
+    gridLayoutInfo.onItemMeasured(componentTreeHolders.get(0));
+
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 0, 100, 300))
+        .isEqualTo(2);
+    assertThat(gridLayoutInfo.approximateRangeSize(componentTreeHolders, 4, 100, 300))
+        .isEqualTo(6);
+  }
+
   @Test
   public void testGetChildMeasureSpecVertical() {
     final GridLayoutInfo gridLayoutInfo = createGridLayoutInfo(VERTICAL, 3);
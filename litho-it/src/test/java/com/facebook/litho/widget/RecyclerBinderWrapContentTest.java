@@ -22,10 +22,13 @@ import static com.facebook.litho.SizeSpec.EXACTLY;
 import static com.facebook.litho.SizeSpec.makeSizeSpec;
 import static com.facebook.litho.widget.RecyclerBinderTest.NO_OP_CHANGE_SET_COMPLETE_CALLBACK;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import android.os.Looper;
@@ -35,6 +38,9 @@ import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentTree;
 import com.facebook.litho.EventHandler;
 import com.facebook.litho.Size;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.MockTimingSource;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.Whitebox;
 import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
@@ -1105,6 +1111,93 @@ public class RecyclerBinderWrapContentTest {
     verifyPostOnAnimationWasNotCalled(mRecyclerView, recyclerBinder.mRemeasureRunnable);
   }
 
+  @Test
+  public void testEstimatedWrapContentWithInsertAfterViewportFilledDoesNotRemeasure() {
+    final MockTimingSource timingSource = new MockTimingSource();
+    timingSource.start();
+    DataFlowGraph.create(timingSource);
+    ChoreographerCompatImpl.setInstance(timingSource);
+
+    try {
+      final RecyclerBinder recyclerBinder = prepareBinderWithEstimatedWrapContentSize(12);
+      final EventHandler<ReMeasureEvent> reMeasureEventHandler = mock(EventHandler.class);
+      final Size size = new Size();
+      recyclerBinder.measure(
+          size,
+          makeSizeSpec(1000, EXACTLY),
+          makeSizeSpec(1000, AT_MOST),
+          reMeasureEventHandler);
+      assertThat(size.height).isEqualTo(1000);
+
+      recyclerBinder.insertItemAt(
+          12,
+          ComponentRenderInfo.create()
+              .component(
+                  TestDrawableComponent.create(mComponentContext).measuredHeight(100).build())
+              .build());
+      recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+      timingSource.step(1);
+
+      verifyPostOnAnimationWasNotCalled(mRecyclerView, recyclerBinder.mRemeasureRunnable);
+      verify(reMeasureEventHandler, never()).dispatchEvent(any(ReMeasureEvent.class));
+    } finally {
+      ChoreographerCompatImpl.setInstance(null);
+    }
+  }
+
+  @Test
+  public void testEstimatedWrapContentWithRemovesBelowViewportRemeasuresOncePerFrame() {
+    final MockTimingSource timingSource = new MockTimingSource();
+    timingSource.start();
+    DataFlowGraph.create(timingSource);
+    ChoreographerCompatImpl.setInstance(timingSource);
+
+    try {
+      final int widthSpec = makeSizeSpec(1000, EXACTLY);
+      final int heightSpec = makeSizeSpec(1000, AT_MOST);
+      final RecyclerBinder recyclerBinder = prepareBinderWithEstimatedWrapContentSize(12);
+      final EventHandler<ReMeasureEvent> reMeasureEventHandler = mock(EventHandler.class);
+      final Size size = new Size();
+      recyclerBinder.measure(size, widthSpec, heightSpec, reMeasureEventHandler);
+      assertThat(size.height).isEqualTo(1000);
+
+      for (int i = 0; i < 8; i++) {
+        recyclerBinder.removeItemAt(0);
+        recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+      }
+      verify(reMeasureEventHandler, never()).dispatchEvent(any(ReMeasureEvent.class));
+
+      timingSource.step(1);
+
+      verify(reMeasureEventHandler, times(1)).dispatchEvent(any(ReMeasureEvent.class));
+      recyclerBinder.measure(size, widthSpec, heightSpec, reMeasureEventHandler);
+      assertThat(size.height).isEqualTo(400);
+    } finally {
+      ChoreographerCompatImpl.setInstance(null);
+    }
+  }
+
+  private RecyclerBinder prepareBinderWithEstimatedWrapContentSize(int count) {
+    final RecyclerBinder recyclerBinder =
+        new RecyclerBinder.Builder()
+            .rangeRatio(RANGE_RATIO)
+            .wrapContent(true)
+            .estimateWrapContentSize(true)
+            .build(mComponentContext);
+    recyclerBinder.mount(mRecyclerView);
+
+    final List<RenderInfo> renderInfos = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final Component component =
+          TestDrawableComponent.create(mComponentContext).measuredHeight(100).build();
+      renderInfos.add(ComponentRenderInfo.create().component(component).build());
+    }
+    recyclerBinder.insertRangeAt(0, renderInfos);
+    recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+
+    return recyclerBinder;
+  }
+
   private RecyclerBinder prepareBinderWithMeasuredChildSize(
       int widthSpec, int heightSpec, int count, int orientation, int childSize) {
     return prepareBinderWithMeasuredChildSize(
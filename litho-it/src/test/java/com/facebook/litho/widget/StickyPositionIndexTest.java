@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import static androidx.recyclerview.widget.RecyclerView.NO_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class StickyPositionIndexTest {
+
+  private StickyPositionIndex mIndex;
+  private List<ComponentTreeHolder> mHolders;
+
+  @Before
+  public void setup() {
+    mIndex = new StickyPositionIndex();
+    mHolders = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      mHolders.add(createHolder(i % 5 == 2));
+    }
+  }
+
+  @Test
+  public void testFindStickyPositionAtOrBefore() {
+    mIndex.ensureUpToDate(mHolders);
+
+    assertThat(mIndex.findStickyPositionAtOrBefore(0)).isEqualTo(NO_POSITION);
+    assertThat(mIndex.findStickyPositionAtOrBefore(2)).isEqualTo(2);
+    assertThat(mIndex.findStickyPositionAtOrBefore(6)).isEqualTo(2);
+    assertThat(mIndex.findStickyPositionAtOrBefore(19)).isEqualTo(17);
+  }
+
+  @Test
+  public void testFindFirstStickyPositionInRange() {
+    mIndex.ensureUpToDate(mHolders);
+
+    assertThat(mIndex.findFirstStickyPositionInRange(0, 1)).isEqualTo(NO_POSITION);
+    assertThat(mIndex.findFirstStickyPositionInRange(0, 2)).isEqualTo(2);
+    assertThat(mIndex.findFirstStickyPositionInRange(3, 10)).isEqualTo(7);
+    assertThat(mIndex.findFirstStickyPositionInRange(18, 19)).isEqualTo(NO_POSITION);
+  }
+
+  @Test
+  public void testEnsureUpToDate_onlyRebuildsAfterInvalidate() {
+    mIndex.ensureUpToDate(mHolders);
+    mHolders.add(0, createHolder(true));
+
+    mIndex.ensureUpToDate(mHolders);
+    assertThat(mIndex.findStickyPositionAtOrBefore(1)).isEqualTo(NO_POSITION);
+
+    mIndex.invalidate();
+    mIndex.ensureUpToDate(mHolders);
+    assertThat(mIndex.findStickyPositionAtOrBefore(1)).isEqualTo(0);
+    assertThat(mIndex.findStickyPositionAtOrBefore(6)).isEqualTo(3);
+  }
+
+  private static ComponentTreeHolder createHolder(boolean isSticky) {
+    return new TestComponentTreeHolder(
+        ComponentRenderInfo.create().component(mock(Component.class)).isSticky(isSticky).build());
+  }
+}
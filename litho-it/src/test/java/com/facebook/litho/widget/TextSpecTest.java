@@ -623,6 +623,44 @@ public class TextSpecTest {
             + " quite long q.");
   }
 
+  @Test
+  public void persistentMeasureKey_forSameProps_isEqual() {
+    final TextMeasureKeyProvider provider = new TextMeasureKeyProvider();
+
+    assertThat(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext).text("Some text.").textSizePx(20).build()))
+        .isNotNull()
+        .isEqualTo(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext).text("Some text.").textSizePx(20).build()));
+    assertThat(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext).text("Some text.").textSizePx(20).build()))
+        .isNotEqualTo(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext).text("Some text.").textSizePx(24).build()));
+  }
+
+  @Test
+  public void persistentMeasureKey_forSpannedTextOrCustomTypeface_isNull() {
+    final TextMeasureKeyProvider provider = new TextMeasureKeyProvider();
+
+    assertThat(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext)
+                    .text(Spannable.Factory.getInstance().newSpannable("Some text."))
+                    .build()))
+        .isNull();
+    assertThat(
+            provider.getPersistentMeasureKey(
+                Text.create(mContext)
+                    .text("Some text.")
+                    .typeface(Typeface.create("cursive", Typeface.NORMAL))
+                    .build()))
+        .isNull();
+  }
+
   private TextDrawable getMountedDrawableForTextWithMaxLines(
       CharSequence text,
       int maxLines,
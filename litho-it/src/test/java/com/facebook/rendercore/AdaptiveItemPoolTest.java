@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.view.View;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class AdaptiveItemPoolTest {
+
+  private final Context mContext = ApplicationProvider.getApplicationContext();
+  private final TestContentProvider mContentProvider = new TestContentProvider();
+  private final List<AdaptiveItemPool> mPools = new ArrayList<>();
+
+  private boolean mUseAdaptiveMountItemsPools;
+  private int mAdaptiveMountItemsPoolsBudget;
+
+  @Before
+  public void setup() {
+    mUseAdaptiveMountItemsPools = RenderCoreConfig.useAdaptiveMountItemsPools;
+    mAdaptiveMountItemsPoolsBudget = RenderCoreConfig.adaptiveMountItemsPoolsBudget;
+    MountItemsPool.clear();
+  }
+
+  @After
+  public void cleanup() {
+    for (AdaptiveItemPool pool : mPools) {
+      pool.clear();
+    }
+    MountItemsPool.clear();
+    RenderCoreConfig.useAdaptiveMountItemsPools = mUseAdaptiveMountItemsPools;
+    RenderCoreConfig.adaptiveMountItemsPoolsBudget = mAdaptiveMountItemsPoolsBudget;
+  }
+
+  @Test
+  public void testMissAfterDrop_growsPool() {
+    final AdaptiveItemPool pool = createPool(1);
+
+    pool.release(new View(mContext));
+    pool.release(new View(mContext));
+    assertThat(pool.getSize()).isEqualTo(1);
+    assertThat(pool.getDropCount()).isEqualTo(1);
+
+    assertThat(pool.acquire(mContext, mContentProvider)).isNotNull();
+    assertThat(pool.acquire(mContext, mContentProvider)).isNull();
+
+    assertThat(pool.getTargetSize()).isEqualTo(2);
+    assertThat(pool.getHitCount()).isEqualTo(1);
+    assertThat(pool.getMissCount()).isEqualTo(1);
+
+    pool.release(new View(mContext));
+    pool.release(new View(mContext));
+    assertThat(pool.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testMissWithoutDrop_doesNotGrowPool() {
+    final AdaptiveItemPool pool = createPool(1);
+
+    assertThat(pool.acquire(mContext, mContentProvider)).isNull();
+    assertThat(pool.acquire(mContext, mContentProvider)).isNull();
+
+    assertThat(pool.getTargetSize()).isEqualTo(1);
+    assertThat(pool.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testWindowWithoutGrowth_shrinksPool() {
+    final AdaptiveItemPool pool = createPool(3);
+    for (int i = 0; i < 3; i++) {
+      pool.release(new View(mContext));
+    }
+
+    for (int i = 0; i < AdaptiveItemPool.WINDOW_SIZE - 1; i++) {
+      pool.release(pool.acquire(mContext, mContentProvider));
+    }
+    assertThat(pool.getTargetSize()).isEqualTo(3);
+
+    pool.release(pool.acquire(mContext, mContentProvider));
+
+    assertThat(pool.getTargetSize()).isEqualTo(2);
+    assertThat(pool.getSize()).isEqualTo(2);
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testWindowWithGrowth_doesNotShrinkPool() {
+    final AdaptiveItemPool pool = createPool(1);
+    pool.release(new View(mContext));
+    pool.release(new View(mContext));
+
+    pool.acquire(mContext, mContentProvider);
+    pool.acquire(mContext, mContentProvider);
+    for (int i = 2; i < AdaptiveItemPool.WINDOW_SIZE; i++) {
+      pool.acquire(mContext, mContentProvider);
+    }
+
+    assertThat(pool.getTargetSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGlobalBudget_isSharedByAllPools() {
+    RenderCoreConfig.adaptiveMountItemsPoolsBudget = 2;
+    final AdaptiveItemPool firstPool = createPool(3);
+    final AdaptiveItemPool secondPool = createPool(3);
+
+    firstPool.release(new View(mContext));
+    firstPool.release(new View(mContext));
+    secondPool.release(new View(mContext));
+
+    assertThat(firstPool.getSize()).isEqualTo(2);
+    assertThat(secondPool.getSize()).isEqualTo(0);
+    assertThat(secondPool.getDropCount()).isEqualTo(1);
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(2);
+
+    firstPool.acquire(mContext, mContentProvider);
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(1);
+
+    firstPool.clear();
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(0);
+
+    secondPool.release(new View(mContext));
+    assertThat(secondPool.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void testMaybePreallocateContent_fillsPoolWithinBudget() {
+    RenderCoreConfig.adaptiveMountItemsPoolsBudget = 2;
+    final AdaptiveItemPool pool = createPool(3);
+
+    pool.maybePreallocateContent(mContext, mContentProvider);
+
+    assertThat(pool.getSize()).isEqualTo(2);
+    assertThat(mContentProvider.mCreatedContentCount).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void testMountItemsPool_createsAdaptivePoolsWhenEnabled() {
+    RenderCoreConfig.useAdaptiveMountItemsPools = true;
+
+    final Object content = MountItemsPool.acquireMountContent(mContext, mContentProvider);
+    MountItemsPool.release(mContext, mContentProvider, content);
+
+    final List<AdaptiveItemPool> pools = MountItemsPool.getAdaptiveItemPools();
+    assertThat(pools).hasSize(1);
+    assertThat(pools.get(0).getContentType()).isEqualTo(View.class);
+    assertThat(pools.get(0).getSize()).isEqualTo(1);
+    assertThat(MountItemsPool.acquireMountContent(mContext, mContentProvider)).isSameAs(content);
+  }
+
+  @Test
+  public void testMountItemsPool_givesItemsBackToBudgetWhenCleared() {
+    RenderCoreConfig.useAdaptiveMountItemsPools = true;
+
+    MountItemsPool.release(mContext, mContentProvider, new View(mContext));
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(1);
+
+    MountItemsPool.clear();
+    assertThat(AdaptiveItemPool.getPooledItemCount()).isEqualTo(0);
+  }
+
+  private AdaptiveItemPool createPool(int initialSize) {
+    final AdaptiveItemPool pool = new AdaptiveItemPool(View.class, initialSize);
+    mPools.add(pool);
+    return pool;
+  }
+
+  private static class TestContentProvider implements PoolableContentProvider {
+
+    private int mCreatedContentCount;
+
+    @Override
+    public Object createPoolableContent(Context context) {
+      mCreatedContentCount++;
+      return new View(context);
+    }
+
+    @Override
+    public Object getPoolableContentType() {
+      return View.class;
+    }
+
+    @Override
+    public boolean isRecyclingDisabled() {
+      return false;
+    }
+
+    @Override
+    public @Nullable MountItemsPool.ItemPool<?> createRecyclingPool() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.view.View;
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.testing.TestHost;
+import com.facebook.rendercore.testing.TestHostRenderUnit;
+import com.facebook.rendercore.testing.TestRenderUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class MountLookupsTest {
+
+  private static final long ROOT = 0;
+  private static final long HOST = 1;
+  private static final long A = 2;
+  private static final long B = 3;
+  private static final long C = 4;
+  private static final long D = 5;
+
+  @Test
+  public void testUnchangedTree_allNodesKeepTheirPositionAndHost() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createInitialTree();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    for (int i = 0; i < previous.getMountableOutputCount(); i++) {
+      assertThat(lookups.getNextPosition(i)).isEqualTo(i);
+    }
+    assertThat(lookups.getNextHostId(indexOf(previous, A))).isEqualTo(HOST);
+    assertThat(lookups.getNextHostId(indexOf(previous, C))).isEqualTo(ROOT);
+  }
+
+  @Test
+  public void testRemovedNode_isMarkedAsRemoved() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createUpdatedTree();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    assertThat(lookups.getNextPosition(indexOf(previous, A))).isEqualTo(MountLookups.REMOVED);
+  }
+
+  @Test
+  public void testMovedNode_pointsToItsNewPosition() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createUpdatedTree();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    final int nextPosition = lookups.getNextPosition(indexOf(previous, B));
+    assertThat(nextPosition).isEqualTo(indexOf(next, B));
+    assertThat(lookups.getNextHostId(indexOf(previous, B))).isEqualTo(HOST);
+    assertThat(next.getRenderTreeNodeAtIndex(nextPosition).getPositionInParent()).isEqualTo(0);
+  }
+
+  @Test
+  public void testInsertedNode_shiftsFollowingPositions() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createTreeWithInsertion();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    assertThat(lookups.getNextPosition(indexOf(previous, HOST))).isEqualTo(indexOf(next, HOST));
+    assertThat(lookups.getNextPosition(indexOf(previous, A))).isEqualTo(indexOf(next, A));
+    assertThat(lookups.getNextPosition(indexOf(previous, B))).isEqualTo(indexOf(next, B));
+    assertThat(lookups.getNextPosition(indexOf(previous, C))).isEqualTo(indexOf(next, C));
+    assertThat(indexOf(next, B)).isEqualTo(indexOf(previous, B) + 1);
+  }
+
+  @Test
+  public void testNodeChangingHost_pointsToItsNewHost() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createUpdatedTree();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    assertThat(lookups.getNextPosition(indexOf(previous, C))).isEqualTo(indexOf(next, C));
+    assertThat(lookups.getNextHostId(indexOf(previous, C))).isEqualTo(HOST);
+  }
+
+  @Test
+  public void testIsValidFor_onlyMatchesTheTreesItWasComputedFor() {
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createUpdatedTree();
+
+    final MountLookups lookups = MountLookups.create(previous, next);
+
+    assertThat(lookups.isValidFor(previous, next)).isTrue();
+    assertThat(lookups.isValidFor(null, next)).isFalse();
+    assertThat(lookups.isValidFor(createInitialTree(), next)).isFalse();
+    assertThat(lookups.isValidFor(previous, createUpdatedTree())).isFalse();
+  }
+
+  @Test
+  public void testMountWithLookups_producesTheSameResultAsMountWithoutLookups() {
+    final Context c = ApplicationProvider.getApplicationContext();
+
+    final TestHost hostWithoutLookups = new TestHost(c);
+    final MountState mountStateWithoutLookups = new MountState(hostWithoutLookups);
+    mountStateWithoutLookups.mount(createInitialTree());
+    mountStateWithoutLookups.mount(createUpdatedTree());
+
+    final TestHost hostWithLookups = new TestHost(c);
+    final MountState mountStateWithLookups = new MountState(hostWithLookups);
+    final RenderTree previous = createInitialTree();
+    final RenderTree next = createUpdatedTree();
+    next.setMountLookups(MountLookups.create(previous, next));
+    mountStateWithLookups.mount(previous);
+    mountStateWithLookups.mount(next);
+
+    assertThat(describeMountedTree(hostWithLookups))
+        .isEqualTo(describeMountedTree(hostWithoutLookups))
+        .containsExactly("0:1@0", "1:3@0", "3:-", "1:4@1", "4:-", "0:5@1", "5:-");
+    assertThat(mountStateWithLookups.getMountItemCount())
+        .isEqualTo(mountStateWithoutLookups.getMountItemCount());
+  }
+
+  /** root -> [host -> [a, b], c] */
+  private static RenderTree createInitialTree() {
+    final List<RenderTreeNode> flatList = new ArrayList<>();
+    final RenderTreeNode root = addNode(flatList, null, new TestHostRenderUnit(ROOT), 0);
+    final RenderTreeNode host = addNode(flatList, root, new TestHostRenderUnit(HOST), 0);
+    addNode(flatList, host, new TestRenderUnit(A), 0);
+    addNode(flatList, host, new TestRenderUnit(B), 1);
+    addNode(flatList, root, new TestRenderUnit(C), 1);
+    return createRenderTree(flatList);
+  }
+
+  /** root -> [host -> [b, c], d]: a is removed, b is moved, c changes host and d is added. */
+  private static RenderTree createUpdatedTree() {
+    final List<RenderTreeNode> flatList = new ArrayList<>();
+    final RenderTreeNode root = addNode(flatList, null, new TestHostRenderUnit(ROOT), 0);
+    final RenderTreeNode host = addNode(flatList, root, new TestHostRenderUnit(HOST), 0);
+    addNode(flatList, host, new TestRenderUnit(B), 0);
+    addNode(flatList, host, new TestRenderUnit(C), 1);
+    addNode(flatList, root, new TestRenderUnit(D), 1);
+    return createRenderTree(flatList);
+  }
+
+  /** root -> [d, host -> [a, b], c]: d is added before every other node. */
+  private static RenderTree createTreeWithInsertion() {
+    final List<RenderTreeNode> flatList = new ArrayList<>();
+    final RenderTreeNode root = addNode(flatList, null, new TestHostRenderUnit(ROOT), 0);
+    addNode(flatList, root, new TestRenderUnit(D), 0);
+    final RenderTreeNode host = addNode(flatList, root, new TestHostRenderUnit(HOST), 1);
+    addNode(flatList, host, new TestRenderUnit(A), 0);
+    addNode(flatList, host, new TestRenderUnit(B), 1);
+    addNode(flatList, root, new TestRenderUnit(C), 2);
+    return createRenderTree(flatList);
+  }
+
+  private static RenderTreeNode addNode(
+      List<RenderTreeNode> flatList,
+      RenderTreeNode parent,
+      RenderUnit renderUnit,
+      int positionInParent) {
+    final RenderTreeNode node =
+        new RenderTreeNode(
+            parent, renderUnit, null, new Rect(0, 0, 100, 100), null, positionInParent);
+    if (parent != null) {
+      parent.child(node);
+    }
+    flatList.add(node);
+    return node;
+  }
+
+  private static RenderTree createRenderTree(List<RenderTreeNode> flatList) {
+    return new RenderTree(
+        flatList.get(0),
+        flatList.toArray(new RenderTreeNode[0]),
+        View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY),
+        null);
+  }
+
+  private static int indexOf(RenderTree renderTree, long id) {
+    return renderTree.getRenderTreeNodeIndex(id);
+  }
+
+  /**
+   * Flattens what is mounted in {@code host} as "hostId:childId@index" entries, depth first, with
+   * "id:-" for content which isn't a host.
+   */
+  private static List<String> describeMountedTree(Host host) {
+    final List<String> description = new ArrayList<>();
+    describeMountedTree(ROOT, host, description);
+    return description;
+  }
+
+  private static void describeMountedTree(long hostId, Object content, List<String> description) {
+    if (!(content instanceof Host)) {
+      description.add(hostId + ":-");
+      return;
+    }
+    final Host host = (Host) content;
+    for (int i = 0; i < host.getMountItemCount(); i++) {
+      final MountItem item = host.getMountItemAt(i);
+      final long id = item.getRenderTreeNode().getRenderUnit().getId();
+      description.add(hostId + ":" + id + "@" + i);
+      describeMountedTree(id, item.getContent(), description);
+    }
+  }
+}
@@ -41,6 +41,8 @@ import javax.lang.model.util.SimpleTypeVisitor6;
 /** Utility methods for {@link SpecModel}s. */
 public class SpecModelUtils {
 
+  private static final Object TYPE_RESOLUTION_LOCK = new Object();
+
   public static String getSpecAccessor(SpecModel specModel) {
     if (specModel.getSpecElementType() == SpecElementType.KOTLIN_CLASS) {
       return specModel.getSpecName() + ".Companion";
@@ -181,6 +183,14 @@ public class SpecModelUtils {
    * traversed and recorded.
    */
   public static TypeSpec generateTypeSpec(TypeMirror type) {
+    if (type.getKind() == TypeKind.DECLARED && isCacheable((DeclaredType) type)) {
+      final TypeSpec cached =
+          TypeResolutionCache.getDeclaredTypeSpec((TypeElement) ((DeclaredType) type).asElement());
+      if (cached != null) {
+        return cached;
+      }
+    }
+
     final TypeSpec defaultValue =
         new TypeSpec(safelyGetTypeName(type), type.getKind() != TypeKind.ERROR);
 
@@ -191,7 +201,7 @@ public class SpecModelUtils {
             final TypeElement typeElement = (TypeElement) t.asElement();
             final String qualifiedName = typeElement.getQualifiedName().toString();
             final Supplier<TypeSpec> superclass =
-                new SimpleMemoizingSupplier<>(
+                synchronizedMemoizingSupplier(
                     () -> {
                       final TypeMirror mirror = typeElement.getSuperclass();
                       return mirror.getKind() != TypeKind.DECLARED
@@ -200,7 +210,7 @@ public class SpecModelUtils {
                     });
 
             final Supplier<ImmutableList<TypeSpec>> superinterfaces =
-                new SimpleMemoizingSupplier<>(
+                synchronizedMemoizingSupplier(
                     () -> {
                       final List<? extends TypeMirror> mirrors = typeElement.getInterfaces();
                       return ImmutableList.copyOf(
@@ -213,7 +223,7 @@ public class SpecModelUtils {
                     });
 
             final Supplier<ImmutableList<TypeSpec>> typeArguments =
-                new SimpleMemoizingSupplier<>(
+                synchronizedMemoizingSupplier(
                     () ->
                         ImmutableList.copyOf(
                             ClassName.bestGuess(qualifiedName).equals(ClassNames.DIFF)
@@ -227,13 +237,44 @@ public class SpecModelUtils {
                                         .collect(Collectors.toList())
                                 : Collections.emptyList()));
 
-            return new TypeSpec.DeclaredTypeSpec(
-                safelyGetTypeName(t), qualifiedName, superclass, superinterfaces, typeArguments);
+            final TypeSpec typeSpec =
+                new TypeSpec.DeclaredTypeSpec(
+                    safelyGetTypeName(t),
+                    qualifiedName,
+                    superclass,
+                    superinterfaces,
+                    typeArguments);
+            if (isCacheable(t)) {
+              TypeResolutionCache.putDeclaredTypeSpec(typeElement, typeSpec);
+            }
+            return typeSpec;
           }
         },
         null);
   }
 
+  /**
+   * A declared type without type arguments, nor enclosing type which could have some, always
+   * resolves to the same {@link TypeSpec}.
+   */
+  private static boolean isCacheable(DeclaredType type) {
+    return type.getTypeArguments().isEmpty() && type.getEnclosingType().getKind() == TypeKind.NONE;
+  }
+
+  /**
+   * The suppliers of a {@link TypeSpec} resolve types lazily, possibly after the model was created
+   * when code is generated in parallel, and the compiler's model isn't thread safe. All of them
+   * share a single lock, so that they never resolve types concurrently.
+   */
+  private static <T> Supplier<T> synchronizedMemoizingSupplier(Supplier<T> delegate) {
+    final Supplier<T> supplier = new SimpleMemoizingSupplier<>(delegate);
+    return () -> {
+      synchronized (TYPE_RESOLUTION_LOCK) {
+        return supplier.get();
+      }
+    };
+  }
+
   public static boolean isTypeElement(final SpecModel specModel) {
     final Object representedObject = specModel.getRepresentedObject();
     return representedObject instanceof TypeElement;
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.specmodels.model;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Memoizes type and annotation lookups which are otherwise repeated for every spec referencing the
+ * same types, e.g. the supertypes of common prop types or the retention of common annotations.
+ *
+ * <p>The cache only lives for a single annotation processing round, between {@link #start()} and
+ * {@link #finish()}, and is confined to the thread which started it. Lookups made outside of a
+ * round, or from another thread, are not cached.
+ */
+public final class TypeResolutionCache {
+
+  private static final ThreadLocal<TypeResolutionCache> sCurrent = new ThreadLocal<>();
+
+  private final Map<TypeElement, TypeSpec> mDeclaredTypeSpecs = new HashMap<>();
+  private final Map<TypeElement, Boolean> mSourceRetentionAnnotations = new HashMap<>();
+
+  private TypeResolutionCache() {}
+
+  /** Starts caching lookups made from the calling thread. */
+  public static void start() {
+    sCurrent.set(new TypeResolutionCache());
+  }
+
+  /** Drops all the lookups cached since {@link #start()}. */
+  public static void finish() {
+    sCurrent.remove();
+  }
+
+  /** @return whether the given annotation type is only retained in source. */
+  public static boolean hasSourceRetention(TypeElement annotationType) {
+    final TypeResolutionCache cache = sCurrent.get();
+    Boolean result = cache != null ? cache.mSourceRetentionAnnotations.get(annotationType) : null;
+    if (result == null) {
+      final Retention retention = annotationType.getAnnotation(Retention.class);
+      result = retention != null && retention.value() == RetentionPolicy.SOURCE;
+      if (cache != null) {
+        cache.mSourceRetentionAnnotations.put(annotationType, result);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the cached {@link TypeSpec} of a non parameterized type declared by the given element,
+   *     or null if it wasn't resolved yet in this round.
+   */
+  @Nullable
+  static TypeSpec getDeclaredTypeSpec(TypeElement typeElement) {
+    final TypeResolutionCache cache = sCurrent.get();
+    return cache != null ? cache.mDeclaredTypeSpecs.get(typeElement) : null;
+  }
+
+  static void putDeclaredTypeSpec(TypeElement typeElement, TypeSpec typeSpec) {
+    final TypeResolutionCache cache = sCurrent.get();
+    if (cache != null) {
+      cache.mDeclaredTypeSpecs.put(typeElement, typeSpec);
+    }
+  }
+}
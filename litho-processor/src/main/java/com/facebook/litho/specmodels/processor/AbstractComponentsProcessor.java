@@ -22,14 +22,20 @@ import static com.facebook.litho.specmodels.processor.ProcessorUtils.validate;
 import com.facebook.litho.specmodels.internal.RunMode;
 import com.facebook.litho.specmodels.model.DependencyInjectionHelperFactory;
 import com.facebook.litho.specmodels.model.SpecModel;
+import com.facebook.litho.specmodels.model.TypeResolutionCache;
 import com.squareup.javapoet.JavaFile;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -43,11 +49,19 @@ import javax.tools.Diagnostic;
 @SupportedSourceVersion(SourceVersion.RELEASE_7)
 public abstract class AbstractComponentsProcessor extends AbstractProcessor {
 
+  /**
+   * Number of threads generating the code of the specs of a round, 1 by default. Generating code in
+   * parallel isn't supported along with a {@link DependencyInjectionHelperFactory}, which may use
+   * the compiler's model.
+   */
+  public static final String CODEGEN_THREADS_OPTION = "com.facebook.litho.codegenThreads";
+
   @Nullable private final DependencyInjectionHelperFactory mDependencyInjectionHelperFactory;
   private final List<SpecModelFactory> mSpecModelFactories;
   private final boolean mShouldSavePropNames;
   private PropNameInterStageStore mPropNameInterStageStore;
   private final EnumSet<RunMode> mRunMode = RunMode.normal();
+  private int mCodegenThreads = 1;
 
   private final InterStageStore mInterStageStore =
       new InterStageStore() {
@@ -85,6 +99,15 @@ public abstract class AbstractComponentsProcessor extends AbstractProcessor {
     if (Boolean.parseBoolean(options.getOrDefault("com.facebook.litho.testing", "false"))) {
       mRunMode.add(RunMode.TESTING);
     }
+    try {
+      mCodegenThreads = Integer.parseInt(options.getOrDefault(CODEGEN_THREADS_OPTION, "1"));
+    } catch (NumberFormatException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.WARNING,
+              "Ignoring invalid value of " + CODEGEN_THREADS_OPTION + ": " + e.getMessage());
+    }
   }
 
   @Override
@@ -95,6 +118,21 @@ public abstract class AbstractComponentsProcessor extends AbstractProcessor {
     // processingEnv is not available at construction time. :(
     mPropNameInterStageStore = new PropNameInterStageStore(processingEnv.getFiler());
 
+    TypeResolutionCache.start();
+    try {
+      if (mCodegenThreads > 1 && mDependencyInjectionHelperFactory == null) {
+        processInParallel(roundEnv);
+      } else {
+        processSerially(roundEnv);
+      }
+    } finally {
+      TypeResolutionCache.finish();
+    }
+
+    return false;
+  }
+
+  private void processSerially(RoundEnvironment roundEnv) {
     for (SpecModelFactory specModelFactory : mSpecModelFactories) {
       final Set<Element> elements = specModelFactory.extract(roundEnv);
 
@@ -118,32 +156,139 @@ public abstract class AbstractComponentsProcessor extends AbstractProcessor {
         } catch (PrintableException e) {
           e.print(processingEnv.getMessager());
         } catch (Exception e) {
-          final StringWriter stackWriter = new StringWriter();
-          e.printStackTrace(new PrintWriter(stackWriter));
-          processingEnv
-              .getMessager()
-              .printMessage(
-                  Diagnostic.Kind.ERROR,
-                  String.format(
-                      "Unexpected error thrown when generating this component spec. "
-                          + "Please report stack trace to the components team.\n%s",
-                      stackWriter.toString()),
-                  element);
+          printUnexpectedError(e, element);
         }
       }
     }
+  }
 
-    return false;
+  /**
+   * Creates and validates all the models of this round first, as the compiler's model isn't thread
+   * safe, then generates their code in parallel. Files are written once all of it is generated and
+   * in the same order as {@link #processSerially(RoundEnvironment)}, so the output is identical.
+   */
+  private void processInParallel(RoundEnvironment roundEnv) {
+    final List<Element> elements = new ArrayList<>();
+    final List<SpecModel> specModels = new ArrayList<>();
+    for (SpecModelFactory specModelFactory : mSpecModelFactories) {
+      for (Element element : specModelFactory.extract(roundEnv)) {
+        try {
+          final SpecModel specModel =
+              specModelFactory.create(
+                  processingEnv.getElementUtils(),
+                  processingEnv.getTypeUtils(),
+                  (TypeElement) element,
+                  processingEnv.getMessager(),
+                  mRunMode,
+                  null,
+                  mInterStageStore);
+
+          validate(specModel, mRunMode);
+          elements.add(element);
+          specModels.add(specModel);
+        } catch (PrintableException e) {
+          e.print(processingEnv.getMessager());
+        } catch (Exception e) {
+          printUnexpectedError(e, element);
+        }
+      }
+    }
+
+    if (specModels.isEmpty()) {
+      return;
+    }
+
+    final int size = specModels.size();
+    final com.squareup.javapoet.TypeSpec[] typeSpecs = new com.squareup.javapoet.TypeSpec[size];
+    final Exception[] failures = new Exception[size];
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.min(mCodegenThreads, size));
+    try {
+      final List<Future<com.squareup.javapoet.TypeSpec>> futures = new ArrayList<>(size);
+      for (final SpecModel specModel : specModels) {
+        futures.add(executor.submit(() -> specModel.generate(mRunMode)));
+      }
+
+      // Wait for all the workers before touching the Filer: they may still be resolving types
+      // through the compiler, which isn't safe to use concurrently.
+      for (int i = 0; i < size; i++) {
+        try {
+          typeSpecs[i] = getUninterruptibly(futures.get(i));
+        } catch (Exception e) {
+          failures[i] = e;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (int i = 0; i < size; i++) {
+      final Element element = elements.get(i);
+      final SpecModel specModel = specModels.get(i);
+      try {
+        if (failures[i] != null) {
+          throw failures[i];
+        }
+        write(specModel, typeSpecs[i]);
+        afterGenerate(specModel);
+      } catch (PrintableException e) {
+        e.print(processingEnv.getMessager());
+      } catch (Exception e) {
+        printUnexpectedError(e, element);
+      }
+    }
   }
 
   protected void generate(SpecModel specModel, EnumSet<RunMode> runMode) throws IOException {
+    write(specModel, specModel.generate(runMode));
+  }
+
+  private void write(SpecModel specModel, com.squareup.javapoet.TypeSpec typeSpec)
+      throws IOException {
     final String packageName = getPackageName(specModel.getComponentTypeName());
-    JavaFile.builder(packageName, specModel.generate(runMode))
+    JavaFile.builder(packageName, typeSpec)
         .skipJavaLangImports(true)
         .build()
         .writeTo(processingEnv.getFiler());
   }
 
+  /** @return the result of {@code future}, rethrowing the exception it may have failed with. */
+  private static <T> T getUninterruptibly(Future<T> future) throws Exception {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          final Throwable cause = e.getCause();
+          if (cause instanceof Exception) {
+            throw (Exception) cause;
+          }
+          throw e;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void printUnexpectedError(Exception e, Element element) {
+    final StringWriter stackWriter = new StringWriter();
+    e.printStackTrace(new PrintWriter(stackWriter));
+    processingEnv
+        .getMessager()
+        .printMessage(
+            Diagnostic.Kind.ERROR,
+            String.format(
+                "Unexpected error thrown when generating this component spec. "
+                    + "Please report stack trace to the components team.\n%s",
+                stackWriter.toString()),
+            element);
+  }
+
   private void afterGenerate(SpecModel specModel) throws IOException {
     if (mShouldSavePropNames) {
       mInterStageStore.getPropNameInterStageStore().saveNames(specModel);
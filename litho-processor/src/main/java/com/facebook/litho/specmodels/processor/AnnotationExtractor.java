@@ -17,13 +17,13 @@
 package com.facebook.litho.specmodels.processor;
 
 import com.facebook.litho.specmodels.internal.ImmutableList;
+import com.facebook.litho.specmodels.model.TypeResolutionCache;
 import com.squareup.javapoet.AnnotationSpec;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.List;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 
 /** Helper for extracting annotations from a given {@link Element}. */
 public class AnnotationExtractor {
@@ -51,10 +51,8 @@ public class AnnotationExtractor {
    * @return Whether or not to extract the given annotation.
    */
   private static boolean isValidAnnotation(AnnotationMirror annotation) {
-    final Retention retention =
-        annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
-
-    if (retention != null && retention.value() == RetentionPolicy.SOURCE) {
+    if (TypeResolutionCache.hasSourceRetention(
+        (TypeElement) annotation.getAnnotationType().asElement())) {
       return false;
     }
 
@@ -33,6 +33,9 @@ import com.facebook.litho.animation.RuntimeValue;
 import com.facebook.litho.animation.SpringTransition;
 import com.facebook.litho.animation.TimingTransition;
 import com.facebook.litho.animation.TransitionAnimationBinding;
+import com.facebook.litho.animation.ViewAnimationDriver;
+import com.facebook.litho.animation.ViewPropertyAnimatorDriver;
+import com.facebook.litho.animation.ViewPropertyTransition;
 import com.facebook.litho.dataflow.springs.SpringConfig;
 import com.facebook.rendercore.Function;
 import com.facebook.rendercore.transitions.TransitionsExtensionInput;
@@ -266,6 +269,24 @@ public abstract class Transition {
     return new TimingTransitionAnimator(durationMs, interpolator);
   }
 
+  /**
+   * Creates a {@link ViewPropertyTransition} with the given duration. Animations of the x, y,
+   * alpha, scale and rotation of Views run on {@link android.view.ViewPropertyAnimator} instead of
+   * being computed by Litho on every frame.
+   */
+  public static TransitionAnimator viewPropertyAnimator(final int durationMs) {
+    return new ViewPropertyTransitionAnimator(durationMs);
+  }
+
+  /**
+   * Creates a {@link ViewPropertyTransition} with the given duration and {@link Interpolator}, see
+   * {@link #viewPropertyAnimator(int)}.
+   */
+  public static TransitionAnimator viewPropertyAnimator(
+      final int durationMs, Interpolator interpolator) {
+    return new ViewPropertyTransitionAnimator(durationMs, interpolator);
+  }
+
   public static class TransitionUnit extends Transition {
 
     private final AnimationTarget mAnimationTarget;
@@ -643,6 +664,40 @@ public abstract class Transition {
     }
   }
 
+  /**
+   * Creates timing-driven animations with the given duration which run on a {@link
+   * ViewAnimationDriver} when possible.
+   */
+  public static class ViewPropertyTransitionAnimator implements TransitionAnimator {
+
+    final int mDurationMs;
+    final Interpolator mInterpolator;
+    final ViewAnimationDriver mDriver;
+
+    /** Create animator with accelerate decelerate interpolation. */
+    public ViewPropertyTransitionAnimator(int durationMs) {
+      this(durationMs, DEFAULT_INTERPOLATOR);
+    }
+
+    /** Create animator with custom Android interpolator. */
+    public ViewPropertyTransitionAnimator(int durationMs, Interpolator interpolator) {
+      this(durationMs, interpolator, ViewPropertyAnimatorDriver.getInstance());
+    }
+
+    /** Create animator running on the given {@link ViewAnimationDriver}, e.g. in tests. */
+    public ViewPropertyTransitionAnimator(
+        int durationMs, Interpolator interpolator, ViewAnimationDriver driver) {
+      mDurationMs = durationMs;
+      mInterpolator = interpolator;
+      mDriver = driver;
+    }
+
+    @Override
+    public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
+      return new ViewPropertyTransition(mDurationMs, propertyAnimation, mInterpolator, mDriver);
+    }
+  }
+
   /**
    * Separate resolver for root component to extract the start value of appear animation of its *
    * width/height that we will set in root host onMeasure.
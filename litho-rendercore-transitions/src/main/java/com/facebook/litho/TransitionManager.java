@@ -245,36 +245,45 @@ public class TransitionManager {
         recordLayoutOutputsGroupDiff(transitionId, null, nextLayoutOutputsGroup);
       }
     } else {
-      final HashSet<TransitionId> seenInNewLayout = new HashSet<>();
-
-      for (TransitionId transitionId : nextTransitionIds.keySet()) {
+      for (Map.Entry<TransitionId, OutputUnitsAffinityGroup<AnimatableItem>> nextTransitionId :
+          nextTransitionIds.entrySet()) {
+        final TransitionId transitionId = nextTransitionId.getKey();
         final boolean isAutogenerated = transitionId.mType == TransitionId.Type.AUTOGENERATED;
 
         final OutputUnitsAffinityGroup<AnimatableItem> nextLayoutOutputsGroup =
-            nextTransitionIds.get(transitionId);
+            nextTransitionId.getValue();
         final OutputUnitsAffinityGroup<AnimatableItem> currentLayoutOutputsGroup =
             currentTransitionIds.get(transitionId);
 
-        if (nextLayoutOutputsGroup != null) {
-          seenInNewLayout.add(transitionId);
-        } else if (isAutogenerated) {
+        if (nextLayoutOutputsGroup == null && isAutogenerated) {
           // Only appearing animation would be possible, but there is no way to declare appearing
           // animation for autogenerated ids
           continue;
         }
 
+        if (currentLayoutOutputsGroup != null
+            && nextLayoutOutputsGroup != null
+            && !mAnimationStates.contains(transitionId)
+            && hasSameAnimatableValues(currentLayoutOutputsGroup, nextLayoutOutputsGroup)) {
+          // Nothing is animating this id and none of its properties changed, so no animation can
+          // be created for it: skip creating an AnimationState that would be cleaned up right away.
+          continue;
+        }
+
         recordLayoutOutputsGroupDiff(
             transitionId, currentLayoutOutputsGroup, nextLayoutOutputsGroup);
       }
 
-      for (TransitionId transitionId : currentTransitionIds.keySet()) {
-        if (seenInNewLayout.contains(transitionId)) {
+      for (Map.Entry<TransitionId, OutputUnitsAffinityGroup<AnimatableItem>> currentTransitionId :
+          currentTransitionIds.entrySet()) {
+        final TransitionId transitionId = currentTransitionId.getKey();
+        if (nextTransitionIds.get(transitionId) != null) {
           // We either already processed this id or it's autogenerated and is not present in the
           // new layout, thus only disappearing animation would be possible, but there is no way to
           // declare disappearing animation for autogenerated ids
           continue;
         }
-        recordLayoutOutputsGroupDiff(transitionId, currentTransitionIds.get(transitionId), null);
+        recordLayoutOutputsGroupDiff(transitionId, currentTransitionId.getValue(), null);
       }
     }
 
@@ -295,6 +304,10 @@ public class TransitionManager {
   //       which change without a change transition declared. Also the flag should probably belong
   //       to the properties and not to the AnimationState.
   void finishUndeclaredTransitions() {
+    if (!hasUndeclaredTransitions()) {
+      return;
+    }
+
     for (AnimationState animationState : new ArrayList<>(mAnimationStates.values())) {
       if (animationState.shouldFinishUndeclaredAnimation) {
         animationState.shouldFinishUndeclaredAnimation = false;
@@ -311,6 +324,15 @@ public class TransitionManager {
     }
   }
 
+  private boolean hasUndeclaredTransitions() {
+    for (AnimationState animationState : mAnimationStates.values()) {
+      if (animationState.shouldFinishUndeclaredAnimation) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Called after {@link #setupTransitions} has been called and the new layout has been mounted.
    * This restores the state of the previous layout for content that will animate and then starts
@@ -375,6 +397,18 @@ public class TransitionManager {
     return mAnimationStates.contains(transitionId);
   }
 
+  /**
+   * After transitions have been setup with {@link #setupTransitions}, adds the ids of {@code
+   * transitionIds} which will be/are animating to {@code outIds}.
+   */
+  void collectAnimatingTransitionIds(Map<TransitionId, ?> transitionIds, Set<TransitionId> outIds) {
+    for (TransitionId transitionId : mAnimationStates.ids()) {
+      if (transitionIds.containsKey(transitionId)) {
+        outIds.add(transitionId);
+      }
+    }
+  }
+
   /**
    * After transitions have been setup with {@link #setupTransitions}, returns whether the given key
    * is disappearing.
@@ -465,6 +499,36 @@ public class TransitionManager {
     }
   }
 
+  /**
+   * @return whether every {@link AnimatedProperty} reads the same value from both groups, in which
+   *     case a change between them can't be animated.
+   */
+  private static boolean hasSameAnimatableValues(
+      OutputUnitsAffinityGroup<AnimatableItem> currentLayoutOutputsGroup,
+      OutputUnitsAffinityGroup<AnimatableItem> nextLayoutOutputsGroup) {
+    final AnimatableItem current = currentLayoutOutputsGroup.getMostSignificantUnit();
+    final AnimatableItem next = nextLayoutOutputsGroup.getMostSignificantUnit();
+    if (current == next) {
+      return true;
+    }
+    if (current == null || next == null) {
+      return false;
+    }
+
+    return current.getOutputType() == next.getOutputType()
+        && current.getAbsoluteBounds().equals(next.getAbsoluteBounds())
+        && current.isAlphaSet() == next.isAlphaSet()
+        && current.getAlpha() == next.getAlpha()
+        && current.isScaleSet() == next.isScaleSet()
+        && current.getScale() == next.getScale()
+        && current.isRotationSet() == next.isRotationSet()
+        && current.getRotation() == next.getRotation()
+        && current.isRotationXSet() == next.isRotationXSet()
+        && current.getRotationX() == next.getRotationX()
+        && current.isRotationYSet() == next.isRotationYSet()
+        && current.getRotationY() == next.getRotationY();
+  }
+
   private void recordLastMountedValues(AnimationState animationState) {
     final AnimatableItem animatableItem =
         animationState.nextLayoutOutputsGroup != null
@@ -835,7 +899,7 @@ public class TransitionManager {
    * never resulted in an animation being created.
    */
   private void cleanupNonAnimatingAnimationStates() {
-    final Set<TransitionId> toRemove = new HashSet<>();
+    Set<TransitionId> toRemove = null;
 
     for (TransitionId transitionId : mAnimationStates.ids()) {
       final AnimationState animationState = mAnimationStates.get(transitionId);
@@ -843,12 +907,17 @@ public class TransitionManager {
         setMountContentInner(transitionId, animationState, null);
         clearLayoutOutputs(animationState);
 
+        if (toRemove == null) {
+          toRemove = new HashSet<>();
+        }
         toRemove.add(transitionId);
       }
     }
 
-    for (TransitionId transitionId : toRemove) {
-      mAnimationStates.remove(transitionId);
+    if (toRemove != null) {
+      for (TransitionId transitionId : toRemove) {
+        mAnimationStates.remove(transitionId);
+      }
     }
   }
 
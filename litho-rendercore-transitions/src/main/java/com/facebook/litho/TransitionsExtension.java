@@ -539,14 +539,8 @@ public class TransitionsExtension
             : state.mLastTransitionsExtensionInput.getTransitionIdMapping();
     state.mTransitionManager.setupTransitions(
         lastTransitions, input.getTransitionIdMapping(), rootTransition);
-
-    final Map<TransitionId, OutputUnitsAffinityGroup<AnimatableItem>> nextTransitionIds =
-        input.getTransitionIdMapping();
-    for (TransitionId transitionId : nextTransitionIds.keySet()) {
-      if (state.mTransitionManager.isAnimating(transitionId)) {
-        state.mAnimatingTransitionIds.add(transitionId);
-      }
-    }
+    state.mTransitionManager.collectAnimatingTransitionIds(
+        input.getTransitionIdMapping(), state.mAnimatingTransitionIds);
   }
 
   /** Determine whether to apply disappear animation to the given {@link MountItem} */
@@ -17,6 +17,7 @@
 package com.facebook.litho.animation;
 
 import android.graphics.drawable.Drawable;
+import android.view.View;
 import com.facebook.litho.OutputUnitsAffinityGroup;
 import com.facebook.litho.dataflow.ValueNode;
 import java.lang.ref.WeakReference;
@@ -35,7 +36,7 @@ public class AnimatedPropertyNode extends ValueNode {
   private final AnimatedProperty mAnimatedProperty;
   private final OutputUnitsAffinityGroup<WeakReference<Object>> mMountContentGroup =
       new OutputUnitsAffinityGroup<>();
-  private boolean mUsingRenderThread;
+  private @Nullable ViewPropertyTransition mViewAnimation;
 
   public AnimatedPropertyNode(
       OutputUnitsAffinityGroup<Object> mountContentGroup, AnimatedProperty animatedProperty) {
@@ -49,6 +50,16 @@ public class AnimatedPropertyNode extends ValueNode {
     setValueInner(getValue());
   }
 
+  @Override
+  public float getValue() {
+    // While a ViewPropertyTransition runs, the View holds the up to date value.
+    final Object mountContent =
+        mViewAnimation != null
+            ? resolveReference(mMountContentGroup.getMostSignificantUnit())
+            : null;
+    return mountContent != null ? mAnimatedProperty.get(mountContent) : super.getValue();
+  }
+
   @Override
   public void setValue(float value) {
     super.setValue(value);
@@ -73,6 +84,11 @@ public class AnimatedPropertyNode extends ValueNode {
       return mAnimatedProperty.get(mountContent);
     }
 
+    if (mViewAnimation != null) {
+      // An animation driven by the graph takes over from the one running on the View.
+      mViewAnimation.interrupt();
+    }
+
     final float value = getInput().getValue();
     setValueInner(value);
 
@@ -80,11 +96,26 @@ public class AnimatedPropertyNode extends ValueNode {
   }
 
   /**
-   * Sets if the content is being animated on the Render thread, which means that the further passed
-   * are not be applied to the content, but just to be recorded
+   * Sets the {@link ViewPropertyTransition} animating the content outside of the graph, which means
+   * that further values are not applied to the content, but just recorded.
    */
-  void setUsingRenderThread(boolean usingRenderThread) {
-    this.mUsingRenderThread = usingRenderThread;
+  void setViewAnimation(@Nullable ViewPropertyTransition viewAnimation) {
+    mViewAnimation = viewAnimation;
+  }
+
+  @Nullable
+  ViewPropertyTransition getViewAnimation() {
+    return mViewAnimation;
+  }
+
+  /** @return the mount content if it is a single View, null otherwise. */
+  @Nullable
+  View getSingleView() {
+    if (mMountContentGroup.size() != 1) {
+      return null;
+    }
+    final Object mountContent = resolveReference(mMountContentGroup.getAt(0));
+    return mountContent instanceof View ? (View) mountContent : null;
   }
 
   private void setMountContentGroupInner(OutputUnitsAffinityGroup<Object> mountContentGroup) {
@@ -99,7 +130,7 @@ public class AnimatedPropertyNode extends ValueNode {
   }
 
   private void setValueInner(float value) {
-    if (mUsingRenderThread) {
+    if (mViewAnimation != null) {
       return;
     }
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+import androidx.annotation.Nullable;
+import com.facebook.litho.choreographercompat.ChoreographerCompat;
+import java.util.ArrayList;
+
+/**
+ * A {@link ViewAnimationDriver} which steps animations on the frames of a {@link
+ * ChoreographerCompat}. It supports the same properties as {@link ViewPropertyAnimatorDriver} and
+ * can be given a {@link com.facebook.litho.dataflow.MockTimingSource} to step {@link
+ * ViewPropertyTransition}s frame by frame in tests.
+ */
+public class ChoreographerViewAnimationDriver implements ViewAnimationDriver {
+
+  private final ChoreographerCompat mChoreographerCompat;
+  private final ArrayList<RunningAnimation> mRunningAnimations = new ArrayList<>();
+  private final ChoreographerCompat.FrameCallback mFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          ChoreographerViewAnimationDriver.this.doFrame(frameTimeNanos);
+        }
+      };
+  private boolean mIsFrameCallbackPosted;
+
+  public ChoreographerViewAnimationDriver(ChoreographerCompat choreographerCompat) {
+    mChoreographerCompat = choreographerCompat;
+  }
+
+  @Override
+  public boolean canAnimate(AnimatedProperty property) {
+    return ViewPropertyAnimatorDriver.getInstance().canAnimate(property);
+  }
+
+  @Override
+  public void animate(
+      View view,
+      AnimatedProperty property,
+      float endValue,
+      int durationMs,
+      @Nullable Interpolator interpolator,
+      Listener listener) {
+    final RunningAnimation replaced = remove(view, property);
+    mRunningAnimations.add(
+        new RunningAnimation(
+            view,
+            property,
+            ViewPropertyAnimatorDriver.getValue(view, property),
+            endValue,
+            durationMs,
+            interpolator,
+            listener));
+    if (!mIsFrameCallbackPosted) {
+      mIsFrameCallbackPosted = true;
+      mChoreographerCompat.postFrameCallback(mFrameCallback);
+    }
+
+    if (replaced != null) {
+      replaced.listener.onAnimationReplaced();
+    }
+  }
+
+  @Override
+  public void cancel(View view, AnimatedProperty property) {
+    remove(view, property);
+  }
+
+  /** @return the number of animations which haven't reached their end value yet. */
+  public int getRunningAnimationCount() {
+    return mRunningAnimations.size();
+  }
+
+  private void doFrame(long frameTimeNanos) {
+    mIsFrameCallbackPosted = false;
+
+    ArrayList<RunningAnimation> finishedAnimations = null;
+    for (int i = mRunningAnimations.size() - 1; i >= 0; i--) {
+      final RunningAnimation animation = mRunningAnimations.get(i);
+      if (animation.startTimeNanos < 0) {
+        animation.startTimeNanos = frameTimeNanos;
+      }
+
+      final long elapsedMs = (frameTimeNanos - animation.startTimeNanos) / 1000000;
+      final float fraction =
+          animation.durationMs <= 0 ? 1 : Math.min(1f, (float) elapsedMs / animation.durationMs);
+      final float interpolatedFraction =
+          animation.interpolator != null
+              ? animation.interpolator.getInterpolation(fraction)
+              : fraction;
+      setValue(
+          animation.view,
+          animation.property,
+          animation.startValue
+              + (animation.endValue - animation.startValue) * interpolatedFraction);
+
+      if (fraction >= 1) {
+        mRunningAnimations.remove(i);
+        if (finishedAnimations == null) {
+          finishedAnimations = new ArrayList<>();
+        }
+        finishedAnimations.add(animation);
+      }
+    }
+
+    if (!mRunningAnimations.isEmpty()) {
+      mIsFrameCallbackPosted = true;
+      mChoreographerCompat.postFrameCallback(mFrameCallback);
+    }
+
+    if (finishedAnimations != null) {
+      for (int i = 0, size = finishedAnimations.size(); i < size; i++) {
+        finishedAnimations.get(i).listener.onAnimationEnd();
+      }
+    }
+  }
+
+  private @Nullable RunningAnimation remove(View view, AnimatedProperty property) {
+    for (int i = 0, size = mRunningAnimations.size(); i < size; i++) {
+      final RunningAnimation animation = mRunningAnimations.get(i);
+      if (animation.view == view && animation.property == property) {
+        return mRunningAnimations.remove(i);
+      }
+    }
+    return null;
+  }
+
+  private static void setValue(View view, AnimatedProperty property, float value) {
+    if (property == AnimatedProperties.X) {
+      view.setX(value);
+    } else if (property == AnimatedProperties.Y) {
+      view.setY(value);
+    } else {
+      property.set(view, value);
+    }
+  }
+
+  private static class RunningAnimation {
+
+    final View view;
+    final AnimatedProperty property;
+    final float startValue;
+    final float endValue;
+    final int durationMs;
+    final @Nullable Interpolator interpolator;
+    final Listener listener;
+    long startTimeNanos = -1;
+
+    RunningAnimation(
+        View view,
+        AnimatedProperty property,
+        float startValue,
+        float endValue,
+        int durationMs,
+        @Nullable Interpolator interpolator,
+        Listener listener) {
+      this.view = view;
+      this.property = property;
+      this.startValue = startValue;
+      this.endValue = endValue;
+      this.durationMs = durationMs;
+      this.interpolator = interpolator;
+      this.listener = listener;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+import androidx.annotation.Nullable;
+
+/**
+ * Runs the animation of a single property of a {@link View} outside of the {@link
+ * com.facebook.litho.dataflow.DataFlowGraph}, see {@link ViewPropertyTransition}.
+ *
+ * <p>Values are expressed the way the View setters take them, e.g. X and Y are relative to the
+ * parent of the View and not to the root host like {@link AnimatedProperties#X}.
+ */
+public interface ViewAnimationDriver {
+
+  /** Notified when an animation started with {@link #animate} ends. */
+  interface Listener {
+
+    /** Called once the View has reached the end value. */
+    void onAnimationEnd();
+
+    /** Called when another animation of the same property of the same View replaced this one. */
+    void onAnimationReplaced();
+  }
+
+  /** @return whether this driver can animate {@code property} on Views. */
+  boolean canAnimate(AnimatedProperty property);
+
+  /**
+   * Animates {@code property} of {@code view} from its current value to {@code endValue}. An
+   * animation of the same property of the same View which is still running is replaced.
+   */
+  void animate(
+      View view,
+      AnimatedProperty property,
+      float endValue,
+      int durationMs,
+      @Nullable Interpolator interpolator,
+      Listener listener);
+
+  /**
+   * Stops the animation of {@code property} of {@code view}, if any, leaving the View at its
+   * current value. The listener of the animation isn't notified.
+   */
+  void cancel(View view, AnimatedProperty property);
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.view.View;
+import android.view.ViewPropertyAnimator;
+import android.view.animation.Interpolator;
+import androidx.annotation.Nullable;
+import androidx.collection.SimpleArrayMap;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link ViewAnimationDriver} backed by {@link View#animate()}. The animation runs on the
+ * animation handler of the UI thread without going through the {@link
+ * com.facebook.litho.dataflow.DataFlowGraph}, and with hardware layers and invalidation handled by
+ * the framework.
+ *
+ * <p>Must only be used from the UI thread.
+ */
+public final class ViewPropertyAnimatorDriver implements ViewAnimationDriver {
+
+  private static final ViewPropertyAnimatorDriver INSTANCE = new ViewPropertyAnimatorDriver();
+
+  private final WeakHashMap<View, SimpleArrayMap<AnimatedProperty, Listener>> mListeners =
+      new WeakHashMap<>();
+
+  public static ViewPropertyAnimatorDriver getInstance() {
+    return INSTANCE;
+  }
+
+  private ViewPropertyAnimatorDriver() {}
+
+  @Override
+  public boolean canAnimate(AnimatedProperty property) {
+    return property == AnimatedProperties.X
+        || property == AnimatedProperties.Y
+        || property == AnimatedProperties.ALPHA
+        || property == AnimatedProperties.SCALE
+        || property == AnimatedProperties.SCALE_X
+        || property == AnimatedProperties.SCALE_Y
+        || property == AnimatedProperties.ROTATION;
+  }
+
+  @Override
+  public void animate(
+      final View view,
+      final AnimatedProperty property,
+      float endValue,
+      int durationMs,
+      @Nullable Interpolator interpolator,
+      final Listener listener) {
+    final ViewPropertyAnimator animator = view.animate();
+    setEndValue(animator, property, endValue);
+    // Starting explicitly creates a dedicated animator, so the end action only belongs to this
+    // property.
+    animator
+        .setStartDelay(0)
+        .setDuration(durationMs)
+        .setInterpolator(interpolator)
+        .withEndAction(
+            new Runnable() {
+              @Override
+              public void run() {
+                if (removeListener(view, property, listener)) {
+                  listener.onAnimationEnd();
+                }
+              }
+            })
+        .start();
+
+    SimpleArrayMap<AnimatedProperty, Listener> listeners = mListeners.get(view);
+    if (listeners == null) {
+      listeners = new SimpleArrayMap<>();
+      mListeners.put(view, listeners);
+    }
+    final Listener replacedListener = listeners.put(property, listener);
+    if (replacedListener != null) {
+      replacedListener.onAnimationReplaced();
+    }
+  }
+
+  @Override
+  public void cancel(View view, AnimatedProperty property) {
+    final SimpleArrayMap<AnimatedProperty, Listener> listeners = mListeners.get(view);
+    if (listeners == null || listeners.remove(property) == null) {
+      return;
+    }
+
+    // ViewPropertyAnimator can't cancel a single property: animating it again takes it over from
+    // the running animator, and an immediate animation to the current value freezes it.
+    final ViewPropertyAnimator animator = view.animate();
+    setEndValue(animator, property, getValue(view, property));
+    animator.setStartDelay(0).setDuration(0).start();
+  }
+
+  private boolean removeListener(View view, AnimatedProperty property, Listener listener) {
+    final SimpleArrayMap<AnimatedProperty, Listener> listeners = mListeners.get(view);
+    if (listeners == null || listeners.get(property) != listener) {
+      return false;
+    }
+    listeners.remove(property);
+    if (listeners.isEmpty()) {
+      mListeners.remove(view);
+    }
+    return true;
+  }
+
+  private static void setEndValue(
+      ViewPropertyAnimator animator, AnimatedProperty property, float value) {
+    if (property == AnimatedProperties.X) {
+      animator.x(value);
+    } else if (property == AnimatedProperties.Y) {
+      animator.y(value);
+    } else if (property == AnimatedProperties.ALPHA) {
+      animator.alpha(value);
+    } else if (property == AnimatedProperties.SCALE) {
+      animator.scaleX(value).scaleY(value);
+    } else if (property == AnimatedProperties.SCALE_X) {
+      animator.scaleX(value);
+    } else if (property == AnimatedProperties.SCALE_Y) {
+      animator.scaleY(value);
+    } else if (property == AnimatedProperties.ROTATION) {
+      animator.rotation(value);
+    } else {
+      throw new IllegalArgumentException(
+          "Animating '" + property.getName() + "' isn't supported by ViewPropertyAnimator");
+    }
+  }
+
+  /** @return the value of {@code property} the way {@link ViewPropertyAnimator} sees it. */
+  static float getValue(View view, AnimatedProperty property) {
+    if (property == AnimatedProperties.X) {
+      return view.getX();
+    } else if (property == AnimatedProperties.Y) {
+      return view.getY();
+    } else {
+      return property.get(view);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.animation;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+import androidx.annotation.Nullable;
+
+/**
+ * A {@link TimingTransition} which hands the animation over to a {@link ViewAnimationDriver}, by
+ * default {@link ViewPropertyAnimatorDriver}, when it animates a property of a single View that the
+ * driver supports. Only the end state is then recorded on the {@link AnimatedPropertyNode}, and no
+ * frame goes through the {@link com.facebook.litho.dataflow.DataFlowGraph}.
+ *
+ * <p>Other mount content, like Drawables or groups of several output units, falls back to the
+ * regular {@link TimingTransition}.
+ */
+public class ViewPropertyTransition extends TimingTransition {
+
+  private final int mDurationMs;
+  private final PropertyAnimation mPropertyAnimation;
+  private final @Nullable Interpolator mInterpolator;
+  private final ViewAnimationDriver mDriver;
+  private final ViewAnimationDriver.Listener mDriverListener =
+      new ViewAnimationDriver.Listener() {
+        @Override
+        public void onAnimationEnd() {
+          finishOnView();
+          notifyFinished();
+        }
+
+        @Override
+        public void onAnimationReplaced() {
+          finishOnView();
+          notifyFinished();
+        }
+      };
+
+  private @Nullable AnimatedPropertyNode mNode;
+  private @Nullable View mView;
+
+  public ViewPropertyTransition(
+      int durationMs, PropertyAnimation propertyAnimation, @Nullable Interpolator interpolator) {
+    this(durationMs, propertyAnimation, interpolator, ViewPropertyAnimatorDriver.getInstance());
+  }
+
+  public ViewPropertyTransition(
+      int durationMs,
+      PropertyAnimation propertyAnimation,
+      @Nullable Interpolator interpolator,
+      ViewAnimationDriver driver) {
+    super(durationMs, propertyAnimation, interpolator);
+    mDurationMs = durationMs;
+    mPropertyAnimation = propertyAnimation;
+    mInterpolator = interpolator;
+    mDriver = driver;
+  }
+
+  @Override
+  public void start(Resolver resolver) {
+    final PropertyHandle propertyHandle = mPropertyAnimation.getPropertyHandle();
+    final AnimatedProperty property = propertyHandle.getProperty();
+    final AnimatedPropertyNode node = resolver.getAnimatedPropertyNode(propertyHandle);
+    final View view = node.getSingleView();
+    if (view == null || !mDriver.canAnimate(property)) {
+      super.start(resolver);
+      return;
+    }
+
+    if (!shouldStart()) {
+      notifyCanceledBeforeStart();
+      return;
+    }
+    notifyWillStart();
+
+    // If the View is still animating towards a previous target, this is its current value and the
+    // previous animation gets replaced below.
+    final float startValue = resolver.getCurrentState(propertyHandle);
+    node.setViewAnimation(null);
+    node.setValue(startValue);
+
+    // The driver works with the values the View setters take, which differ for X and Y.
+    final float offset = property.get(view) - ViewPropertyAnimatorDriver.getValue(view, property);
+
+    mNode = node;
+    mView = view;
+    node.setViewAnimation(this);
+    mDriver.animate(
+        view,
+        property,
+        mPropertyAnimation.getTargetValue() - offset,
+        mDurationMs,
+        mInterpolator,
+        mDriverListener);
+  }
+
+  @Override
+  public void stop() {
+    final View view = mView;
+    if (view == null) {
+      super.stop();
+      return;
+    }
+
+    mDriver.cancel(view, mPropertyAnimation.getProperty());
+    finishOnView();
+  }
+
+  @Override
+  public boolean isActive() {
+    return mView != null || super.isActive();
+  }
+
+  /** Stops the animation running on the View and notifies that this animation finished. */
+  void interrupt() {
+    if (mView == null) {
+      return;
+    }
+    stop();
+    notifyFinished();
+  }
+
+  private void finishOnView() {
+    final AnimatedPropertyNode node = mNode;
+    mNode = null;
+    mView = null;
+
+    if (node != null && node.getViewAnimation() == this) {
+      // Records the value the View ended up with, since it was not applied through the node.
+      final float value = node.getValue();
+      node.setViewAnimation(null);
+      node.setValue(value);
+    }
+  }
+}
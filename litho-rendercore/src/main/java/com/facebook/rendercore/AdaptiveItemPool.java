@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import android.content.Context;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link MountItemsPool.ItemPool} which learns how many items of its type are worth keeping,
+ * used instead of the fixed size default pools when {@link
+ * RenderCoreConfig#useAdaptiveMountItemsPools} is enabled.
+ *
+ * <p>The pool grows by one every time content has to be created while an item of the same type was
+ * dropped since the previous such miss, i.e. whenever keeping one more item would have avoided the
+ * allocation. It shrinks by one, releasing an item, after every window of {@link #WINDOW_SIZE}
+ * acquisitions without such misses. The items kept by all the adaptive pools are capped by {@link
+ * RenderCoreConfig#adaptiveMountItemsPoolsBudget}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class AdaptiveItemPool implements MountItemsPool.ItemPool<Object> {
+
+  @VisibleForTesting static final int WINDOW_SIZE = 64;
+  private static final int MAX_TARGET_SIZE = 32;
+
+  private static final AtomicInteger sPooledItemCount = new AtomicInteger();
+
+  private final Object mContentType;
+  private final ArrayDeque<Object> mItems = new ArrayDeque<>();
+  private int mTargetSize;
+  private int mDroppedSinceMiss;
+  private int mAcquiresInWindow;
+  private boolean mHadMissInWindow;
+  private long mHitCount;
+  private long mMissCount;
+  private long mDropCount;
+
+  public AdaptiveItemPool(Object contentType, int initialSize) {
+    mContentType = contentType;
+    mTargetSize = Math.max(1, Math.min(initialSize, MAX_TARGET_SIZE));
+  }
+
+  @Override
+  public synchronized @Nullable Object acquire(
+      Context c, PoolableContentProvider poolableMountContent) {
+    final @Nullable Object item = mItems.pollFirst();
+    if (item != null) {
+      sPooledItemCount.decrementAndGet();
+      mHitCount++;
+    } else {
+      mMissCount++;
+      if (mDroppedSinceMiss > 0 && mTargetSize < MAX_TARGET_SIZE) {
+        mTargetSize++;
+        mHadMissInWindow = true;
+      }
+      mDroppedSinceMiss = 0;
+    }
+
+    if (++mAcquiresInWindow >= WINDOW_SIZE) {
+      if (!mHadMissInWindow && mTargetSize > 1) {
+        mTargetSize--;
+        trimToTargetSize();
+      }
+      mAcquiresInWindow = 0;
+      mHadMissInWindow = false;
+    }
+    return item;
+  }
+
+  @Override
+  public synchronized void release(Object item) {
+    if (mItems.size() >= mTargetSize || !reserveBudget()) {
+      mDroppedSinceMiss++;
+      mDropCount++;
+      return;
+    }
+    mItems.addFirst(item);
+  }
+
+  /** Fills the pool up to the size it learned, e.g. before a screen which will need the content. */
+  @Override
+  public void maybePreallocateContent(Context c, PoolableContentProvider poolableMountContent) {
+    while (needsContent()) {
+      final Object item = poolableMountContent.createPoolableContent(c);
+      synchronized (this) {
+        if (mItems.size() >= mTargetSize || !reserveBudget()) {
+          return;
+        }
+        mItems.addLast(item);
+      }
+    }
+  }
+
+  /** @return the type of content held by this pool, typically the class of the content. */
+  public Object getContentType() {
+    return mContentType;
+  }
+
+  /** @return the number of items this pool currently aims to keep. */
+  public synchronized int getTargetSize() {
+    return mTargetSize;
+  }
+
+  /** @return the number of items currently pooled. */
+  public synchronized int getSize() {
+    return mItems.size();
+  }
+
+  /** @return the number of acquisitions served from the pool. */
+  public synchronized long getHitCount() {
+    return mHitCount;
+  }
+
+  /** @return the number of acquisitions which required creating new content. */
+  public synchronized long getMissCount() {
+    return mMissCount;
+  }
+
+  /** @return the number of released items which were not kept. */
+  public synchronized long getDropCount() {
+    return mDropCount;
+  }
+
+  /** @return the ratio of acquisitions served from the pool, or 0 if nothing was acquired. */
+  public synchronized float getHitRate() {
+    final long acquireCount = mHitCount + mMissCount;
+    return acquireCount == 0 ? 0 : (float) mHitCount / acquireCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return mContentType
+        + ": size="
+        + mItems.size()
+        + "/"
+        + mTargetSize
+        + ", hits="
+        + mHitCount
+        + ", misses="
+        + mMissCount
+        + ", drops="
+        + mDropCount;
+  }
+
+  @VisibleForTesting
+  static int getPooledItemCount() {
+    return sPooledItemCount.get();
+  }
+
+  /** Called when the pool is discarded, to give its items back to the global budget. */
+  synchronized void clear() {
+    sPooledItemCount.addAndGet(-mItems.size());
+    mItems.clear();
+  }
+
+  private synchronized boolean needsContent() {
+    return mItems.size() < mTargetSize
+        && sPooledItemCount.get() < RenderCoreConfig.adaptiveMountItemsPoolsBudget;
+  }
+
+  private static boolean reserveBudget() {
+    while (true) {
+      final int count = sPooledItemCount.get();
+      if (count >= RenderCoreConfig.adaptiveMountItemsPoolsBudget) {
+        return false;
+      }
+      if (sPooledItemCount.compareAndSet(count, count + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void trimToTargetSize() {
+    while (mItems.size() > mTargetSize) {
+      mItems.pollLast();
+      sPooledItemCount.decrementAndGet();
+    }
+  }
+}
@@ -153,7 +153,10 @@ public class MountItemsPool {
 
         // PoolableMountContent might produce a null pool. In this case, just create a default one.
         if (pool == null) {
-          pool = new DefaultItemPool(lifecycle, size);
+          pool =
+              RenderCoreConfig.useAdaptiveMountItemsPools
+                  ? new AdaptiveItemPool(lifecycle, size)
+                  : new DefaultItemPool(lifecycle, size);
         }
 
         poolsMap.put(lifecycle, pool);
@@ -166,6 +169,9 @@ public class MountItemsPool {
   @VisibleForTesting(otherwise = VisibleForTesting.PACKAGE_PRIVATE)
   public static void clear() {
     synchronized (sMountContentLock) {
+      for (Map<Object, ItemPool> poolsMap : sMountContentPoolsByContext.values()) {
+        clearAdaptiveItemPools(poolsMap);
+      }
       sMountContentPoolsByContext.clear();
       sHostPoolsByWindowAndContext.clear();
       sDestroyedRootContexts.clear();
@@ -308,6 +314,12 @@ public class MountItemsPool {
 
   public static void onContextDestroyed(Context context) {
     synchronized (sMountContentLock) {
+      for (Map.Entry<Context, Map<Object, ItemPool>> entry :
+          sMountContentPoolsByContext.entrySet()) {
+        if (entry.getKey() == context || isContextWrapper(entry.getKey(), context)) {
+          clearAdaptiveItemPools(entry.getValue());
+        }
+      }
       clearMatchingContexts(context, sMountContentPoolsByContext);
       clearMatchingContexts(context, sHostPoolsByWindowAndContext);
 
@@ -330,6 +342,34 @@ public class MountItemsPool {
     }
   }
 
+  /** Gives the items of the adaptive pools which are discarded back to the global budget. */
+  @GuardedBy("sMountContentLock")
+  private static void clearAdaptiveItemPools(Map<Object, ItemPool> poolsMap) {
+    for (ItemPool pool : poolsMap.values()) {
+      if (pool instanceof AdaptiveItemPool) {
+        ((AdaptiveItemPool) pool).clear();
+      }
+    }
+  }
+
+  /**
+   * @return the pools created while {@link RenderCoreConfig#useAdaptiveMountItemsPools} was
+   *     enabled, which report the demand and hit rate of their content type.
+   */
+  public static List<AdaptiveItemPool> getAdaptiveItemPools() {
+    final List<AdaptiveItemPool> result = new ArrayList<>();
+    synchronized (sMountContentLock) {
+      for (Map<Object, ItemPool> poolMap : sMountContentPoolsByContext.values()) {
+        for (ItemPool pool : poolMap.values()) {
+          if (pool instanceof AdaptiveItemPool) {
+            result.add((AdaptiveItemPool) pool);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
   @VisibleForTesting
   public static List<ItemPool> getMountItemPools() {
     final List<ItemPool> result = new ArrayList<>();
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.rendercore;
+
+import androidx.annotation.Nullable;
+import java.lang.ref.WeakReference;
+
+/**
+ * Precomputed lookups of where every {@link RenderTreeNode} of a previous {@link RenderTree} ends
+ * up in the next one: its position and the id of its host. They are computed on the layout thread
+ * right after the next tree is created so that {@link MountState} doesn't have to look up every id
+ * of the previous tree when unmounting or moving its items on the UI thread.
+ *
+ * <p>Deciding which items to update or mount still happens in {@link MountState}, since it depends
+ * on what is currently mounted.
+ *
+ * <p>The lookups are only valid when mounting their tree on top of the exact tree they were
+ * computed against, see {@link #isValidFor(RenderTree, RenderTree)}.
+ */
+public class MountLookups {
+
+  /** Index in the next tree of a node which is not present in it anymore. */
+  public static final int REMOVED = -1;
+
+  // Weak so that a chain of trees doesn't keep every previous tree alive.
+  private final WeakReference<RenderTree> mPreviousRenderTree;
+  private final WeakReference<RenderTree> mNextRenderTree;
+
+  private final int[] mNextPositions;
+  private final long[] mNextHostIds;
+
+  private MountLookups(RenderTree previous, RenderTree next) {
+    mPreviousRenderTree = new WeakReference<>(previous);
+    mNextRenderTree = new WeakReference<>(next);
+
+    final int previousCount = previous.getMountableOutputCount();
+    mNextPositions = new int[previousCount];
+    mNextHostIds = new long[previousCount];
+
+    for (int i = 0; i < previousCount; i++) {
+      final RenderTreeNode previousNode = previous.getRenderTreeNodeAtIndex(i);
+      final int nextPosition = next.getRenderTreeNodeIndex(previousNode.getRenderUnit().getId());
+      mNextPositions[i] = nextPosition;
+      if (nextPosition == REMOVED) {
+        continue;
+      }
+
+      final RenderTreeNode nextParent = next.getRenderTreeNodeAtIndex(nextPosition).getParent();
+      mNextHostIds[i] = nextParent == null ? 0L : nextParent.getRenderUnit().getId();
+    }
+  }
+
+  /** Computes the lookups to go from {@code previous} to {@code next}. */
+  public static MountLookups create(RenderTree previous, RenderTree next) {
+    RenderCoreSystrace.beginSection("MountLookups.create");
+    try {
+      return new MountLookups(previous, next);
+    } finally {
+      RenderCoreSystrace.endSection();
+    }
+  }
+
+  /** @return true if these lookups were computed to go from {@code previous} to {@code next}. */
+  public boolean isValidFor(@Nullable RenderTree previous, RenderTree next) {
+    return previous != null
+        && mPreviousRenderTree.get() == previous
+        && mNextRenderTree.get() == next;
+  }
+
+  /**
+   * @return the index in the next tree of the node at {@code previousIndex} in the previous tree,
+   *     or {@link #REMOVED}.
+   */
+  public int getNextPosition(int previousIndex) {
+    return mNextPositions[previousIndex];
+  }
+
+  /**
+   * @return the id of the host the node at {@code previousIndex} in the previous tree is mounted
+   *     in, in the next tree. Only meaningful if the node wasn't removed.
+   */
+  public long getNextHostId(int previousIndex) {
+    return mNextHostIds[previousIndex];
+  }
+}
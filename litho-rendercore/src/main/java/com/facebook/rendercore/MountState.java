@@ -560,6 +560,12 @@ public class MountState implements MountDelegateTarget {
 
     RenderCoreSystrace.beginSection("unmountOrMoveOldItems");
 
+    // If the diff between the trees was precomputed on the layout thread, use it instead of
+    // looking up every id of the previous tree in the new one.
+    final MountLookups mountLookups = mRenderTree.getMountLookups();
+    final boolean hasMountLookups =
+        mountLookups != null && mountLookups.isValidFor(previousRenderTree, mRenderTree);
+
     // Traversing from the beginning since mRenderUnitIds unmounting won't remove entries there
     // but only from mIndexToMountedItemMap. If an host changes we're going to unmount it and
     // recursively
@@ -567,7 +573,10 @@ public class MountState implements MountDelegateTarget {
     for (int i = 0; i < previousRenderTree.getMountableOutputCount(); i++) {
       final RenderUnit previousRenderUnit =
           previousRenderTree.getRenderTreeNodeAtIndex(i).getRenderUnit();
-      final int newPosition = mRenderTree.getRenderTreeNodeIndex(previousRenderUnit.getId());
+      final int newPosition =
+          hasMountLookups
+              ? mountLookups.getNextPosition(i)
+              : mRenderTree.getRenderTreeNodeIndex(previousRenderUnit.getId());
       final RenderTreeNode renderTreeNode =
           newPosition > -1 ? mRenderTree.getRenderTreeNodeAtIndex(newPosition) : null;
       final MountItem oldItem = mIdToMountedItemMap.get(previousRenderUnit.getId());
@@ -587,14 +596,17 @@ public class MountState implements MountDelegateTarget {
       if (newPosition == -1) {
         unmountItemRecursively(oldItem.getRenderTreeNode());
       } else {
-        final long newHostMarker =
-            renderTreeNode.getParent() == null
-                ? 0L
-                : renderTreeNode.getParent().getRenderUnit().getId();
-        final Host newHost =
-            mIdToMountedItemMap.get(newHostMarker) == null
-                ? null
-                : (Host) mIdToMountedItemMap.get(newHostMarker).getContent();
+        final long newHostMarker;
+        if (hasMountLookups) {
+          newHostMarker = mountLookups.getNextHostId(i);
+        } else {
+          newHostMarker =
+              renderTreeNode.getParent() == null
+                  ? 0L
+                  : renderTreeNode.getParent().getRenderUnit().getId();
+        }
+        final MountItem newHostItem = mIdToMountedItemMap.get(newHostMarker);
+        final Host newHost = newHostItem == null ? null : (Host) newHostItem.getContent();
 
         if (oldItem.getHost() != newHost) {
           // If the id is the same but the parent host is different we simply unmount the item and
@@ -27,4 +27,20 @@ public class RenderCoreConfig {
    * system property at startup but can be overridden at runtime.
    */
   public static boolean isEndToEndTestRun = System.getProperty("IS_TESTING") != null;
+
+  /**
+   * When enabled, {@link RenderState} precomputes the {@link MountLookups} of every new {@link
+   * RenderTree} on the thread which calculated it, so that {@link MountState} doesn't look up the
+   * items of the previous tree on the UI thread.
+   */
+  public static boolean precomputeMountLookups = false;
+
+  /**
+   * When enabled, mount content pools which aren't provided by the RenderUnit are {@link
+   * AdaptiveItemPool}s, which size themselves according to the demand for their content type.
+   */
+  public static boolean useAdaptiveMountItemsPools = false;
+
+  /** The maximum number of items kept by all the {@link AdaptiveItemPool}s together. */
+  public static int adaptiveMountItemsPoolsBudget = 128;
 }
@@ -169,6 +169,7 @@ public class RenderState<State, RenderContext> {
     }
 
     final RenderResult<State> result = future.runAndGet();
+    maybePrecomputeMountLookups(previousRenderResult, result);
 
     boolean committedNewLayout = false;
     synchronized (this) {
@@ -284,6 +285,7 @@ public class RenderState<State, RenderContext> {
     }
 
     final RenderResult<State> result = future.runAndGet();
+    maybePrecomputeMountLookups(previousResult, result);
 
     boolean committedNewLayout = false;
     synchronized (this) {
@@ -314,6 +316,24 @@ public class RenderState<State, RenderContext> {
     }
   }
 
+  private static void maybePrecomputeMountLookups(
+      @Nullable RenderResult<?> previousResult, RenderResult<?> result) {
+    if (!RenderCoreConfig.precomputeMountLookups
+        || previousResult == null
+        || ThreadUtils.isMainThread()) {
+      return;
+    }
+
+    final RenderTree previousTree = previousResult.getRenderTree();
+    final RenderTree tree = result.getRenderTree();
+    if (previousTree == tree || tree.getMountLookups() != null) {
+      return;
+    }
+
+    // The committed tree is what is most likely mounted when this tree gets promoted to the UI.
+    tree.setMountLookups(MountLookups.create(previousTree, tree));
+  }
+
   private void schedulePromoteCommittedTreeToUI() {
     if (ThreadUtils.isMainThread()) {
       promoteCommittedTreeToUI();
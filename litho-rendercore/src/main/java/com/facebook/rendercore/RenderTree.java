@@ -34,6 +34,7 @@ public class RenderTree {
   private final @Nullable List<Pair<RenderCoreExtension<?, ?>, Object>> mResults;
   private final LongSparseArray<Integer> mIdToIndexMap = new LongSparseArray<>();
   private @Nullable Object mRenderTreeData;
+  private @Nullable MountLookups mMountLookups;
 
   public RenderTree(
       final RenderTreeNode root,
@@ -93,6 +94,16 @@ public class RenderTree {
     mRenderTreeData = renderTreeData;
   }
 
+  /** @return the {@link MountLookups} precomputed for this tree, if any. */
+  @Nullable
+  public MountLookups getMountLookups() {
+    return mMountLookups;
+  }
+
+  public void setMountLookups(@Nullable MountLookups mountLookups) {
+    mMountLookups = mountLookups;
+  }
+
   public RenderTreeNode getRoot() {
     return mRoot;
   }
@@ -1183,6 +1183,10 @@ public class SectionTree {
               + ") ====");
     }
 
+    final boolean recordLatency = LithoStats.isLatencyHistogramsEnabled();
+    final long startTimeNs = recordLatency ? System.nanoTime() : 0;
+    String rootName = null;
+
     try {
       Section currentRoot;
       Section nextRoot;
@@ -1197,6 +1201,9 @@ public class SectionTree {
 
         currentRoot = copy(mCurrentSection, true);
         nextRoot = copy(mNextSection, false);
+        if (recordLatency && nextRoot != null) {
+          rootName = nextRoot.getSimpleName();
+        }
         logger = mContext.getLogger();
         pendingStateUpdates = mPendingStateUpdates.copy();
         mIsChangeSetCalculationInProgress = true;
@@ -1326,6 +1333,13 @@ public class SectionTree {
       if (ThreadUtils.isMainThread()) {
         LithoStats.incrementSectionCalculateNewChangesetOnUICount();
       }
+      if (recordLatency) {
+        LithoStats.recordLatency(
+            LithoStats.LATENCY_CALCULATE_CHANGESET,
+            mTag,
+            rootName,
+            System.nanoTime() - startTimeNs);
+      }
     }
   }
 
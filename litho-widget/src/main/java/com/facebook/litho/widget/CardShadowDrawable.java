@@ -18,15 +18,11 @@ package com.facebook.litho.widget;
 
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
-import android.graphics.LinearGradient;
 import android.graphics.Paint;
-import android.graphics.Path;
 import android.graphics.PixelFormat;
-import android.graphics.RadialGradient;
 import android.graphics.Rect;
-import android.graphics.RectF;
-import android.graphics.Shader;
 import android.graphics.drawable.Drawable;
+import androidx.annotation.Nullable;
 
 public class CardShadowDrawable extends Drawable {
 
@@ -37,11 +33,6 @@ public class CardShadowDrawable extends Drawable {
 
   private final Paint mEdgeShadowPaint;
 
-  private final Path mCornerShadowTopLeftPath = new Path();
-  private final Path mCornerShadowBottomLeftPath = new Path();
-  private final Path mCornerShadowTopRightPath = new Path();
-  private final Path mCornerShadowBottomRightPath = new Path();
-
   private final Paint mCornerShadowLeftPaint;
   private final Paint mCornerShadowRightPaint;
 
@@ -56,6 +47,7 @@ public class CardShadowDrawable extends Drawable {
   private boolean mHideBottomShadow;
 
   private boolean mDirty = true;
+  private @Nullable CardShadowModel mModel;
 
   CardShadowDrawable() {
     mCornerShadowLeftPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
@@ -140,7 +132,7 @@ public class CardShadowDrawable extends Drawable {
     return getShadowTop(shadowSize, shadowDy);
   }
 
-  private static float getDefaultShadowDy(float shadowSize) {
+  static float getDefaultShadowDy(float shadowSize) {
     return toEven(shadowSize) * 0.5f;
   }
 
@@ -181,15 +173,57 @@ public class CardShadowDrawable extends Drawable {
 
   @Override
   public void draw(Canvas canvas) {
-    if (mDirty) {
-      buildShadow();
-      mDirty = false;
+    CardShadowModel model = mModel;
+    if (mDirty || model == null) {
+      model =
+          CardShadowModel.create(
+              mShadowStartColor,
+              mShadowEndColor,
+              mCornerRadius,
+              mShadowSize,
+              mShadowDx,
+              mShadowDy,
+              mShadowLeftSizeOverride,
+              mShadowRightSizeOverride);
+      applyModel(model);
     }
 
     final Rect bounds = getBounds();
 
-    drawShadowCorners(canvas, bounds);
-    drawShadowEdges(canvas, bounds);
+    drawShadowCorners(canvas, bounds, model);
+    drawShadowEdges(canvas, bounds, model);
+  }
+
+  /**
+   * Attaches a shadow prepared ahead of time, e.g. on the layout thread, which replaces the values
+   * set through the individual setters.
+   */
+  void setShadowModel(CardShadowModel model) {
+    if (!mDirty && model.equals(mModel)) {
+      return;
+    }
+
+    applyModel(model);
+    invalidateSelf();
+  }
+
+  private void applyModel(CardShadowModel model) {
+    mModel = model;
+    mShadowStartColor = model.mShadowStartColor;
+    mShadowEndColor = model.mShadowEndColor;
+    mCornerRadius = model.mCornerRadius;
+    mShadowSize = model.mShadowSize;
+    mShadowDx = model.mShadowDx;
+    mShadowDy = model.mShadowDy;
+    mShadowLeftSizeOverride = model.mShadowLeftSizeOverride;
+    mShadowRightSizeOverride = model.mShadowRightSizeOverride;
+
+    mCornerShadowLeftPaint.setShader(model.mCornerShadowLeftShader);
+    mCornerShadowRightPaint.setShader(model.mCornerShadowRightShader);
+    mEdgeShadowPaint.setShader(model.mEdgeShadowShader);
+    mEdgeShadowPaint.setAntiAlias(false);
+
+    mDirty = false;
   }
 
   void setShadowStartColor(int shadowStartColor) {
@@ -280,95 +314,19 @@ public class CardShadowDrawable extends Drawable {
     mShadowRightSizeOverride = shadowRightSizeOverride;
   }
 
-  private static void setPath(Path path, int shadowX, int shadowY, float cornerRadius) {
-
-    final RectF innerBounds =
-        new RectF(shadowX, shadowY, shadowX + 2 * cornerRadius, shadowY + 2 * cornerRadius);
-
-    final RectF outerBounds = new RectF(0, 0, 2 * cornerRadius, 2 * cornerRadius);
-
-    path.reset();
-    path.setFillType(Path.FillType.EVEN_ODD);
-    path.moveTo(shadowX + cornerRadius, shadowY);
-    path.arcTo(innerBounds, 270f, -90f, true);
-    path.rLineTo(-shadowX, 0);
-    path.lineTo(0, cornerRadius);
-    path.arcTo(outerBounds, 180f, 90f, true);
-    path.lineTo(shadowX + cornerRadius, 0);
-    path.rLineTo(0, shadowY);
-    path.close();
-  }
-
-  private void buildShadow() {
-
-    final float shadowLeftSideUnadjusted =
-        mShadowLeftSizeOverride == UNDEFINED ? mShadowSize : mShadowLeftSizeOverride;
-    final float shadowRightSideUnadjusted =
-        mShadowRightSizeOverride == UNDEFINED ? mShadowSize : mShadowRightSizeOverride;
-
-    final float shadowCornerLeftRadius = shadowLeftSideUnadjusted + mCornerRadius;
-    final float shadowCornerRightRadius = shadowRightSideUnadjusted + mCornerRadius;
-
-    mCornerShadowLeftPaint.setShader(
-        new RadialGradient(
-            shadowCornerLeftRadius,
-            shadowCornerLeftRadius,
-            shadowCornerLeftRadius,
-            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
-            new float[] {0f, .2f, 1f},
-            Shader.TileMode.CLAMP));
-
-    mCornerShadowRightPaint.setShader(
-        new RadialGradient(
-            shadowCornerRightRadius,
-            shadowCornerRightRadius,
-            shadowCornerRightRadius,
-            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
-            new float[] {0f, .2f, 1f},
-            Shader.TileMode.CLAMP));
-
-    final float shadowDx = mShadowDx == UNDEFINED ? 0 : mShadowDx;
-    final float shadowDy = mShadowDy == UNDEFINED ? getDefaultShadowDy(mShadowSize) : mShadowDy;
-
-    final int shadowLeft = getShadowLeft(shadowLeftSideUnadjusted, shadowDx);
-    final int shadowRight = getShadowRight(shadowRightSideUnadjusted, shadowDx);
-    final int shadowTop = getShadowTop(mShadowSize, shadowDy);
-    final int shadowBottom = getShadowBottom(mShadowSize, shadowDy);
-
-    setPath(mCornerShadowTopLeftPath, shadowLeft, shadowTop, mCornerRadius);
-    setPath(mCornerShadowTopRightPath, shadowRight, shadowTop, mCornerRadius);
-    setPath(mCornerShadowBottomLeftPath, shadowLeft, shadowBottom, mCornerRadius);
-    setPath(mCornerShadowBottomRightPath, shadowRight, shadowBottom, mCornerRadius);
-
-    // We offset the content (shadowSize / 2) pixels up to make it more realistic.
-    // This is why edge shadow shader has some extra space. When drawing bottom edge
-    // shadow, we use that extra space.
-    mEdgeShadowPaint.setShader(
-        new LinearGradient(
-            0,
-            shadowCornerLeftRadius,
-            0,
-            0,
-            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
-            new float[] {0f, .2f, 1f},
-            Shader.TileMode.CLAMP));
-
-    mEdgeShadowPaint.setAntiAlias(false);
-  }
-
-  private void drawShadowCorners(Canvas canvas, Rect bounds) {
+  private void drawShadowCorners(Canvas canvas, Rect bounds, CardShadowModel model) {
     int saved = canvas.save();
     if (!mHideTopShadow) {
       // left-top
       canvas.translate(bounds.left, bounds.top);
-      canvas.drawPath(mCornerShadowTopLeftPath, mCornerShadowLeftPaint);
+      canvas.drawPath(model.mCornerShadowTopLeftPath, mCornerShadowLeftPaint);
       canvas.restoreToCount(saved);
 
       // right-top
       saved = canvas.save();
       canvas.translate(bounds.right, bounds.top);
       canvas.scale(-1f, 1f);
-      canvas.drawPath(mCornerShadowTopRightPath, mCornerShadowLeftPaint);
+      canvas.drawPath(model.mCornerShadowTopRightPath, mCornerShadowLeftPaint);
       canvas.restoreToCount(saved);
     }
 
@@ -377,32 +335,23 @@ public class CardShadowDrawable extends Drawable {
       saved = canvas.save();
       canvas.translate(bounds.right, bounds.bottom);
       canvas.scale(-1f, -1f);
-      canvas.drawPath(mCornerShadowBottomRightPath, mCornerShadowRightPaint);
+      canvas.drawPath(model.mCornerShadowBottomRightPath, mCornerShadowRightPaint);
       canvas.restoreToCount(saved);
 
       // left-bottom
       saved = canvas.save();
       canvas.translate(bounds.left, bounds.bottom);
       canvas.scale(1f, -1f);
-      canvas.drawPath(mCornerShadowBottomLeftPath, mCornerShadowRightPaint);
+      canvas.drawPath(model.mCornerShadowBottomLeftPath, mCornerShadowRightPaint);
       canvas.restoreToCount(saved);
     }
   }
 
-  private void drawShadowEdges(Canvas canvas, Rect bounds) {
-
-    final float shadowDx = mShadowDx == UNDEFINED ? 0 : mShadowDx;
-    final float shadowDy = mShadowDy == UNDEFINED ? getDefaultShadowDy(mShadowSize) : mShadowDy;
-
-    float shadowLeftSideNonAdjusted =
-        mShadowLeftSizeOverride == UNDEFINED ? mShadowSize : mShadowLeftSizeOverride;
-    float shadowRightSideNonAdjusted =
-        mShadowRightSizeOverride == UNDEFINED ? mShadowSize : mShadowRightSizeOverride;
-    final int paddingLeft = getShadowLeft(shadowLeftSideNonAdjusted, shadowDx);
-    final int paddingRight = getShadowRight(shadowRightSideNonAdjusted, shadowDx);
-
-    final int paddingTop = getShadowTop(mShadowSize, shadowDy);
-    final int paddingBottom = getShadowBottom(mShadowSize, shadowDy);
+  private void drawShadowEdges(Canvas canvas, Rect bounds, CardShadowModel model) {
+    final int paddingLeft = model.mPaddingLeft;
+    final int paddingRight = model.mPaddingRight;
+    final int paddingTop = model.mPaddingTop;
+    final int paddingBottom = model.mPaddingBottom;
 
     int saved = canvas.save();
 
@@ -457,7 +406,7 @@ public class CardShadowDrawable extends Drawable {
     canvas.restoreToCount(saved);
   }
 
-  private static int toEven(float value) {
+  static int toEven(float value) {
     final int i = (int) (value + .5f);
     if (i % 2 == 1) {
       return i - 1;
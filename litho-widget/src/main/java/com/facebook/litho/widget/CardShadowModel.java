@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import android.graphics.LinearGradient;
+import android.graphics.Path;
+import android.graphics.RadialGradient;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LruCache;
+
+/**
+ * The immutable result of the geometry and shader computations needed to draw a card shadow. It is
+ * created by {@link CardShadowSpec} on the layout thread so that {@link CardShadowDrawable} only
+ * has to attach it when mounted, instead of building it on the UI thread on first draw.
+ *
+ * <p>Models are shared, across drawables and threads, by all the shadows with the same parameters:
+ * a feed of identical cards builds its shaders and paths once.
+ */
+final class CardShadowModel {
+
+  private static final int CACHE_SIZE = 64;
+
+  private static final LruCache<Key, CardShadowModel> sCache = new LruCache<>(CACHE_SIZE);
+
+  final Key mKey;
+
+  final int mShadowStartColor;
+  final int mShadowEndColor;
+  final float mCornerRadius;
+  final float mShadowSize;
+  final float mShadowDx;
+  final float mShadowDy;
+  final float mShadowLeftSizeOverride;
+  final float mShadowRightSizeOverride;
+
+  final int mPaddingLeft;
+  final int mPaddingRight;
+  final int mPaddingTop;
+  final int mPaddingBottom;
+
+  final Shader mCornerShadowLeftShader;
+  final Shader mCornerShadowRightShader;
+  final Shader mEdgeShadowShader;
+
+  final Path mCornerShadowTopLeftPath = new Path();
+  final Path mCornerShadowBottomLeftPath = new Path();
+  final Path mCornerShadowTopRightPath = new Path();
+  final Path mCornerShadowBottomRightPath = new Path();
+
+  private CardShadowModel(Key key) {
+    mKey = key;
+    mShadowStartColor = key.mShadowStartColor;
+    mShadowEndColor = key.mShadowEndColor;
+    mCornerRadius = key.mCornerRadius;
+    mShadowSize = key.mShadowSize;
+    mShadowDx = key.mShadowDx;
+    mShadowDy = key.mShadowDy;
+    mShadowLeftSizeOverride = key.mShadowLeftSizeOverride;
+    mShadowRightSizeOverride = key.mShadowRightSizeOverride;
+
+    final float shadowLeftSideUnadjusted =
+        mShadowLeftSizeOverride == CardShadowDrawable.UNDEFINED
+            ? mShadowSize
+            : mShadowLeftSizeOverride;
+    final float shadowRightSideUnadjusted =
+        mShadowRightSizeOverride == CardShadowDrawable.UNDEFINED
+            ? mShadowSize
+            : mShadowRightSizeOverride;
+
+    final float shadowCornerLeftRadius = shadowLeftSideUnadjusted + mCornerRadius;
+    final float shadowCornerRightRadius = shadowRightSideUnadjusted + mCornerRadius;
+
+    mCornerShadowLeftShader =
+        new RadialGradient(
+            shadowCornerLeftRadius,
+            shadowCornerLeftRadius,
+            shadowCornerLeftRadius,
+            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
+            new float[] {0f, .2f, 1f},
+            Shader.TileMode.CLAMP);
+
+    mCornerShadowRightShader =
+        new RadialGradient(
+            shadowCornerRightRadius,
+            shadowCornerRightRadius,
+            shadowCornerRightRadius,
+            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
+            new float[] {0f, .2f, 1f},
+            Shader.TileMode.CLAMP);
+
+    // We offset the content (shadowSize / 2) pixels up to make it more realistic.
+    // This is why edge shadow shader has some extra space. When drawing bottom edge
+    // shadow, we use that extra space.
+    mEdgeShadowShader =
+        new LinearGradient(
+            0,
+            shadowCornerLeftRadius,
+            0,
+            0,
+            new int[] {mShadowStartColor, mShadowStartColor, mShadowEndColor},
+            new float[] {0f, .2f, 1f},
+            Shader.TileMode.CLAMP);
+
+    final float dx = mShadowDx == CardShadowDrawable.UNDEFINED ? 0 : mShadowDx;
+    final float dy =
+        mShadowDy == CardShadowDrawable.UNDEFINED
+            ? CardShadowDrawable.getDefaultShadowDy(mShadowSize)
+            : mShadowDy;
+
+    mPaddingLeft = CardShadowDrawable.getShadowLeft(shadowLeftSideUnadjusted, dx);
+    mPaddingRight = CardShadowDrawable.getShadowRight(shadowRightSideUnadjusted, dx);
+    mPaddingTop = CardShadowDrawable.getShadowTop(mShadowSize, dy);
+    mPaddingBottom = CardShadowDrawable.getShadowBottom(mShadowSize, dy);
+
+    setPath(mCornerShadowTopLeftPath, mPaddingLeft, mPaddingTop, mCornerRadius);
+    setPath(mCornerShadowTopRightPath, mPaddingRight, mPaddingTop, mCornerRadius);
+    setPath(mCornerShadowBottomLeftPath, mPaddingLeft, mPaddingBottom, mCornerRadius);
+    setPath(mCornerShadowBottomRightPath, mPaddingRight, mPaddingBottom, mCornerRadius);
+  }
+
+  /**
+   * Returns the model of a shadow, creating it if no shadow with the same parameters is cached.
+   * Corner radius and shadow size are rounded the same way {@link CardShadowDrawable}'s setters do.
+   */
+  static CardShadowModel create(
+      int shadowStartColor,
+      int shadowEndColor,
+      float cornerRadius,
+      float shadowSize,
+      float shadowDx,
+      float shadowDy,
+      float shadowLeftSizeOverride,
+      float shadowRightSizeOverride) {
+    if (shadowSize < 0) {
+      throw new IllegalArgumentException("invalid shadow size");
+    }
+
+    final Key key =
+        new Key(
+            shadowStartColor,
+            shadowEndColor,
+            (int) (cornerRadius + .5f),
+            CardShadowDrawable.toEven(shadowSize),
+            shadowDx,
+            shadowDy,
+            shadowLeftSizeOverride,
+            shadowRightSizeOverride);
+
+    CardShadowModel model = sCache.get(key);
+    if (model == null) {
+      // Two threads may build the same model concurrently, in which case the last one is kept.
+      model = new CardShadowModel(key);
+      sCache.put(key, model);
+    }
+    return model;
+  }
+
+  @VisibleForTesting
+  static void clearCache() {
+    sCache.evictAll();
+  }
+
+  private static void setPath(Path path, int shadowX, int shadowY, float cornerRadius) {
+
+    final RectF innerBounds =
+        new RectF(shadowX, shadowY, shadowX + 2 * cornerRadius, shadowY + 2 * cornerRadius);
+
+    final RectF outerBounds = new RectF(0, 0, 2 * cornerRadius, 2 * cornerRadius);
+
+    path.reset();
+    path.setFillType(Path.FillType.EVEN_ODD);
+    path.moveTo(shadowX + cornerRadius, shadowY);
+    path.arcTo(innerBounds, 270f, -90f, true);
+    path.rLineTo(-shadowX, 0);
+    path.lineTo(0, cornerRadius);
+    path.arcTo(outerBounds, 180f, 90f, true);
+    path.lineTo(shadowX + cornerRadius, 0);
+    path.rLineTo(0, shadowY);
+    path.close();
+  }
+
+  /** @return true if this model was created with the same parameters as {@code other}. */
+  @Override
+  public boolean equals(@Nullable Object other) {
+    return this == other
+        || (other instanceof CardShadowModel && mKey.equals(((CardShadowModel) other).mKey));
+  }
+
+  @Override
+  public int hashCode() {
+    return mKey.hashCode();
+  }
+
+  /** The parameters a shadow is built from. */
+  static final class Key {
+
+    private final int mShadowStartColor;
+    private final int mShadowEndColor;
+    private final float mCornerRadius;
+    private final float mShadowSize;
+    private final float mShadowDx;
+    private final float mShadowDy;
+    private final float mShadowLeftSizeOverride;
+    private final float mShadowRightSizeOverride;
+
+    Key(
+        int shadowStartColor,
+        int shadowEndColor,
+        float cornerRadius,
+        float shadowSize,
+        float shadowDx,
+        float shadowDy,
+        float shadowLeftSizeOverride,
+        float shadowRightSizeOverride) {
+      mShadowStartColor = shadowStartColor;
+      mShadowEndColor = shadowEndColor;
+      mCornerRadius = cornerRadius;
+      mShadowSize = shadowSize;
+      mShadowDx = shadowDx;
+      mShadowDy = shadowDy;
+      mShadowLeftSizeOverride = shadowLeftSizeOverride;
+      mShadowRightSizeOverride = shadowRightSizeOverride;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+
+      final Key that = (Key) other;
+      return mShadowStartColor == that.mShadowStartColor
+          && mShadowEndColor == that.mShadowEndColor
+          && mCornerRadius == that.mCornerRadius
+          && mShadowSize == that.mShadowSize
+          && mShadowDx == that.mShadowDx
+          && mShadowDy == that.mShadowDy
+          && mShadowLeftSizeOverride == that.mShadowLeftSizeOverride
+          && mShadowRightSizeOverride == that.mShadowRightSizeOverride;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = mShadowStartColor;
+      result = 31 * result + mShadowEndColor;
+      result = 31 * result + Float.floatToIntBits(mCornerRadius);
+      result = 31 * result + Float.floatToIntBits(mShadowSize);
+      result = 31 * result + Float.floatToIntBits(mShadowDx);
+      result = 31 * result + Float.floatToIntBits(mShadowDy);
+      result = 31 * result + Float.floatToIntBits(mShadowLeftSizeOverride);
+      result = 31 * result + Float.floatToIntBits(mShadowRightSizeOverride);
+      return result;
+    }
+  }
+}
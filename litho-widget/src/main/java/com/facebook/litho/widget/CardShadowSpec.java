@@ -18,7 +18,11 @@ package com.facebook.litho.widget;
 
 import android.content.Context;
 import com.facebook.litho.ComponentContext;
+import com.facebook.litho.ComponentLayout;
+import com.facebook.litho.Output;
+import com.facebook.litho.annotations.FromBoundsDefined;
 import com.facebook.litho.annotations.MountSpec;
+import com.facebook.litho.annotations.OnBoundsDefined;
 import com.facebook.litho.annotations.OnCreateMountContent;
 import com.facebook.litho.annotations.OnMount;
 import com.facebook.litho.annotations.Prop;
@@ -44,6 +48,32 @@ class CardShadowSpec {
   @PropDefault static final float shadowLeftSizeOverride = CardShadowDrawable.UNDEFINED;
   @PropDefault static final float shadowRightSizeOverride = CardShadowDrawable.UNDEFINED;
 
+  /** Builds the shadow's shaders and paths on the layout thread rather than on first draw. */
+  @OnBoundsDefined
+  static void onBoundsDefined(
+      ComponentContext c,
+      ComponentLayout layout,
+      @Prop(optional = true, resType = ResType.COLOR) int shadowStartColor,
+      @Prop(optional = true, resType = ResType.COLOR) int shadowEndColor,
+      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float cornerRadius,
+      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowSize,
+      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float shadowDx,
+      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float shadowDy,
+      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowLeftSizeOverride,
+      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowRightSizeOverride,
+      Output<CardShadowModel> shadowModel) {
+    shadowModel.set(
+        CardShadowModel.create(
+            shadowStartColor,
+            shadowEndColor,
+            cornerRadius,
+            shadowSize,
+            shadowDx,
+            shadowDy,
+            shadowLeftSizeOverride,
+            shadowRightSizeOverride));
+  }
+
   @OnCreateMountContent
   static CardShadowDrawable onCreateMountContent(Context c) {
     return new CardShadowDrawable();
@@ -53,26 +83,12 @@ class CardShadowSpec {
   static void onMount(
       ComponentContext context,
       CardShadowDrawable cardShadowDrawable,
-      @Prop(optional = true, resType = ResType.COLOR) int shadowStartColor,
-      @Prop(optional = true, resType = ResType.COLOR) int shadowEndColor,
-      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float cornerRadius,
-      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowSize,
-      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float shadowDx,
-      @Prop(optional = true, resType = ResType.DIMEN_OFFSET) float shadowDy,
       @Prop(optional = true) boolean hideTopShadow,
       @Prop(optional = true) boolean hideBottomShadow,
-      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowLeftSizeOverride,
-      @Prop(optional = true, resType = ResType.DIMEN_SIZE) float shadowRightSizeOverride) {
+      @FromBoundsDefined CardShadowModel shadowModel) {
 
-    cardShadowDrawable.setShadowStartColor(shadowStartColor);
-    cardShadowDrawable.setShadowEndColor(shadowEndColor);
-    cardShadowDrawable.setCornerRadius(cornerRadius);
-    cardShadowDrawable.setShadowSize(shadowSize);
+    cardShadowDrawable.setShadowModel(shadowModel);
     cardShadowDrawable.setHideTopShadow(hideTopShadow);
     cardShadowDrawable.setHideBottomShadow(hideBottomShadow);
-    cardShadowDrawable.setShadowLeftSizeOverride(shadowLeftSizeOverride);
-    cardShadowDrawable.setShadowRightSizeOverride(shadowRightSizeOverride);
-    cardShadowDrawable.setShadowDx(shadowDx);
-    cardShadowDrawable.setShadowDy(shadowDy);
   }
 }
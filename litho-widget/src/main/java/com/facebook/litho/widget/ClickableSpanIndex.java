@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.style.ClickableSpan;
+import androidx.annotation.Nullable;
+
+/**
+ * The clickable spans of a text {@link Layout}, with their ranges, selection paths and bounds. It
+ * is built once per layout, by {@link TextSpec} on the layout thread, so that {@link TextDrawable}
+ * can resolve touch events, including every MOVE of a long press, without querying the spans of
+ * the text or building paths.
+ */
+final class ClickableSpanIndex {
+
+  /** The spans, sorted by start offset. */
+  private final ClickableSpan[] mSpans;
+
+  private final int[] mStarts;
+  private final int[] mEnds;
+
+  /** The largest end offset of the spans up to each index, to bound searches by offset. */
+  private final int[] mMaxEnds;
+
+  private final Path[] mSelectionPaths;
+  private final RectF[] mBounds;
+
+  private ClickableSpanIndex(Spanned text, Layout layout, ClickableSpan[] spans) {
+    final int count = spans.length;
+    mSpans = new ClickableSpan[count];
+    mStarts = new int[count];
+    mEnds = new int[count];
+
+    // Insertion sort, texts rarely have more than a handful of clickable spans.
+    for (int i = 0; i < count; i++) {
+      final ClickableSpan span = spans[i];
+      final int start = text.getSpanStart(span);
+      int j = i - 1;
+      while (j >= 0 && mStarts[j] > start) {
+        mSpans[j + 1] = mSpans[j];
+        mStarts[j + 1] = mStarts[j];
+        mEnds[j + 1] = mEnds[j];
+        j--;
+      }
+      mSpans[j + 1] = span;
+      mStarts[j + 1] = start;
+      mEnds[j + 1] = text.getSpanEnd(span);
+    }
+
+    mMaxEnds = new int[count];
+    mSelectionPaths = new Path[count];
+    mBounds = new RectF[count];
+    for (int i = 0; i < count; i++) {
+      mMaxEnds[i] = i == 0 ? mEnds[i] : Math.max(mMaxEnds[i - 1], mEnds[i]);
+
+      final Path path = new Path();
+      layout.getSelectionPath(mStarts[i], mEnds[i], path);
+      final RectF bounds = new RectF();
+      path.computeBounds(bounds, true);
+      mSelectionPaths[i] = path;
+      mBounds[i] = bounds;
+    }
+  }
+
+  /** @return an index of {@code spans}, or null if there are none. */
+  static @Nullable ClickableSpanIndex create(
+      CharSequence text, Layout layout, @Nullable ClickableSpan[] spans) {
+    if (spans == null || spans.length == 0 || !(text instanceof Spanned)) {
+      return null;
+    }
+
+    return new ClickableSpanIndex((Spanned) text, layout, spans);
+  }
+
+  int getSpanCount() {
+    return mSpans.length;
+  }
+
+  ClickableSpan getSpan(int index) {
+    return mSpans[index];
+  }
+
+  Path getSelectionPath(int index) {
+    return mSelectionPaths[index];
+  }
+
+  /**
+   * @return true if the bounds of the span at {@code index} may intersect the given rect. The rect
+   *     is grown by a pixel since hit testing is done on pixel aligned regions.
+   */
+  boolean intersects(int index, float left, float top, float right, float bottom) {
+    return mBounds[index].intersects(left - 1, top - 1, right + 1, bottom + 1);
+  }
+
+  /** @return true if any span touches an offset in [{@code start}, {@code end}]. */
+  boolean hasSpanInRange(int start, int end) {
+    final int count = countSpansStartingAtOrBefore(end);
+    return count > 0 && mMaxEnds[count - 1] >= start;
+  }
+
+  /**
+   * @return the span touching {@code offset}, matching {@code text.getSpans(offset, offset,
+   *     ClickableSpan.class)[0]}, or null if there is none.
+   */
+  @Nullable
+  ClickableSpan getSpanAt(Spanned text, int offset) {
+    ClickableSpan found = null;
+    for (int i = countSpansStartingAtOrBefore(offset) - 1; i >= 0 && mMaxEnds[i] >= offset; i--) {
+      if (mEnds[i] < offset) {
+        continue;
+      }
+      if (found != null) {
+        // Adjacent or nested spans: which one comes first depends on the Spanned implementation.
+        final ClickableSpan[] spans = text.getSpans(offset, offset, ClickableSpan.class);
+        return spans != null && spans.length > 0 ? spans[0] : null;
+      }
+      found = mSpans[i];
+    }
+    return found;
+  }
+
+  /** @return the cached selection path of a span covering exactly [start, end), if any. */
+  @Nullable
+  Path getSelectionPath(int start, int end) {
+    for (int i = countSpansStartingAtOrBefore(start) - 1; i >= 0 && mStarts[i] == start; i--) {
+      if (mEnds[i] == end) {
+        return mSelectionPaths[i];
+      }
+    }
+    return null;
+  }
+
+  private int countSpansStartingAtOrBefore(int offset) {
+    int low = 0;
+    int high = mStarts.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (mStarts[mid] <= offset) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
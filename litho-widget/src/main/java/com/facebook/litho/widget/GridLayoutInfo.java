@@ -30,7 +30,7 @@ import com.facebook.litho.SizeSpec;
 import com.facebook.litho.widget.RecyclerBinder.RecyclerViewLayoutManagerOverrideParams;
 import java.util.List;
 
-public class GridLayoutInfo implements LayoutInfo {
+public class GridLayoutInfo implements LayoutInfo, MeasuredSizeAwareLayoutInfo {
 
   // A CUSTOM LAYOUTINFO param to override the size of an item in the grid. Since GridLayoutInfo
   // does not support item decorations offsets on the non scrolling side natively,
@@ -40,6 +40,7 @@ public class GridLayoutInfo implements LayoutInfo {
 
   private final GridLayoutManager mGridLayoutManager;
   private final GridSpanSizeLookup mGridSpanSizeLookup;
+  private final MeasuredSizeModel mMeasuredSizeModel = new MeasuredSizeModel(true);
 
   private RenderInfoCollection mRenderInfoCollection;
 
@@ -135,6 +136,31 @@ public class GridLayoutInfo implements LayoutInfo {
     }
   }
 
+  @Override
+  public void onItemsChanged() {
+    mMeasuredSizeModel.invalidate();
+  }
+
+  @Override
+  public void onItemMeasured(ComponentTreeHolder holder) {
+    mMeasuredSizeModel.onItemMeasured(holder);
+  }
+
+  @Override
+  public int approximateRangeSize(
+      List<ComponentTreeHolder> holders,
+      int firstVisiblePosition,
+      int recyclerMeasuredWidth,
+      int recyclerMeasuredHeight) {
+    if (mGridLayoutManager.getOrientation() != GridLayoutManager.VERTICAL) {
+      // Only the heights of the items are tracked.
+      return 0;
+    }
+
+    return mMeasuredSizeModel.approximateRangeSize(
+        holders, mGridLayoutManager.getSpanCount(), firstVisiblePosition, recyclerMeasuredHeight);
+  }
+
   /**
    * @param widthSpec the widthSpec used to measure the parent {@link RecyclerSpec}.
    * @return widthSpec of a child that is of span size 1
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+/**
+ * Implemented by {@link HasStickyHeader}s which keep an index of their sticky positions, which
+ * {@link StickyHeaderControllerImpl} then uses instead of calling {@link
+ * HasStickyHeader#isSticky(int)} on every position it needs to check.
+ */
+interface HasStickyPositionIndex {
+
+  /**
+   * @return the largest sticky position smaller than or equal to {@code position}, or {@link
+   *     androidx.recyclerview.widget.RecyclerView#NO_POSITION} if there is none.
+   */
+  int findStickyPositionAtOrBefore(int position);
+
+  /**
+   * @return the smallest sticky position in [{@code from}, {@code to}], or {@link
+   *     androidx.recyclerview.widget.RecyclerView#NO_POSITION} if there is none.
+   */
+  int findFirstStickyPositionInRange(int from, int to);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import java.util.List;
+
+/**
+ * Implemented by {@link LayoutInfo}s which can estimate range sizes from the sizes of all the
+ * measured items, rather than from the size of the first one only as {@link
+ * LayoutInfo#approximateRangeSize(int, int, int, int)} does.
+ */
+interface MeasuredSizeAwareLayoutInfo {
+
+  /** Called when items were inserted, removed, moved or updated. */
+  void onItemsChanged();
+
+  /** Called when {@code holder} was measured with a new height. */
+  void onItemMeasured(ComponentTreeHolder holder);
+
+  /**
+   * @param holders the {@link ComponentTreeHolder}s of the list, which must not be modified during
+   *     this call.
+   * @return the estimated number of items needed to fill the viewport starting at {@code
+   *     firstVisiblePosition}, or 0 if no estimation is available yet.
+   */
+  int approximateRangeSize(
+      List<ComponentTreeHolder> holders,
+      int firstVisiblePosition,
+      int recyclerMeasuredWidth,
+      int recyclerMeasuredHeight);
+}
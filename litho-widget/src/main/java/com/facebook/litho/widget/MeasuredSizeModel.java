@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A running model of the main axis sizes of the items of a vertical multi-span list, built from the
+ * heights of the items which have been measured so far. Items which haven't been measured yet are
+ * assumed to have the average height of the measured ones.
+ *
+ * <p>Each item contributes its height weighted by the fraction of the spans it occupies, so that
+ * the sum of the contributions before an item estimates its scroll offset. The contributions are
+ * kept in two Fenwick trees, one for the measured sizes and one for the weights of the items which
+ * aren't measured yet, so that a measurement is an O(log n) point update and offset to position
+ * queries are O(log n) descents. Only inserting, removing or moving items requires rebuilding the
+ * trees, which is O(n) like the change to the list itself.
+ */
+class MeasuredSizeModel {
+
+  private final boolean mHonorsSpanSize;
+
+  @GuardedBy("this")
+  private final Map<ComponentTreeHolder, Integer> mPositions = new IdentityHashMap<>();
+
+  /** Sum of the measured sizes multiplied by the span weight, 1-based. */
+  @GuardedBy("this")
+  private long[] mMeasuredTree = new long[1];
+
+  /** Sum of the span weights of the items which aren't measured yet, 1-based. */
+  @GuardedBy("this")
+  private long[] mUnmeasuredWeightTree = new long[1];
+
+  @GuardedBy("this")
+  private int[] mSizes = new int[0];
+
+  @GuardedBy("this")
+  private int[] mWeights = new int[0];
+
+  @GuardedBy("this")
+  private int mItemCount;
+
+  @GuardedBy("this")
+  private int mSpanCount;
+
+  @GuardedBy("this")
+  private long mMeasuredTotal;
+
+  @GuardedBy("this")
+  private int mMeasuredCount;
+
+  @GuardedBy("this")
+  private boolean mIsDirty = true;
+
+  /**
+   * @param honorsSpanSize whether items occupy {@link RenderInfo#getSpanSize()} spans, as in a
+   *     grid, or a single span, as in a staggered grid. Full span items always occupy all of them.
+   */
+  MeasuredSizeModel(boolean honorsSpanSize) {
+    mHonorsSpanSize = honorsSpanSize;
+  }
+
+  /** Marks the model as stale after items were inserted, removed, moved or updated. */
+  synchronized void invalidate() {
+    mIsDirty = true;
+  }
+
+  /**
+   * Updates the size of {@code holder} after it was measured. This is a no-op if the model is
+   * stale, since the next query rebuilds it from the sizes of all the holders.
+   */
+  synchronized void onItemMeasured(ComponentTreeHolder holder) {
+    if (mIsDirty) {
+      return;
+    }
+
+    final Integer position = mPositions.get(holder);
+    if (position == null) {
+      return;
+    }
+
+    final int previousSize = mSizes[position];
+    final int size = Math.max(0, holder.getMeasuredHeight());
+    if (size == previousSize) {
+      return;
+    }
+
+    final int weight = mWeights[position];
+    mSizes[position] = size;
+    mMeasuredTotal += size - previousSize;
+    update(mMeasuredTree, position, (long) (size - previousSize) * weight);
+    if (previousSize == 0) {
+      mMeasuredCount++;
+      update(mUnmeasuredWeightTree, position, -weight);
+    } else if (size == 0) {
+      mMeasuredCount--;
+      update(mUnmeasuredWeightTree, position, weight);
+    }
+  }
+
+  /**
+   * @param holders the holders of the list, only read if the model is stale.
+   * @return the estimated number of items needed to fill {@code viewportSize} pixels starting at
+   *     {@code firstPosition}, or 0 if no item has been measured yet.
+   */
+  synchronized int approximateRangeSize(
+      List<ComponentTreeHolder> holders, int spanCount, int firstPosition, int viewportSize) {
+    if (mIsDirty || mSpanCount != spanCount) {
+      rebuild(holders, spanCount);
+    }
+    if (mMeasuredCount == 0) {
+      return 0;
+    }
+
+    final int averageSize = (int) (mMeasuredTotal / mMeasuredCount);
+    if (averageSize <= 0) {
+      return 0;
+    }
+
+    final int start = Math.max(0, Math.min(firstPosition, mItemCount));
+    final long target = getOffset(start, averageSize) + (long) viewportSize * spanCount;
+    final long totalSize = getOffset(mItemCount, averageSize);
+    if (target <= totalSize) {
+      return Math.max(1, findPositionAtOffset(target, averageSize) - start + 1);
+    }
+
+    // The viewport extends past the last item: account for the items which may still be added.
+    final long remaining = target - totalSize;
+    return mItemCount - start + (int) ((remaining + averageSize - 1) / averageSize);
+  }
+
+  /**
+   * @return the offset of the start of the item at {@code position}, expressed in pixels
+   *     multiplied by the span count.
+   */
+  @GuardedBy("this")
+  private long getOffset(int position, int averageSize) {
+    long measured = 0;
+    long unmeasuredWeight = 0;
+    for (int i = position; i > 0; i -= i & -i) {
+      measured += mMeasuredTree[i];
+      unmeasuredWeight += mUnmeasuredWeightTree[i];
+    }
+    return measured + unmeasuredWeight * averageSize;
+  }
+
+  /**
+   * @return the position of the last item starting before {@code offset}, expressed in pixels
+   *     multiplied by the span count.
+   */
+  @GuardedBy("this")
+  private int findPositionAtOffset(long offset, int averageSize) {
+    int position = 0;
+    long accumulated = 0;
+    for (int step = Integer.highestOneBit(Math.max(1, mItemCount)); step > 0; step >>= 1) {
+      final int next = position + step;
+      if (next > mItemCount) {
+        continue;
+      }
+      final long nextAccumulated =
+          accumulated + mMeasuredTree[next] + mUnmeasuredWeightTree[next] * averageSize;
+      if (nextAccumulated < offset) {
+        position = next;
+        accumulated = nextAccumulated;
+      }
+    }
+    return Math.max(0, Math.min(position, mItemCount - 1));
+  }
+
+  @GuardedBy("this")
+  private void rebuild(List<ComponentTreeHolder> holders, int spanCount) {
+    mIsDirty = false;
+    mSpanCount = spanCount;
+
+    final int itemCount = holders.size();
+    if (mSizes.length < itemCount) {
+      final int capacity = Math.max(itemCount, mSizes.length * 2);
+      mSizes = new int[capacity];
+      mWeights = new int[capacity];
+      mMeasuredTree = new long[capacity + 1];
+      mUnmeasuredWeightTree = new long[capacity + 1];
+    }
+    mItemCount = itemCount;
+    mPositions.clear();
+    mMeasuredTotal = 0;
+    mMeasuredCount = 0;
+
+    for (int i = 0; i < itemCount; i++) {
+      final ComponentTreeHolder holder = holders.get(i);
+      final int size = Math.max(0, holder.getMeasuredHeight());
+      final int weight = getSpanWeight(holder.getRenderInfo(), spanCount);
+      mPositions.put(holder, i);
+      mSizes[i] = size;
+      mWeights[i] = weight;
+      mMeasuredTree[i + 1] = (long) size * weight;
+      mUnmeasuredWeightTree[i + 1] = size > 0 ? 0 : weight;
+      if (size > 0) {
+        mMeasuredTotal += size;
+        mMeasuredCount++;
+      }
+    }
+
+    // Linear construction: push every node's sum to its parent.
+    for (int i = 1; i <= itemCount; i++) {
+      final int parent = i + (i & -i);
+      if (parent <= itemCount) {
+        mMeasuredTree[parent] += mMeasuredTree[i];
+        mUnmeasuredWeightTree[parent] += mUnmeasuredWeightTree[i];
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private void update(long[] tree, int position, long delta) {
+    for (int i = position + 1; i <= mItemCount; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  private int getSpanWeight(RenderInfo renderInfo, int spanCount) {
+    if (renderInfo.isFullSpan()) {
+      return spanCount;
+    }
+    return mHonorsSpanSize ? Math.max(1, Math.min(renderInfo.getSpanSize(), spanCount)) : 1;
+  }
+}
@@ -71,6 +71,7 @@ import com.facebook.litho.Size;
 import com.facebook.litho.SizeSpec;
 import com.facebook.litho.ThreadPoolLayoutHandler;
 import com.facebook.litho.ThreadUtils;
+import com.facebook.litho.WorkStealingLayoutHandler;
 import com.facebook.litho.choreographercompat.ChoreographerCompat;
 import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.config.ComponentsConfiguration;
@@ -102,7 +103,10 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public class RecyclerBinder
-    implements Binder<RecyclerView>, LayoutInfo.RenderInfoCollection, HasStickyHeader {
+    implements Binder<RecyclerView>,
+        LayoutInfo.RenderInfoCollection,
+        HasStickyHeader,
+        HasStickyPositionIndex {
 
   private static final Size sDummySize = new Size();
   private static final Rect sDummyRect = new Rect();
@@ -119,6 +123,7 @@ public class RecyclerBinder
 
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mComponentTreeHolders = new ArrayList<>();
+  private final StickyPositionIndex mStickyPositionIndex = new StickyPositionIndex();
 
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mAsyncComponentTreeHolders = new ArrayList<>();
@@ -133,6 +138,7 @@ public class RecyclerBinder
   private final float mRangeRatio;
   private final AtomicBoolean mIsMeasured = new AtomicBoolean(false);
   private final AtomicBoolean mRequiresRemeasure = new AtomicBoolean(false);
+  private final AtomicBoolean mIsRemeasurePending = new AtomicBoolean(false);
   private final boolean mEnableStableIds;
   private final @Nullable RunnableHandler mAsyncInsertHandler;
   private final boolean mVisibilityProcessingEnabled;
@@ -216,6 +222,9 @@ public class RecyclerBinder
         }
 
         holder.setMeasuredHeight(height);
+        if (mLayoutInfo instanceof MeasuredSizeAwareLayoutInfo) {
+          ((MeasuredSizeAwareLayoutInfo) mLayoutInfo).onItemMeasured(holder);
+        }
 
         final int sizeForMeasure = RecyclerBinder.this.getSizeForMeasuring();
 
@@ -242,6 +251,17 @@ public class RecyclerBinder
         }
       };
 
+  private final ChoreographerCompat.FrameCallback mRemeasureFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+
+        @UiThread
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          mIsRemeasurePending.set(false);
+          mRemeasureRunnable.run();
+        }
+      };
+
   private final ChoreographerCompat.FrameCallback mApplyReadyBatchesCallback =
       new ChoreographerCompat.FrameCallback() {
 
@@ -255,6 +275,11 @@ public class RecyclerBinder
   private final boolean mIsCircular;
   private final boolean mHasDynamicItemHeight;
   private final boolean mWrapContent;
+  private final boolean mEstimateWrapContentSize;
+  // Number and total size, along the scroll direction, of the items laid out by the last wrap
+  // content measure. Used to estimate the size of the items which aren't laid out.
+  private int mLastFillItemCount;
+  private int mLastFillSize;
   private boolean mCanMeasure;
   private int mLastWidthSpec = LayoutManagerOverrideParams.UNINITIALIZED;
   private int mLastHeightSpec = LayoutManagerOverrideParams.UNINITIALIZED;
@@ -435,12 +460,14 @@ public class RecyclerBinder
     private boolean isCircular;
     private boolean hasDynamicItemHeight;
     private boolean wrapContent;
+    private boolean estimateWrapContentSize;
     private int componentViewType = DEFAULT_COMPONENT_VIEW_TYPE;
     private @Nullable RecyclerView.Adapter overrideInternalAdapter;
     private boolean enableStableIds;
     private @Nullable List<ComponentLogParams> invalidStateLogParamsList;
     private RecyclerRangeTraverser recyclerRangeTraverser;
     private @Nullable LayoutThreadPoolConfiguration threadPoolConfig;
+    private @Nullable WorkStealingLayoutHandler workStealingLayoutHandler;
     private boolean canMeasure;
     private boolean hscrollAsyncMode = false;
     private boolean incrementalMount = true;
@@ -536,6 +563,21 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * Only used with {@link #wrapContent(boolean)}. If true, once the items laid out during
+     * measure fill the viewport, data changes don't lay out items again to check whether the size
+     * changed. Instead the size of all the items is estimated from the average size of the items
+     * laid out so far, and a remeasure is only requested if they may not fill the viewport anymore.
+     * Remeasure requests are also coalesced into at most one per frame.
+     *
+     * <p>Changes to the size of items which were already laid out aren't detected until the next
+     * measure, so this is meant for lists whose items don't change size, like carousels.
+     */
+    public Builder estimateWrapContentSize(boolean estimateWrapContentSize) {
+      this.estimateWrapContentSize = estimateWrapContentSize;
+      return this;
+    }
+
     /**
      * @param componentTreeHolderFactory Factory to acquire a new ComponentTreeHolder. Defaults to
      *     {@link #DEFAULT_COMPONENT_TREE_HOLDER_FACTORY}.
@@ -635,6 +677,19 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * @param handler RecyclerBinder will calculate the layouts of all its items on this {@link
+     *     WorkStealingLayoutHandler}. Sharing one handler across the RecyclerBinders of a feed lets
+     *     idle layout threads pick up the pending layouts of busy ones, which helps when many items
+     *     need a layout at once, e.g. after a data refresh.
+     *     <p>Note: this takes precedence over {@link #threadPoolConfig(LayoutThreadPoolConfiguration)}
+     *     but not over {@link #layoutHandlerFactory(LayoutHandlerFactory)}.
+     */
+    public Builder workStealingLayoutHandler(@Nullable WorkStealingLayoutHandler handler) {
+      this.workStealingLayoutHandler = handler;
+      return this;
+    }
+
     /** Set a custom range traverser */
     public Builder recyclerRangeTraverser(RecyclerRangeTraverser traverser) {
       this.recyclerRangeTraverser = traverser;
@@ -913,7 +968,10 @@ public class RecyclerBinder
        * configuration enables using a single thread pool for all RecyclerBinders or creates one per
        * RecyclerBinder.
        */
-      if (builder.threadPoolConfig != null) {
+      if (builder.workStealingLayoutHandler != null) {
+        mThreadPoolConfig = null;
+        mThreadPoolHandler = builder.workStealingLayoutHandler;
+      } else if (builder.threadPoolConfig != null) {
         mThreadPoolConfig = builder.threadPoolConfig;
         mThreadPoolHandler = ThreadPoolLayoutHandler.getNewInstance(mThreadPoolConfig);
       } else if (ComponentsConfiguration.threadPoolConfiguration != null) {
@@ -945,6 +1003,7 @@ public class RecyclerBinder
             };
 
     mWrapContent = builder.wrapContent;
+    mEstimateWrapContentSize = builder.wrapContent && builder.estimateWrapContentSize;
     mCanMeasure = builder.canMeasure;
     mTraverseLayoutBackwards = getStackFromEnd() ^ getReverseLayout();
 
@@ -1315,6 +1374,7 @@ public class RecyclerBinder
 
     mRenderInfoViewCreatorController.maybeTrackViewCreator(operation.mHolder.getRenderInfo());
     mComponentTreeHolders.add(operation.mPosition, operation.mHolder);
+    onComponentTreeHoldersChanged();
     operation.mHolder.setInserted(true);
     mInternalAdapter.notifyItemInserted(operation.mPosition);
     final boolean shouldUpdate =
@@ -1449,6 +1509,7 @@ public class RecyclerBinder
       }
       toRelease = new ArrayList<>(mComponentTreeHolders);
       mComponentTreeHolders.clear();
+      onComponentTreeHoldersChanged();
       for (RenderInfo renderInfo : renderInfos) {
         mComponentTreeHolders.add(createComponentTreeHolder(renderInfo));
       }
@@ -1509,6 +1570,7 @@ public class RecyclerBinder
         throw new RuntimeException("Trying to do a sync insert when using asynchronous mutations!");
       }
       mComponentTreeHolders.add(position, holder);
+      onComponentTreeHoldersChanged();
       mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
     }
 
@@ -1574,6 +1636,14 @@ public class RecyclerBinder
     // RecyclerView did not change.
     final Size initialSize = getInitialMeasuredSize(mLastWidthSpec, mLastHeightSpec, true);
 
+    if (mEstimateWrapContentSize && hasFilledViewport(initialSize)) {
+      // The size only changes if the items don't fill the viewport anymore.
+      if (getEstimatedFill() < getMainAxisSize(initialSize)) {
+        requestRemeasure();
+      }
+      return;
+    }
+
     final Size wrapSize = new Size();
     fillListViewport(initialSize.width, initialSize.height, wrapSize);
 
@@ -1582,11 +1652,43 @@ public class RecyclerBinder
     }
   }
 
+  /**
+   * @return true if the items laid out by the last wrap content measure filled the given size, in
+   *     which case the measured size is the given one.
+   */
+  private boolean hasFilledViewport(Size maxSize) {
+    if (mLastFillItemCount == 0) {
+      return false;
+    }
+
+    return mMeasuredSize.width == maxSize.width && mMeasuredSize.height == maxSize.height;
+  }
+
+  /**
+   * @return the size of all the items along the scroll direction, assuming they have the average
+   *     size of the items laid out by the last wrap content measure.
+   */
+  private long getEstimatedFill() {
+    return (long) mLastFillSize * mComponentTreeHolders.size() / mLastFillItemCount;
+  }
+
+  private int getMainAxisSize(Size size) {
+    return mLayoutInfo.getScrollDirection() == VERTICAL ? size.height : size.width;
+  }
+
   private void requestRemeasure() {
     if (SectionsDebug.ENABLED) {
       Log.d(SectionsDebug.TAG, "(" + hashCode() + ") requestRemeasure");
     }
 
+    if (mEstimateWrapContentSize) {
+      // Coalesces the requests made by all the changes applied during a frame.
+      if (mIsRemeasurePending.compareAndSet(false, true)) {
+        ChoreographerCompatImpl.getInstance().postFrameCallback(mRemeasureFrameCallback);
+      }
+      return;
+    }
+
     if (mMountedView != null) {
       mMainThreadHandler.removeCallbacks(mRemeasureRunnable);
       mMountedView.removeCallbacks(mRemeasureRunnable);
@@ -1637,6 +1739,7 @@ public class RecyclerBinder
               "Trying to do a sync insert when using asynchronous mutations!");
         }
         mComponentTreeHolders.add(position + i, holder);
+        onComponentTreeHoldersChanged();
         mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
       }
     }
@@ -1771,6 +1874,7 @@ public class RecyclerBinder
     synchronized (this) {
       holder = mComponentTreeHolders.remove(fromPosition);
       mComponentTreeHolders.add(toPosition, holder);
+      onComponentTreeHoldersChanged();
 
       isNewPositionInRange =
           mEstimatedViewportCount != UNSET
@@ -1807,6 +1911,7 @@ public class RecyclerBinder
     final ComponentTreeHolder holder;
     synchronized (this) {
       holder = mComponentTreeHolders.remove(position);
+      onComponentTreeHoldersChanged();
     }
     mInternalAdapter.notifyItemRemoved(position);
 
@@ -1841,6 +1946,7 @@ public class RecyclerBinder
         final ComponentTreeHolder holder = mComponentTreeHolders.remove(position);
         toRelease.add(holder);
       }
+      onComponentTreeHoldersChanged();
     }
     mInternalAdapter.notifyItemRangeRemoved(position, count);
 
@@ -2465,6 +2571,8 @@ public class RecyclerBinder
 
     if (outputSize != null) {
       final int fill = filler.getFill();
+      mLastFillItemCount = numInserted;
+      mLastFillSize = fill;
       if (mLayoutInfo.getScrollDirection() == VERTICAL) {
         outputSize.width = maxWidth;
         outputSize.height = Math.min(fill, maxHeight);
@@ -2644,7 +2752,12 @@ public class RecyclerBinder
       return;
     }
 
-    int numItemsToSchedule = mThreadPoolConfig == null ? 1 : mThreadPoolConfig.getCorePoolSize();
+    final int numItemsToSchedule;
+    if (mThreadPoolHandler instanceof WorkStealingLayoutHandler) {
+      numItemsToSchedule = ((WorkStealingLayoutHandler) mThreadPoolHandler).getThreadCount();
+    } else {
+      numItemsToSchedule = mThreadPoolConfig == null ? 1 : mThreadPoolConfig.getCorePoolSize();
+    }
 
     for (int i = 0; i < numItemsToSchedule; i++) {
       maybeScheduleOneAsyncLayoutDuringInitRange(asyncRangeIterator);
@@ -3168,6 +3281,20 @@ public class RecyclerBinder
         && mComponentTreeHolders.get(position).getRenderInfo().isSticky();
   }
 
+  @Override
+  @UiThread
+  public int findStickyPositionAtOrBefore(int position) {
+    mStickyPositionIndex.ensureUpToDate(mComponentTreeHolders);
+    return mStickyPositionIndex.findStickyPositionAtOrBefore(position);
+  }
+
+  @Override
+  @UiThread
+  public int findFirstStickyPositionInRange(int from, int to) {
+    mStickyPositionIndex.ensureUpToDate(mComponentTreeHolders);
+    return mStickyPositionIndex.findFirstStickyPositionInRange(from, to);
+  }
+
   @Override
   @UiThread
   @GuardedBy("this")
@@ -3275,6 +3402,25 @@ public class RecyclerBinder
     computeRange(mCurrentFirstVisiblePosition, mCurrentLastVisiblePosition);
   }
 
+  /**
+   * @return the number of items estimated to fill the viewport from {@code firstVisible}, refined
+   *     with the sizes of all the measured items when the {@link LayoutInfo} supports it.
+   */
+  @GuardedBy("this")
+  private int getEstimatedViewportCount(int firstVisible) {
+    if (mHasManualEstimatedViewportCount
+        || mMeasuredSize == null
+        || !(mLayoutInfo instanceof MeasuredSizeAwareLayoutInfo)) {
+      return mEstimatedViewportCount;
+    }
+
+    final int estimatedViewportCount =
+        ((MeasuredSizeAwareLayoutInfo) mLayoutInfo)
+            .approximateRangeSize(
+                mComponentTreeHolders, firstVisible, mMeasuredSize.width, mMeasuredSize.height);
+    return estimatedViewportCount > 0 ? estimatedViewportCount : mEstimatedViewportCount;
+  }
+
   private void computeRange(int firstVisible, int lastVisible) {
     computeRange(firstVisible, lastVisible, mRangeTraverser);
   }
@@ -3293,7 +3439,8 @@ public class RecyclerBinder
       if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) {
         firstVisible = lastVisible = 0;
       }
-      rangeSize = Math.max(mEstimatedViewportCount, lastVisible - firstVisible);
+      rangeSize =
+          Math.max(getEstimatedViewportCount(firstVisible), lastVisible - firstVisible);
       treeHoldersSize = mComponentTreeHolders.size();
       if (mIsCircular) {
         rangeStart = 0;
@@ -3973,10 +4120,19 @@ public class RecyclerBinder
     return mComponentWarmer;
   }
 
+  /** Invalidates the indexes built from the holders after they were changed. */
+  private void onComponentTreeHoldersChanged() {
+    mStickyPositionIndex.invalidate();
+    if (mLayoutInfo instanceof MeasuredSizeAwareLayoutInfo) {
+      ((MeasuredSizeAwareLayoutInfo) mLayoutInfo).onItemsChanged();
+    }
+  }
+
   @UiThread
   private void updateHolder(ComponentTreeHolder holder, RenderInfo renderInfo) {
     final RenderInfo previousRenderInfo = holder.getRenderInfo();
     holder.setRenderInfo(renderInfo);
+    onComponentTreeHoldersChanged();
     if (mLayoutHandlerFactory != null
         && mLayoutHandlerFactory.shouldUpdateLayoutHandler(previousRenderInfo, renderInfo)) {
       holder.updateLayoutHandler(mLayoutHandlerFactory.createLayoutCalculationHandler(renderInfo));
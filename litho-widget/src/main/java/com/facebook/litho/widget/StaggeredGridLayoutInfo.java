@@ -34,7 +34,7 @@ import java.util.List;
  * An implementation for {@link LayoutInfo} to implement staggered grids with a {@link
  * StaggeredGridLayoutManager}.
  */
-public class StaggeredGridLayoutInfo implements LayoutInfo {
+public class StaggeredGridLayoutInfo implements LayoutInfo, MeasuredSizeAwareLayoutInfo {
   // A custom LayoutInfo param to override the size of an item in the grid. Since
   // StaggeredGridLayoutInfo does not support item decorations offsets on the non scrolling side
   // natively, this can be useful to manually compute the size of an item after such decorations are
@@ -42,6 +42,7 @@ public class StaggeredGridLayoutInfo implements LayoutInfo {
   public static final String OVERRIDE_SIZE = "OVERRIDE_SIZE";
 
   private final StaggeredGridLayoutManager mStaggeredGridLayoutManager;
+  private final MeasuredSizeModel mMeasuredSizeModel = new MeasuredSizeModel(false);
 
   public StaggeredGridLayoutInfo(
       int spanCount, int orientation, boolean reverseLayout, int gapStrategy) {
@@ -106,6 +107,34 @@ public class StaggeredGridLayoutInfo implements LayoutInfo {
     }
   }
 
+  @Override
+  public void onItemsChanged() {
+    mMeasuredSizeModel.invalidate();
+  }
+
+  @Override
+  public void onItemMeasured(ComponentTreeHolder holder) {
+    mMeasuredSizeModel.onItemMeasured(holder);
+  }
+
+  @Override
+  public int approximateRangeSize(
+      List<ComponentTreeHolder> holders,
+      int firstVisiblePosition,
+      int recyclerMeasuredWidth,
+      int recyclerMeasuredHeight) {
+    if (mStaggeredGridLayoutManager.getOrientation() != StaggeredGridLayoutManager.VERTICAL) {
+      // Only the heights of the items are tracked.
+      return 0;
+    }
+
+    return mMeasuredSizeModel.approximateRangeSize(
+        holders,
+        mStaggeredGridLayoutManager.getSpanCount(),
+        firstVisiblePosition,
+        recyclerMeasuredHeight);
+  }
+
   /**
    * @param widthSpec the widthSpec used to measure the parent {@link RecyclerSpec}.
    * @return widthSpec of a child that is of span size 1
@@ -164,17 +164,16 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
 
       // Translate sticky header
       final int lastVisiblePosition = mHasStickyHeader.findLastVisibleItemPosition();
+      final int nextStickyHeaderPosition =
+          findFirstStickyPositionInRange(firstVisiblePosition, lastVisiblePosition);
       int translationY = 0;
-      for (int i = firstVisiblePosition; i <= lastVisiblePosition; i++) {
-        if (mHasStickyHeader.isSticky(i)) {
-          final View nextStickyHeader = mLayoutManager.findViewByPosition(i);
-          final int offsetBetweenStickyHeaders =
-              nextStickyHeader.getTop()
-                  - mSectionsRecyclerView.getStickyHeader().getBottom()
-                  + mSectionsRecyclerView.getPaddingTop();
-          translationY = Math.min(offsetBetweenStickyHeaders, 0);
-          break;
-        }
+      if (nextStickyHeaderPosition != RecyclerView.NO_POSITION) {
+        final View nextStickyHeader = mLayoutManager.findViewByPosition(nextStickyHeaderPosition);
+        final int offsetBetweenStickyHeaders =
+            nextStickyHeader.getTop()
+                - mSectionsRecyclerView.getStickyHeader().getBottom()
+                + mSectionsRecyclerView.getPaddingTop();
+        translationY = Math.min(offsetBetweenStickyHeaders, 0);
       }
       mSectionsRecyclerView.setStickyHeaderVerticalOffset(translationY);
       previousStickyHeaderPosition = stickyHeaderPosition;
@@ -189,6 +188,11 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
 
   @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
   int findStickyHeaderPosition(int currentFirstVisiblePosition) {
+    if (mHasStickyHeader instanceof HasStickyPositionIndex) {
+      return ((HasStickyPositionIndex) mHasStickyHeader)
+          .findStickyPositionAtOrBefore(currentFirstVisiblePosition);
+    }
+
     for (int i = currentFirstVisiblePosition; i >= 0; i--) {
       if (mHasStickyHeader.isSticky(i)) {
         return i;
@@ -196,4 +200,17 @@ class StickyHeaderControllerImpl extends RecyclerView.OnScrollListener
     }
     return RecyclerView.NO_POSITION;
   }
+
+  private int findFirstStickyPositionInRange(int from, int to) {
+    if (mHasStickyHeader instanceof HasStickyPositionIndex) {
+      return ((HasStickyPositionIndex) mHasStickyHeader).findFirstStickyPositionInRange(from, to);
+    }
+
+    for (int i = from; i <= to; i++) {
+      if (mHasStickyHeader.isSticky(i)) {
+        return i;
+      }
+    }
+    return RecyclerView.NO_POSITION;
+  }
 }
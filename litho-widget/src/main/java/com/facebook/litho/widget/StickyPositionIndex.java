@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted positions of the sticky items of a list, so that the sticky header for a scroll position
+ * can be found with a binary search instead of checking every item above it.
+ *
+ * <p>The index is invalidated on every change to the items and lazily rebuilt on the next lookup,
+ * so a batch of changes costs a single pass over the items.
+ */
+class StickyPositionIndex {
+
+  private int[] mPositions = new int[0];
+  private int mSize;
+  private boolean mIsDirty = true;
+
+  /** Marks the index as stale after the items or their {@link RenderInfo}s changed. */
+  void invalidate() {
+    mIsDirty = true;
+  }
+
+  /** Rebuilds the index from {@code holders} if it was invalidated since the last rebuild. */
+  void ensureUpToDate(List<ComponentTreeHolder> holders) {
+    if (!mIsDirty) {
+      return;
+    }
+
+    mSize = 0;
+    for (int i = 0, size = holders.size(); i < size; i++) {
+      if (holders.get(i).getRenderInfo().isSticky()) {
+        if (mSize == mPositions.length) {
+          mPositions = Arrays.copyOf(mPositions, Math.max(8, mSize * 2));
+        }
+        mPositions[mSize++] = i;
+      }
+    }
+    mIsDirty = false;
+  }
+
+  /**
+   * @return the largest sticky position smaller than or equal to {@code position}, or {@link
+   *     RecyclerView#NO_POSITION} if there is none.
+   */
+  int findStickyPositionAtOrBefore(int position) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    if (index >= 0) {
+      return mPositions[index];
+    }
+
+    final int insertionPoint = -index - 1;
+    return insertionPoint > 0 ? mPositions[insertionPoint - 1] : RecyclerView.NO_POSITION;
+  }
+
+  /**
+   * @return the smallest sticky position in [{@code from}, {@code to}], or {@link
+   *     RecyclerView#NO_POSITION} if there is none.
+   */
+  int findFirstStickyPositionInRange(int from, int to) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, from);
+    final int candidate = index >= 0 ? index : -index - 1;
+    if (candidate < mSize && mPositions[candidate] <= to) {
+      return mPositions[candidate];
+    }
+
+    return RecyclerView.NO_POSITION;
+  }
+}
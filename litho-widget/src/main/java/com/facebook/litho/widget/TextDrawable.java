@@ -64,11 +64,13 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
   private int mUserColor;
   private int mHighlightColor;
   private ClickableSpan[] mClickableSpans;
+  private @Nullable ClickableSpanIndex mClickableSpanIndex;
   private ImageSpan[] mImageSpans;
 
   private int mSelectionStart;
   private int mSelectionEnd;
   private Path mSelectionPath;
+  private @Nullable Path mActiveSelectionPath;
   private Path mTouchAreaPath;
   private boolean mSelectionPathNeedsUpdate;
   private Paint mHighlightPaint;
@@ -371,11 +373,54 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
       int highlightEndOffset,
       float clickableSpanExpandedOffset,
       String contextLogTag) {
+    mount(
+        text,
+        layout,
+        layoutTranslationY,
+        clipToBounds,
+        colorStateList,
+        userColor,
+        highlightColor,
+        clickableSpans,
+        null,
+        imageSpans,
+        spanListener,
+        touchableSpanListener,
+        textOffsetOnTouchListener,
+        highlightStartOffset,
+        highlightEndOffset,
+        clickableSpanExpandedOffset,
+        contextLogTag);
+  }
+
+  /**
+   * @param clickableSpanIndex an index of {@code clickableSpans} built ahead of time. If null, it
+   *     is built on the first touch event.
+   */
+  void mount(
+      CharSequence text,
+      Layout layout,
+      float layoutTranslationY,
+      boolean clipToBounds,
+      ColorStateList colorStateList,
+      int userColor,
+      int highlightColor,
+      @Nullable ClickableSpan[] clickableSpans,
+      @Nullable ClickableSpanIndex clickableSpanIndex,
+      @Nullable ImageSpan[] imageSpans,
+      @Nullable ClickableSpanListener spanListener,
+      @Nullable TouchableSpanListener touchableSpanListener,
+      @Nullable TextOffsetOnTouchListener textOffsetOnTouchListener,
+      int highlightStartOffset,
+      int highlightEndOffset,
+      float clickableSpanExpandedOffset,
+      String contextLogTag) {
     mLayout = layout;
     mLayoutTranslationY = layoutTranslationY;
     mClipToBounds = clipToBounds;
     mText = text;
     mClickableSpans = clickableSpans;
+    mClickableSpanIndex = clickableSpanIndex;
     mTouchableSpanListener = touchableSpanListener;
     if (mLongClickHandler == null && containsLongClickableSpan(clickableSpans)) {
       mLongClickHandler = new Handler();
@@ -438,6 +483,8 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
     mLayoutTranslationY = 0;
     mText = null;
     mClickableSpans = null;
+    mClickableSpanIndex = null;
+    mActiveSelectionPath = null;
     mShouldHandleTouch = false;
     mHighlightColor = 0;
     mSpanListener = null;
@@ -500,10 +547,24 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
    */
   @Nullable
   private ClickableSpan getClickableSpanInCoords(int x, int y) {
+    final ClickableSpanIndex index = getClickableSpanIndex();
+    if (index != null) {
+      // Skips resolving the offset when no span is on the touched line.
+      final int line = mLayout.getLineForVertical(y);
+      if (!index.hasSpanInRange(mLayout.getLineStart(line), mLayout.getLineEnd(line))) {
+        return null;
+      }
+    }
+
     final int offset = getTextOffsetAt(x, y);
     if (offset < 0) {
       return null;
     }
+
+    if (index != null) {
+      return index.getSpanAt((Spanned) mText, offset);
+    }
+
     final ClickableSpan[] clickableSpans =
         ((Spanned) mText).getSpans(offset, offset, ClickableSpan.class);
 
@@ -514,6 +575,13 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
     return null;
   }
 
+  private @Nullable ClickableSpanIndex getClickableSpanIndex() {
+    if (mClickableSpanIndex == null && mLayout != null) {
+      mClickableSpanIndex = ClickableSpanIndex.create(mText, mLayout, mClickableSpans);
+    }
+    return mClickableSpanIndex;
+  }
+
   private int getTextOffsetAt(int x, int y) {
     final int line = mLayout.getLineForVertical(y);
 
@@ -574,6 +642,11 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
    */
   @Nullable
   private ClickableSpan getClickableSpanInProximityToClick(float x, float y, float tapRadius) {
+    final ClickableSpanIndex index = getClickableSpanIndex();
+    if (index == null) {
+      return null;
+    }
+
     final Region touchAreaRegion = new Region();
     final Region clipBoundsRegion = new Region();
 
@@ -588,8 +661,9 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
     touchAreaRegion.setPath(mTouchAreaPath, clipBoundsRegion);
 
     ClickableSpan result = null;
-    for (ClickableSpan span : mClickableSpans) {
-      if (!isClickCloseToSpan(span, (Spanned) mText, mLayout, touchAreaRegion, clipBoundsRegion)) {
+    for (int i = 0, count = index.getSpanCount(); i < count; i++) {
+      if (!index.intersects(i, x - tapRadius, y - tapRadius, x + tapRadius, y + tapRadius)
+          || !isClickCloseToSpan(index.getSelectionPath(i), touchAreaRegion, clipBoundsRegion)) {
         continue;
       }
 
@@ -598,7 +672,7 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
         return null;
       }
 
-      result = span;
+      result = index.getSpan(i);
     }
 
     return result;
@@ -614,15 +688,23 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
     }
 
     if (mSelectionPathNeedsUpdate) {
-      if (mSelectionPath == null) {
-        mSelectionPath = new Path();
+      // Highlights of clickable spans reuse the paths of the index, which are never modified.
+      mActiveSelectionPath =
+          mClickableSpanIndex != null
+              ? mClickableSpanIndex.getSelectionPath(mSelectionStart, mSelectionEnd)
+              : null;
+      if (mActiveSelectionPath == null) {
+        if (mSelectionPath == null) {
+          mSelectionPath = new Path();
+        }
+
+        mLayout.getSelectionPath(mSelectionStart, mSelectionEnd, mSelectionPath);
+        mActiveSelectionPath = mSelectionPath;
       }
-
-      mLayout.getSelectionPath(mSelectionStart, mSelectionEnd, mSelectionPath);
       mSelectionPathNeedsUpdate = false;
     }
 
-    return mSelectionPath;
+    return mActiveSelectionPath;
   }
 
   private void setSelection(ClickableSpan span) {
@@ -660,17 +742,9 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
     setSelection(0, 0);
   }
 
-  private boolean isClickCloseToSpan(
-      ClickableSpan span,
-      Spanned buffer,
-      Layout layout,
-      Region touchAreaRegion,
-      Region clipBoundsRegion) {
+  private static boolean isClickCloseToSpan(
+      Path clickableSpanAreaPath, Region touchAreaRegion, Region clipBoundsRegion) {
     final Region clickableSpanAreaRegion = new Region();
-    final Path clickableSpanAreaPath = new Path();
-
-    layout.getSelectionPath(
-        buffer.getSpanStart(span), buffer.getSpanEnd(span), clickableSpanAreaPath);
     clickableSpanAreaRegion.setPath(clickableSpanAreaPath, clipBoundsRegion);
 
     return clickableSpanAreaRegion.op(touchAreaRegion, Region.Op.INTERSECT);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.widget;
+
+import android.graphics.Typeface;
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import com.facebook.litho.PersistentMeasureCache;
+
+/**
+ * Opts {@link Text} in the {@link PersistentMeasureCache}. The key covers every prop {@link
+ * TextSpec#onMeasure} depends on, and is only created for plain String texts drawn with a built-in
+ * typeface: spans and custom typefaces can't be keyed in a way which is stable across processes.
+ *
+ * <p>Skipping {@code @OnMeasure} is safe since {@link TextSpec} recreates the layout in {@code
+ * OnBoundsDefined} when no measured layout is available.
+ */
+class TextMeasureKeyProvider implements PersistentMeasureCache.KeyProvider<Text> {
+
+  @Override
+  public @Nullable String getPersistentMeasureKey(Text text) {
+    if (!(text.text instanceof String)
+        || TextUtils.isEmpty(text.text)
+        || text.textDirection != null) {
+      return null;
+    }
+
+    final String typeface = getTypefaceName(text.typeface);
+    if (typeface == null) {
+      return null;
+    }
+
+    return typeface
+        + '|'
+        + text.textStyle
+        + '|'
+        + text.textSize
+        + '|'
+        + text.letterSpacing
+        + '|'
+        + text.lineHeight
+        + '|'
+        + text.extraSpacing
+        + '|'
+        + text.spacingMultiplier
+        + '|'
+        + text.shouldIncludeFontPadding
+        + '|'
+        + text.isSingleLine
+        + '|'
+        + text.ellipsize
+        + '|'
+        + text.minLines
+        + '|'
+        + text.maxLines
+        + '|'
+        + text.minEms
+        + '|'
+        + text.maxEms
+        + '|'
+        + text.minTextWidth
+        + '|'
+        + text.maxTextWidth
+        + '|'
+        + text.minimallyWide
+        + '|'
+        + text.minimallyWideThreshold
+        + '|'
+        + text.textAlignment
+        + '|'
+        + text.alignment
+        + '|'
+        + text.breakStrategy
+        + '|'
+        + text.hyphenationFrequency
+        + '|'
+        + text.justificationMode
+        + '|'
+        + text.shadowRadius
+        + '|'
+        + text.shadowDx
+        + '|'
+        + text.shadowDy
+        + '|'
+        // Last, so that separators in the text can't make two keys collide.
+        + text.text;
+  }
+
+  private static @Nullable String getTypefaceName(@Nullable Typeface typeface) {
+    if (typeface == null || typeface == Typeface.DEFAULT) {
+      return "default";
+    } else if (typeface == Typeface.DEFAULT_BOLD) {
+      return "default_bold";
+    } else if (typeface == Typeface.SANS_SERIF) {
+      return "sans_serif";
+    } else if (typeface == Typeface.SERIF) {
+      return "serif";
+    } else if (typeface == Typeface.MONOSPACE) {
+      return "monospace";
+    }
+    return null;
+  }
+}
@@ -62,7 +62,9 @@ import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentLayout;
 import com.facebook.litho.ComponentsReporter;
 import com.facebook.litho.EventHandler;
+import com.facebook.litho.LayoutStateContext;
 import com.facebook.litho.Output;
+import com.facebook.litho.PersistentMeasureCache;
 import com.facebook.litho.Size;
 import com.facebook.litho.SizeSpec;
 import com.facebook.litho.annotations.FromBoundsDefined;
@@ -81,6 +83,7 @@ import com.facebook.litho.annotations.OnUnmount;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.PropDefault;
 import com.facebook.litho.annotations.ResType;
+import com.facebook.litho.stats.LithoStats;
 import com.facebook.widget.accessibility.delegates.AccessibleClickableSpan;
 import com.facebook.widget.accessibility.delegates.ContentDescriptionSpan;
 import com.facebook.yoga.YogaDirection;
@@ -214,6 +217,11 @@ class TextSpec {
   @PropDefault protected static final boolean clipToBounds = true;
   @PropDefault protected static final float lineHeight = Float.MAX_VALUE;
 
+  // Registered when the first Text is measured, so that every measured Text gets cached.
+  static {
+    PersistentMeasureCache.registerKeyProvider(Text.class, new TextMeasureKeyProvider());
+  }
+
   private static final Path sTempPath = new Path();
   private static final Rect sTempRect = new Rect();
   private static final RectF sTempRectF = new RectF();
@@ -331,6 +339,9 @@ class TextSpec {
       return;
     }
 
+    final boolean recordLatency = LithoStats.isLatencyHistogramsEnabled();
+    final long startTimeNs = recordLatency ? System.nanoTime() : 0;
+
     Layout newLayout =
         createTextLayout(
             context,
@@ -397,6 +408,15 @@ class TextSpec {
 
     measuredWidth.set(size.width);
     measuredHeight.set(size.height);
+
+    if (recordLatency) {
+      final LayoutStateContext layoutStateContext = context.getLayoutStateContext();
+      LithoStats.recordLatency(
+          LithoStats.LATENCY_TEXT_MEASURE,
+          context.getLogTag(),
+          layoutStateContext != null ? layoutStateContext.getRootComponentName() : null,
+          System.nanoTime() - startTimeNs);
+    }
   }
 
   @VisibleForTesting
@@ -596,6 +616,7 @@ class TextSpec {
       Output<Layout> textLayout,
       Output<Float> textLayoutTranslationY,
       Output<ClickableSpan[]> clickableSpans,
+      Output<ClickableSpanIndex> clickableSpanIndex,
       Output<ImageSpan[]> imageSpans) {
 
     processedText.set(text);
@@ -766,6 +787,8 @@ class TextSpec {
     if (resultText instanceof Spanned) {
       Spanned spanned = (Spanned) resultText;
       clickableSpans.set(spanned.getSpans(0, resultText.length(), ClickableSpan.class));
+      clickableSpanIndex.set(
+          ClickableSpanIndex.create(resultText, textLayout.get(), clickableSpans.get()));
       imageSpans.set(spanned.getSpans(0, resultText.length(), ImageSpan.class));
     }
   }
@@ -876,6 +899,7 @@ class TextSpec {
       @FromBoundsDefined Layout textLayout,
       @FromBoundsDefined Float textLayoutTranslationY,
       @Nullable @FromBoundsDefined ClickableSpan[] clickableSpans,
+      @Nullable @FromBoundsDefined ClickableSpanIndex clickableSpanIndex,
       @Nullable @FromBoundsDefined ImageSpan[] imageSpans) {
 
     TextDrawable.TextOffsetOnTouchListener textOffsetOnTouchListener = null;
@@ -899,6 +923,7 @@ class TextSpec {
         textColor,
         highlightColor,
         clickableSpans,
+        clickableSpanIndex,
         imageSpans,
         spanListener,
         touchableSpanListener,